@@ -0,0 +1,29 @@
+package com.grocery.benchmarks.inventory;
+
+import com.grocery.inventory.domain.InventoryItem;
+import com.grocery.inventory.repo.InventoryBatchRepository;
+import com.grocery.inventory.repo.InventoryRepository;
+import com.grocery.inventory.service.AvailabilityCache;
+import com.grocery.inventory.service.InventoryReservationService;
+import com.grocery.inventory.service.ReservationExpiryIndex;
+import com.grocery.inventory.service.StockLedger;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Boots only the inventory persistence and reservation beans, without the web, security or sweeper layers,
+ * so the benchmarks measure the service and database paths.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EnableScheduling
+@EntityScan(basePackageClasses = InventoryItem.class)
+@EnableJpaRepositories(basePackageClasses = InventoryRepository.class)
+@Import({InventoryBatchRepository.class, StockLedger.class, ReservationExpiryIndex.class,
+        AvailabilityCache.class, InventoryReservationService.class})
+public class BenchmarkInventoryApplication {
+}
@@ -0,0 +1,129 @@
+package com.grocery.benchmarks.inventory;
+
+import com.grocery.inventory.dto.ReservationItem;
+import com.grocery.inventory.service.InventoryReservationService;
+import com.grocery.inventory.service.StockLedger;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared fixture: an embedded Postgres (or the database named by {@code -Dbench.jdbc-url}) migrated by
+ * Flyway and seeded with {@code skuCount} SKUs that have enough stock never to run out during a trial.
+ */
+@State(Scope.Benchmark)
+public class InventoryBenchmarkState {
+    private static final int SEED_QTY = 1_000_000_000;
+
+    @Param({"1000"})
+    public int skuCount;
+
+    @Param({"uniform", "zipfian"})
+    public String distribution;
+
+    @Param({"0.99"})
+    public double zipfExponent;
+
+    @Param({"1", "5", "20"})
+    public int basketSize;
+
+    @Param({"false"})
+    public boolean ledgerEnabled;
+
+    @Param({"true"})
+    public boolean availabilityCacheEnabled;
+
+    InventoryReservationService service;
+    StockLedger ledger;
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private SkuSampler sampler;
+    private String[] skus;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        String jdbcUrl = System.getProperty("bench.jdbc-url");
+        String username = System.getProperty("bench.jdbc-username", "postgres");
+        String password = System.getProperty("bench.jdbc-password", "postgres");
+        if (jdbcUrl == null) {
+            postgres = EmbeddedPostgres.builder().start();
+            jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+        }
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", jdbcUrl);
+        properties.put("spring.datasource.username", username);
+        properties.put("spring.datasource.password", password);
+        properties.put("spring.datasource.hikari.maximum-pool-size", System.getProperty("bench.pool-size", "32"));
+        properties.put("spring.datasource.hikari.data-source-properties.reWriteBatchedInserts", "true");
+        properties.put("spring.jpa.hibernate.ddl-auto", "validate");
+        properties.put("spring.jpa.open-in-view", "false");
+        properties.put("spring.jpa.properties.hibernate.jdbc.batch_size", "50");
+        properties.put("spring.jpa.properties.hibernate.order_updates", "true");
+        properties.put("app.inventory.ledger.enabled", String.valueOf(ledgerEnabled));
+        properties.put("app.inventory.availability-cache.enabled", String.valueOf(availabilityCacheEnabled));
+        context = new SpringApplicationBuilder(BenchmarkInventoryApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties)
+                .run();
+        service = context.getBean(InventoryReservationService.class);
+        ledger = context.getBean(StockLedger.class);
+        seed(context.getBean(JdbcTemplate.class));
+        sampler = SkuSampler.create(distribution, skuCount, zipfExponent);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    String nextOrderRef() {
+        return "BENCH-" + sequence.incrementAndGet();
+    }
+
+    String sku() {
+        return skus[sampler.next()];
+    }
+
+    List<ReservationItem> basket() {
+        List<ReservationItem> items = new ArrayList<>(basketSize);
+        for (int i = 0; i < basketSize; i++) {
+            items.add(new ReservationItem(sku(), 1));
+        }
+        return items;
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        skus = new String[skuCount];
+        List<Object[]> rows = new ArrayList<>(skuCount);
+        for (int i = 0; i < skuCount; i++) {
+            skus[i] = String.format("BENCH-SKU-%06d", i);
+            rows.add(new Object[]{skus[i], "Benchmark item " + i, SEED_QTY});
+        }
+        jdbc.update("DELETE FROM stock_reservations WHERE order_ref LIKE 'BENCH-%' OR order_ref LIKE 'CART:bench-%'");
+        jdbc.batchUpdate("""
+                INSERT INTO inventory(sku, product_name, total_qty, reserved_qty) VALUES (?, ?, ?, 0)
+                ON CONFLICT (sku) DO UPDATE SET total_qty = EXCLUDED.total_qty, reserved_qty = 0
+                """, rows);
+    }
+}
@@ -0,0 +1,68 @@
+package com.grocery.benchmarks.inventory;
+
+import com.grocery.inventory.dto.CartReservationRequest;
+import com.grocery.inventory.dto.ReserveRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput of the inventory reservation paths against a real Postgres. Run with {@code -t} to add
+ * contention; {@code distribution=zipfian} concentrates baskets on a few hot SKUs.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class InventoryReservationBenchmark {
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class CartUser {
+        final String email = "bench-" + USERS.incrementAndGet() + "@example.com";
+    }
+
+    @Benchmark
+    public String reserve(InventoryBenchmarkState state) {
+        return state.service.reserve(new ReserveRequest(state.nextOrderRef(), state.basket()), 15);
+    }
+
+    @Benchmark
+    public void reserveThenCommit(InventoryBenchmarkState state) {
+        String orderRef = state.nextOrderRef();
+        state.service.reserve(new ReserveRequest(orderRef, state.basket()), 15);
+        state.ledger.flushAdmitted();
+        state.service.commit(orderRef);
+    }
+
+    @Benchmark
+    public void reserveThenRelease(InventoryBenchmarkState state) {
+        String orderRef = state.nextOrderRef();
+        state.service.reserve(new ReserveRequest(orderRef, state.basket()), 15);
+        state.ledger.flushAdmitted();
+        state.service.release(orderRef);
+    }
+
+    @Benchmark
+    public void reserveForCart(InventoryBenchmarkState state, CartUser user) {
+        state.service.reserveForCart(new CartReservationRequest(user.email, state.sku(), 1));
+    }
+
+    @Benchmark
+    public void availability(InventoryBenchmarkState state, Blackhole blackhole) {
+        List<String> skus = new ArrayList<>(state.basketSize);
+        for (int i = 0; i < state.basketSize; i++) {
+            skus.add(state.sku());
+        }
+        blackhole.consume(state.service.availability(skus));
+    }
+}
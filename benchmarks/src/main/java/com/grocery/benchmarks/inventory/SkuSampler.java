@@ -0,0 +1,48 @@
+package com.grocery.benchmarks.inventory;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks SKU indexes either uniformly or from a Zipfian distribution where index 0 is the hottest SKU.
+ * The Zipfian CDF is precomputed once so each sample is a binary search.
+ */
+final class SkuSampler {
+    private final int skuCount;
+    private final double[] cdf;
+
+    private SkuSampler(int skuCount, double[] cdf) {
+        this.skuCount = skuCount;
+        this.cdf = cdf;
+    }
+
+    static SkuSampler create(String distribution, int skuCount, double exponent) {
+        return switch (distribution) {
+            case "uniform" -> new SkuSampler(skuCount, null);
+            case "zipfian" -> new SkuSampler(skuCount, zipfCdf(skuCount, exponent));
+            default -> throw new IllegalArgumentException("Unknown SKU distribution " + distribution);
+        };
+    }
+
+    int next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (cdf == null) {
+            return random.nextInt(skuCount);
+        }
+        int idx = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(idx >= 0 ? idx : -idx - 1, skuCount - 1);
+    }
+
+    private static double[] zipfCdf(int n, double exponent) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+}
@@ -0,0 +1,58 @@
+package com.grocery.benchmarks.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SkuSamplerTest {
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void uniformSamplesCoverEveryIndexEvenly() {
+        int[] counts = sample(SkuSampler.create("uniform", 10, 0), 10);
+
+        for (int count : counts) {
+            assertThat(count).isBetween(SAMPLES / 10 - 2_000, SAMPLES / 10 + 2_000);
+        }
+    }
+
+    @Test
+    void zipfianSamplesFollowTheHarmonicWeights() {
+        int skuCount = 100;
+        int[] counts = sample(SkuSampler.create("zipfian", skuCount, 1.0), skuCount);
+
+        double harmonic = 0;
+        for (int i = 1; i <= skuCount; i++) {
+            harmonic += 1.0 / i;
+        }
+        assertThat(counts[0] / (double) SAMPLES).isBetween(1 / harmonic - 0.01, 1 / harmonic + 0.01);
+        assertThat(counts[1] / (double) SAMPLES).isBetween(0.5 / harmonic - 0.01, 0.5 / harmonic + 0.01);
+        assertThat(counts[0]).isGreaterThan(counts[10]);
+        assertThat(counts[10]).isGreaterThan(counts[99]);
+    }
+
+    @Test
+    void zipfianWithZeroExponentIsUniform() {
+        int[] counts = sample(SkuSampler.create("zipfian", 10, 0), 10);
+
+        for (int count : counts) {
+            assertThat(count).isBetween(SAMPLES / 10 - 2_000, SAMPLES / 10 + 2_000);
+        }
+    }
+
+    @Test
+    void rejectsUnknownDistributions() {
+        assertThatThrownBy(() -> SkuSampler.create("gaussian", 10, 1.0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("gaussian");
+    }
+
+    private static int[] sample(SkuSampler sampler, int skuCount) {
+        int[] counts = new int[skuCount];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[sampler.next()]++;
+        }
+        return counts;
+    }
+}
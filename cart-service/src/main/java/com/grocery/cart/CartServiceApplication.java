@@ -2,8 +2,10 @@ package com.grocery.cart;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = {"com.grocery.cart", "com.grocery.common"})
+@EnableScheduling
 public class CartServiceApplication {
     public static void main(String[] args) { SpringApplication.run(CartServiceApplication.class, args); }
 }
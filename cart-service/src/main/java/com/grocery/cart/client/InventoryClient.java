@@ -1,5 +1,7 @@
 package com.grocery.cart.client;
 
+import com.grocery.cart.dto.CartReservationDelta;
+import com.grocery.cart.dto.CartReservationResult;
 import com.grocery.common.api.DomainException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
@@ -7,6 +9,7 @@ import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.List;
 import java.util.Map;
 
 @Component
@@ -28,6 +31,17 @@ public class InventoryClient {
         post("/inventory/cart/release", userEmail, sku, qty);
     }
 
+    public List<CartReservationResult> applyCartDeltas(List<CartReservationDelta> deltas) {
+        try {
+            CartReservationResult[] results = restTemplate.postForObject(
+                    inventoryBaseUrl + "/inventory/cart/batch", new HttpEntity<>(deltas), CartReservationResult[].class);
+            return results == null ? List.of() : List.of(results);
+        } catch (org.springframework.web.client.HttpStatusCodeException ex) {
+            String code = ex.getStatusCode().is4xxClientError() ? "INVENTORY_REJECTED" : "INVENTORY_ERROR";
+            throw new DomainException(code, "Inventory operation failed (" + ex.getStatusCode() + "): " + ex.getResponseBodyAsString());
+        }
+    }
+
     private void post(String path, String userEmail, String sku, int qty) {
         try {
             HttpEntity<Map<String, Object>> req = new HttpEntity<>(Map.of(
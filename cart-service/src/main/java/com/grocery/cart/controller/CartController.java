@@ -22,6 +22,11 @@ public class CartController {
         return cartService.list(email);
     }
 
+    @PostMapping("/{email}/flush")
+    public List<CartItem> flush(@PathVariable("email") String email) {
+        return cartService.flushReservations(email);
+    }
+
     @PostMapping("/items")
     public CartItem upsert(@Valid @RequestBody UpsertCartItemRequest request) {
         return cartService.upsert(request);
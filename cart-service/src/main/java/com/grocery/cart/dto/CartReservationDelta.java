@@ -0,0 +1,4 @@
+package com.grocery.cart.dto;
+
+public record CartReservationDelta(String userEmail, String sku, int delta) {
+}
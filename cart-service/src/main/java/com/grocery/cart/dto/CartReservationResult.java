@@ -0,0 +1,4 @@
+package com.grocery.cart.dto;
+
+public record CartReservationResult(String userEmail, String sku, int delta, boolean applied, String errorCode) {
+}
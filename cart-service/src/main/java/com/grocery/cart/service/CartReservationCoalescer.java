@@ -0,0 +1,231 @@
+package com.grocery.cart.service;
+
+import com.grocery.cart.client.InventoryClient;
+import com.grocery.cart.dto.CartReservationDelta;
+import com.grocery.cart.dto.CartReservationResult;
+import com.grocery.cart.repo.CartItemRepository;
+import com.grocery.common.api.DomainException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Debounces cart quantity changes per user and SKU and sends the net deltas to inventory in one batch.
+ * A user's pending deltas are sent once they have been quiet for {@code debounce-ms}, or at the latest
+ * {@code max-delay-ms} after the first change; {@link #flush(String)} sends them immediately.
+ * Holds that inventory rejects are compensated by lowering the cart quantity by the rejected delta; a batch
+ * inventory refuses outright (4xx) is dropped rather than retried. Other failures are re-queued with
+ * exponential backoff; after {@code max-attempts} the batch is abandoned, logged and counted in
+ * {@code cart.reservation.batches{outcome=abandoned}}.
+ * <p>
+ * Pending deltas live only in this instance's memory: they are lost if the process dies before a flush, and
+ * with several cart-service instances each one coalesces only the requests it served. Checkout therefore
+ * flushes the user's deltas (order-service calls {@code POST /cart/{email}/flush}) before reserving stock.
+ */
+@Component
+public class CartReservationCoalescer {
+    private static final Logger log = LoggerFactory.getLogger(CartReservationCoalescer.class);
+    private static final int SEND_STRIPES = 64;
+
+    private final InventoryClient inventoryClient;
+    private final CartItemRepository cartItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long debounceNanos;
+    private final long maxDelayNanos;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final Counter retried;
+    private final Counter abandoned;
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final Object[] sendLocks = new Object[SEND_STRIPES];
+
+    public CartReservationCoalescer(InventoryClient inventoryClient,
+                                    CartItemRepository cartItemRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.cart.reservation-coalescer.enabled:true}") boolean enabled,
+                                    @Value("${app.cart.reservation-coalescer.debounce-ms:500}") long debounceMs,
+                                    @Value("${app.cart.reservation-coalescer.max-delay-ms:3000}") long maxDelayMs,
+                                    @Value("${app.cart.reservation-coalescer.max-attempts:8}") int maxAttempts,
+                                    @Value("${app.cart.reservation-coalescer.initial-backoff-ms:1000}") long initialBackoffMs,
+                                    @Value("${app.cart.reservation-coalescer.max-backoff-ms:60000}") long maxBackoffMs) {
+        this.inventoryClient = inventoryClient;
+        this.cartItemRepository = cartItemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.debounceNanos = debounceMs * 1_000_000L;
+        this.maxDelayNanos = maxDelayMs * 1_000_000L;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoffMs * 1_000_000L;
+        this.maxBackoffNanos = maxBackoffMs * 1_000_000L;
+        this.retried = meterRegistry.counter("cart.reservation.batches", "outcome", "retried");
+        this.abandoned = meterRegistry.counter("cart.reservation.batches", "outcome", "abandoned");
+        for (int i = 0; i < SEND_STRIPES; i++) {
+            sendLocks[i] = new Object();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void record(String userEmail, String sku, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            merge(userEmail, sku, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                merge(userEmail, sku, delta);
+            }
+        });
+    }
+
+    public void flush(String userEmail) {
+        synchronized (sendLock(userEmail)) {
+            Pending drained = pending.remove(userEmail);
+            if (drained != null) {
+                send(userEmail, drained);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.cart.reservation-coalescer.poll-ms:100}")
+    public void flushDue() {
+        long now = System.nanoTime();
+        for (Map.Entry<String, Pending> entry : pending.entrySet()) {
+            Pending p = entry.getValue();
+            if (now - p.notBefore < 0) {
+                continue;
+            }
+            if (now - p.lastChange >= debounceNanos || now - p.firstChange >= maxDelayNanos) {
+                flush(entry.getKey());
+            }
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        pending.keySet().forEach(this::flush);
+    }
+
+    private void merge(String userEmail, String sku, int delta) {
+        long now = System.nanoTime();
+        pending.compute(userEmail, (user, p) -> {
+            Pending next = p == null ? new Pending(now) : p;
+            next.deltas.merge(sku, delta, Integer::sum);
+            next.lastChange = now;
+            return next;
+        });
+    }
+
+    private void send(String userEmail, Pending drained) {
+        List<CartReservationDelta> batch = new ArrayList<>();
+        drained.deltas.forEach((sku, delta) -> {
+            if (delta != 0) {
+                batch.add(new CartReservationDelta(userEmail, sku, delta));
+            }
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<CartReservationResult> results;
+        try {
+            results = inventoryClient.applyCartDeltas(batch);
+        } catch (DomainException ex) {
+            if ("INVENTORY_REJECTED".equals(ex.getCode())) {
+                log.error("Inventory refused cart reservation batch for {}, dropping {} deltas {}: {}",
+                        userEmail, batch.size(), batch, ex.getMessage());
+                return;
+            }
+            retry(userEmail, batch, drained.attempts + 1, ex);
+            return;
+        } catch (RuntimeException ex) {
+            retry(userEmail, batch, drained.attempts + 1, ex);
+            return;
+        }
+        List<CartReservationResult> rejected = results.stream().filter(r -> !r.applied() && r.delta() > 0).toList();
+        if (!rejected.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> rejected.forEach(this::compensate));
+        }
+    }
+
+    /**
+     * Puts a failed batch back in front of any newer changes of the user and holds the merged entry back from
+     * {@link #flushDue()} until its backoff has passed. An explicit {@link #flush(String)} still sends it.
+     */
+    private void retry(String userEmail, List<CartReservationDelta> batch, int attempts, RuntimeException ex) {
+        if (attempts >= maxAttempts) {
+            abandoned.increment();
+            log.error("Cart reservation batch for {} failed {} times, abandoning {} deltas {}: {}",
+                    userEmail, attempts, batch.size(), batch, ex.getMessage());
+            return;
+        }
+        retried.increment();
+        long backoffNanos = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempts - 1, 20));
+        log.warn("Cart reservation flush for {} failed, attempt {}, retrying in {} ms: {}",
+                userEmail, attempts, backoffNanos / 1_000_000L, ex.getMessage());
+        long now = System.nanoTime();
+        pending.compute(userEmail, (user, p) -> {
+            Pending next = p == null ? new Pending(now) : p;
+            batch.forEach(d -> next.deltas.merge(d.sku(), d.delta(), Integer::sum));
+            next.attempts = Math.max(next.attempts, attempts);
+            next.notBefore = now + backoffNanos;
+            return next;
+        });
+    }
+
+    private void compensate(CartReservationResult result) {
+        log.info("Inventory rejected cart hold of {} x {} for {} ({}), trimming cart",
+                result.delta(), result.sku(), result.userEmail(), result.errorCode());
+        cartItemRepository.findByUserEmailAndSku(result.userEmail(), result.sku()).ifPresent(item -> {
+            int qty = item.getQuantity() - result.delta();
+            if (qty <= 0) {
+                cartItemRepository.delete(item);
+            } else {
+                item.setQuantity(qty);
+                cartItemRepository.save(item);
+            }
+        });
+    }
+
+    private Object sendLock(String userEmail) {
+        int h = userEmail.hashCode();
+        return sendLocks[(h ^ (h >>> 16)) & (SEND_STRIPES - 1)];
+    }
+
+    private static final class Pending {
+        private final Map<String, Integer> deltas = new LinkedHashMap<>();
+        private final long firstChange;
+        private long lastChange;
+        private int attempts;
+        private long notBefore;
+
+        private Pending(long now) {
+            this.firstChange = now;
+            this.lastChange = now;
+            this.notBefore = now;
+        }
+    }
+}
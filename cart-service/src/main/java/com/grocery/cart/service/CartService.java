@@ -14,10 +14,13 @@ import java.util.List;
 public class CartService {
     private final CartItemRepository cartItemRepository;
     private final InventoryClient inventoryClient;
+    private final CartReservationCoalescer reservationCoalescer;
 
-    public CartService(CartItemRepository cartItemRepository, InventoryClient inventoryClient) {
+    public CartService(CartItemRepository cartItemRepository, InventoryClient inventoryClient,
+                       CartReservationCoalescer reservationCoalescer) {
         this.cartItemRepository = cartItemRepository;
         this.inventoryClient = inventoryClient;
+        this.reservationCoalescer = reservationCoalescer;
     }
 
     @Transactional(readOnly = true)
@@ -25,6 +28,11 @@ public class CartService {
         return cartItemRepository.findByUserEmail(email);
     }
 
+    public List<CartItem> flushReservations(String email) {
+        reservationCoalescer.flush(email);
+        return list(email);
+    }
+
     @Transactional
     public CartItem upsert(UpsertCartItemRequest request) {
         if (request.quantity() < 0) {
@@ -35,7 +43,9 @@ public class CartService {
         int oldQty = existing == null ? 0 : existing.getQuantity();
         int delta = request.quantity() - oldQty;
 
-        if (delta > 0) {
+        if (reservationCoalescer.isEnabled()) {
+            reservationCoalescer.record(request.userEmail(), request.sku(), delta);
+        } else if (delta > 0) {
             inventoryClient.reserveCart(request.userEmail(), request.sku(), delta);
         } else if (delta < 0) {
             inventoryClient.releaseCart(request.userEmail(), request.sku(), -delta);
@@ -62,7 +72,11 @@ public class CartService {
         if (existing == null) {
             return;
         }
-        inventoryClient.releaseCart(userEmail, sku, existing.getQuantity());
+        if (reservationCoalescer.isEnabled()) {
+            reservationCoalescer.record(userEmail, sku, -existing.getQuantity());
+        } else {
+            inventoryClient.releaseCart(userEmail, sku, existing.getQuantity());
+        }
         cartItemRepository.delete(existing);
     }
 }
@@ -1,18 +1,28 @@
 package com.grocery.catalog.controller;
 
+import com.grocery.catalog.dto.BulkUploadJobResponse;
 import com.grocery.catalog.dto.BulkUploadResult;
+import com.grocery.catalog.dto.ProductBrowseRequest;
 import com.grocery.catalog.dto.ProductCreateRequest;
+import com.grocery.catalog.dto.ProductPageResponse;
 import com.grocery.catalog.dto.ProductReviewRequest;
 import com.grocery.catalog.dto.ProductReviewResponse;
 import com.grocery.catalog.dto.ProductResponse;
 import com.grocery.catalog.dto.ProductUpdateRequest;
+import com.grocery.catalog.dto.SuggestionResponse;
+import com.grocery.catalog.service.BulkUploadJobs;
 import com.grocery.catalog.service.ExcelUploadService;
+import com.grocery.catalog.service.ProductBrowseService;
 import com.grocery.catalog.service.ProductAdminService;
 import com.grocery.catalog.service.ProductQueryService;
 import com.grocery.catalog.service.ProductReviewService;
+import com.grocery.catalog.service.SuggestService;
 import com.grocery.common.api.DomainException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import jakarta.validation.Valid;
 
@@ -26,20 +36,55 @@ public class CatalogController {
     private final ProductAdminService productAdminService;
     private final ProductReviewService productReviewService;
     private final ExcelUploadService excelUploadService;
+    private final SuggestService suggestService;
+    private final ProductBrowseService productBrowseService;
+    private final BulkUploadJobs bulkUploadJobs;
 
     public CatalogController(ProductQueryService productQueryService,
                              ProductAdminService productAdminService,
                              ProductReviewService productReviewService,
-                             ExcelUploadService excelUploadService) {
+                             ExcelUploadService excelUploadService,
+                             SuggestService suggestService,
+                             ProductBrowseService productBrowseService,
+                             BulkUploadJobs bulkUploadJobs) {
         this.productQueryService = productQueryService;
         this.productAdminService = productAdminService;
         this.productReviewService = productReviewService;
         this.excelUploadService = excelUploadService;
+        this.suggestService = suggestService;
+        this.productBrowseService = productBrowseService;
+        this.bulkUploadJobs = bulkUploadJobs;
     }
 
     @GetMapping("/products")
-    public List<ProductResponse> listProducts(@RequestParam(name = "q", required = false) String q) {
-        return productQueryService.list(q);
+    public ResponseEntity<List<ProductResponse>> listProducts(@RequestParam(name = "q", required = false) String q,
+                                                              WebRequest request) {
+        var snapshot = productQueryService.snapshot();
+        if (request.checkNotModified(snapshot.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(productQueryService.list(snapshot, q));
+    }
+
+    @GetMapping("/products/browse")
+    public ProductPageResponse browseProducts(@RequestParam(name = "category", required = false) List<String> categories,
+                                              @RequestParam(name = "subcategory", required = false) List<String> subcategories,
+                                              @RequestParam(name = "price", required = false) List<String> priceRanges,
+                                              @RequestParam(name = "discount", required = false) List<String> discounts,
+                                              @RequestParam(name = "sort", required = false) String sort,
+                                              @RequestParam(name = "after", required = false) String after,
+                                              @RequestParam(name = "limit", defaultValue = "24") int limit) {
+        return productBrowseService.browse(
+                new ProductBrowseRequest(categories, subcategories, priceRanges, discounts, sort, after, limit));
+    }
+
+    @GetMapping("/suggest")
+    public List<SuggestionResponse> suggest(@RequestParam(name = "q", required = false) String q,
+                                            @RequestParam(name = "limit", defaultValue = "8") int limit) {
+        return suggestService.suggest(q, Math.max(1, limit));
     }
 
     @GetMapping("/products/{id}/reviews")
@@ -65,6 +110,16 @@ public class CatalogController {
         return ResponseEntity.ok(excelUploadService.upload(file));
     }
 
+    @PostMapping(value = "/admin/upload/stream", consumes = "multipart/form-data")
+    public ResponseEntity<BulkUploadJobResponse> uploadStreaming(@RequestPart("file") MultipartFile file) throws IOException {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(bulkUploadJobs.submit(file).toResponse());
+    }
+
+    @GetMapping("/admin/upload/jobs/{jobId}")
+    public BulkUploadJobResponse uploadJob(@PathVariable("jobId") String jobId) {
+        return bulkUploadJobs.get(jobId).toResponse();
+    }
+
     @GetMapping("/admin/products")
     public List<ProductResponse> adminProducts(@RequestParam(name = "q", required = false) String q) {
         return productAdminService.list(q);
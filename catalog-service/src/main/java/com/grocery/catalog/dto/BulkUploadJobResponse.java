@@ -0,0 +1,16 @@
+package com.grocery.catalog.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record BulkUploadJobResponse(
+        String jobId,
+        String status,
+        int rowsRead,
+        int successRows,
+        int failedRows,
+        List<BulkUploadResult.RowError> errors,
+        Instant startedAt,
+        Instant finishedAt
+) {
+}
@@ -0,0 +1,4 @@
+package com.grocery.catalog.dto;
+
+public record FacetCount(String value, long count) {
+}
@@ -0,0 +1,14 @@
+package com.grocery.catalog.dto;
+
+import java.util.List;
+
+public record ProductBrowseRequest(
+        List<String> categories,
+        List<String> subcategories,
+        List<String> priceRanges,
+        List<String> discounts,
+        String sort,
+        String after,
+        int limit
+) {
+}
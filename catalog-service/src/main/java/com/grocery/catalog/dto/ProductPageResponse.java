@@ -0,0 +1,12 @@
+package com.grocery.catalog.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record ProductPageResponse(
+        List<ProductResponse> items,
+        String nextCursor,
+        long total,
+        Map<String, List<FacetCount>> facets
+) {
+}
@@ -0,0 +1,4 @@
+package com.grocery.catalog.dto;
+
+public record SuggestionResponse(String text, String type, Long productId) {
+}
@@ -2,11 +2,21 @@ package com.grocery.catalog.repo;
 
 import com.grocery.catalog.domain.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
     Optional<Product> findBySku(String sku);
     List<Product> findByNameContainingIgnoreCase(String q);
+    List<Product> findBySkuIn(Collection<String> skus);
+
+    @Query("select p from Product p join fetch p.category join fetch p.subcategory")
+    List<Product> findAllWithCategories();
+
+    @Query("select p from Product p join fetch p.category join fetch p.subcategory where p.id in :ids")
+    List<Product> findAllWithCategoriesByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -24,6 +24,15 @@ public interface ProductReviewRepository extends JpaRepository<ProductReview, Lo
             """)
     List<ProductReviewSummaryView> summarizeByProductIds(@Param("productIds") Collection<Long> productIds);
 
+    @Query("""
+            select r.product.id as productId,
+                   coalesce(avg(r.rating), 0) as averageRating,
+                   count(r.id) as reviewCount
+            from ProductReview r
+            group by r.product.id
+            """)
+    List<ProductReviewSummaryView> summarizeAll();
+
     interface ProductReviewSummaryView {
         Long getProductId();
         BigDecimal getAverageRating();
@@ -0,0 +1,86 @@
+package com.grocery.catalog.service;
+
+import com.grocery.catalog.dto.BulkUploadJobResponse;
+import com.grocery.catalog.dto.BulkUploadResult;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of one streaming upload. Counters are updated by the ingest thread and read by status polls;
+ * only the first {@code maxErrors} row errors are kept so a badly formed sheet cannot grow the job unbounded.
+ */
+public final class BulkUploadJob {
+    private final String id;
+    private final int maxErrors;
+    private final AtomicInteger rowsRead = new AtomicInteger();
+    private final AtomicInteger successRows = new AtomicInteger();
+    private final AtomicInteger failedRows = new AtomicInteger();
+    private final List<BulkUploadResult.RowError> errors = new ArrayList<>();
+    private volatile String status = "QUEUED";
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    BulkUploadJob(String id, int maxErrors) {
+        this.id = id;
+        this.maxErrors = maxErrors;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    Instant finishedAt() {
+        return finishedAt;
+    }
+
+    void start() {
+        startedAt = Instant.now();
+        status = "RUNNING";
+    }
+
+    void complete() {
+        finishedAt = Instant.now();
+        status = "COMPLETED";
+    }
+
+    void fail(String message) {
+        synchronized (errors) {
+            errors.add(new BulkUploadResult.RowError(0, message));
+        }
+        finishedAt = Instant.now();
+        status = "FAILED";
+    }
+
+    void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void succeeded(int rows) {
+        successRows.addAndGet(rows);
+    }
+
+    void failed(int rowNumber, String message) {
+        failedRows.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add(new BulkUploadResult.RowError(rowNumber, message));
+            }
+        }
+    }
+
+    BulkUploadResult result() {
+        synchronized (errors) {
+            return new BulkUploadResult(rowsRead.get(), successRows.get(), failedRows.get(), List.copyOf(errors));
+        }
+    }
+
+    public BulkUploadJobResponse toResponse() {
+        synchronized (errors) {
+            return new BulkUploadJobResponse(id, status, rowsRead.get(), successRows.get(), failedRows.get(),
+                    List.copyOf(errors), startedAt, finishedAt);
+        }
+    }
+}
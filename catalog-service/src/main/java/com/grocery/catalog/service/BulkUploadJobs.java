@@ -0,0 +1,98 @@
+package com.grocery.catalog.service;
+
+import com.grocery.common.api.DomainException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs streaming catalog uploads in the background. The multipart body is spooled to a temp file so the
+ * request can return immediately with a job id that clients poll for progress.
+ */
+@Component
+public class BulkUploadJobs {
+    private static final Logger log = LoggerFactory.getLogger(BulkUploadJobs.class);
+
+    private final ExcelUploadService excelUploadService;
+    private final ExecutorService workers;
+    private final int maxErrors;
+    private final Duration retention;
+    private final Map<String, BulkUploadJob> jobs = new ConcurrentHashMap<>();
+
+    public BulkUploadJobs(ExcelUploadService excelUploadService,
+                          @Value("${app.catalog.upload.workers:1}") int workers,
+                          @Value("${app.catalog.upload.max-errors:1000}") int maxErrors,
+                          @Value("${app.catalog.upload.job-retention-ms:3600000}") long retentionMs) {
+        this.excelUploadService = excelUploadService;
+        this.workers = Executors.newFixedThreadPool(workers);
+        this.maxErrors = maxErrors;
+        this.retention = Duration.ofMillis(retentionMs);
+    }
+
+    public BulkUploadJob submit(MultipartFile file) throws IOException {
+        evictFinished();
+        Path spooled = Files.createTempFile("catalog-upload-", ".xlsx");
+        try {
+            file.transferTo(spooled);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(spooled);
+            throw ex;
+        }
+        BulkUploadJob job = new BulkUploadJob(UUID.randomUUID().toString(), maxErrors);
+        jobs.put(job.id(), job);
+        workers.execute(() -> run(job, spooled));
+        return job;
+    }
+
+    public BulkUploadJob get(String jobId) {
+        BulkUploadJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new DomainException("UPLOAD_JOB_NOT_FOUND", "Upload job not found: " + jobId);
+        }
+        return job;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void run(BulkUploadJob job, Path spooled) {
+        job.start();
+        try {
+            excelUploadService.ingest(spooled.toFile(), job);
+            job.complete();
+            var result = job.result();
+            log.info("Catalog upload {} finished: {} rows, {} imported, {} failed",
+                    job.id(), result.totalRows(), result.successRows(), result.failedRows());
+        } catch (Exception ex) {
+            log.warn("Catalog upload {} failed: {}", job.id(), ex.getMessage());
+            job.fail(ex.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(spooled);
+            } catch (IOException ex) {
+                log.warn("Could not delete spooled upload {}: {}", spooled, ex.getMessage());
+            }
+        }
+    }
+
+    private void evictFinished() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.finishedAt() != null && job.finishedAt().isBefore(cutoff));
+    }
+}
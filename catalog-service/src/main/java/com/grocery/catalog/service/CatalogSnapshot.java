@@ -0,0 +1,136 @@
+package com.grocery.catalog.service;
+
+import com.grocery.catalog.domain.Product;
+import com.grocery.catalog.dto.ProductResponse;
+import com.grocery.catalog.repo.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, versioned copy of every {@link ProductResponse}, including rating summaries, that serves the
+ * storefront listing without touching the database. Writers publish a {@link ProductsChangedEvent}; once
+ * the write commits only the affected products are reloaded and a new snapshot is published. A periodic
+ * full reload picks up changes made by other instances. Every publish emits a
+ * {@link CatalogSnapshotPublishedEvent} on the publishing thread so derived indexes are rebuilt there,
+ * never on a read request.
+ */
+@Component
+public class CatalogSnapshot {
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshot.class);
+    private static final int MAX_INCREMENTAL_REFRESH = 500;
+
+    private final ProductRepository productRepository;
+    private final ProductReviewService productReviewService;
+    private final ProductSearchIndex searchIndex;
+    private final TransactionTemplate readTransaction;
+    private final ApplicationEventPublisher events;
+    private final String instanceTag = Long.toHexString(System.currentTimeMillis());
+    private volatile Snapshot current;
+
+    public CatalogSnapshot(ProductRepository productRepository,
+                           ProductReviewService productReviewService,
+                           ProductSearchIndex searchIndex,
+                           PlatformTransactionManager transactionManager,
+                           ApplicationEventPublisher events) {
+        this.productRepository = productRepository;
+        this.productReviewService = productReviewService;
+        this.searchIndex = searchIndex;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.events = events;
+    }
+
+    public Snapshot current() {
+        Snapshot snapshot = current;
+        if (snapshot == null) {
+            reloadAll();
+            snapshot = current;
+        }
+        return snapshot;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.catalog.snapshot.full-reload-ms:300000}",
+            fixedDelayString = "${app.catalog.snapshot.full-reload-ms:300000}")
+    public synchronized void reloadAll() {
+        Map<Long, ProductResponse> products = readTransaction.execute(status ->
+                toResponses(productRepository.findAllWithCategories(), productReviewService.summarizeAll()));
+        searchIndex.rebuild(products.values());
+        publish(products);
+        log.info("Catalog snapshot {} loaded with {} products", current.version(), products.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        if (event.productIds().isEmpty()) {
+            return;
+        }
+        try {
+            refresh(event.productIds());
+        } catch (RuntimeException ex) {
+            log.warn("Catalog snapshot refresh failed, next full reload will catch up: {}", ex.getMessage());
+        }
+    }
+
+    private synchronized void refresh(Set<Long> productIds) {
+        if (current == null || productIds.size() > MAX_INCREMENTAL_REFRESH) {
+            reloadAll();
+            return;
+        }
+        Map<Long, ProductResponse> loaded = readTransaction.execute(status ->
+                toResponses(productRepository.findAllWithCategoriesByIdIn(productIds), productReviewService.summarize(List.copyOf(productIds))));
+        Map<Long, ProductResponse> products = new HashMap<>(current.byId());
+        for (Long id : productIds) {
+            ProductResponse product = loaded.get(id);
+            if (product == null) {
+                products.remove(id);
+                searchIndex.remove(id);
+            } else {
+                products.put(id, product);
+                searchIndex.upsert(product);
+            }
+        }
+        publish(products);
+    }
+
+    private static Map<Long, ProductResponse> toResponses(List<Product> products,
+                                                         Map<Long, ProductReviewService.ProductReviewSummary> summaries) {
+        Map<Long, ProductResponse> responses = new HashMap<>();
+        for (Product product : products) {
+            var summary = summaries.get(product.getId());
+            responses.put(product.getId(), ProductMapper.toResponse(product,
+                    summary == null ? null : summary.averageRating(),
+                    summary == null ? 0 : summary.reviewCount()));
+        }
+        return responses;
+    }
+
+    private void publish(Map<Long, ProductResponse> productsById) {
+        long version = current == null ? 1 : current.version() + 1;
+        List<ProductResponse> products = productsById.values().stream()
+                .sorted(Comparator.comparing(ProductResponse::id))
+                .toList();
+        Snapshot snapshot = new Snapshot(version, "W/\"" + instanceTag + "-" + version + "\"", products, Map.copyOf(productsById));
+        current = snapshot;
+        events.publishEvent(new CatalogSnapshotPublishedEvent(snapshot));
+    }
+
+    public record Snapshot(long version, String etag, List<ProductResponse> products, Map<Long, ProductResponse> byId) {
+    }
+}
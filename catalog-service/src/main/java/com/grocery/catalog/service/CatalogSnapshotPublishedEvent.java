@@ -0,0 +1,4 @@
+package com.grocery.catalog.service;
+
+public record CatalogSnapshotPublishedEvent(CatalogSnapshot.Snapshot snapshot) {
+}
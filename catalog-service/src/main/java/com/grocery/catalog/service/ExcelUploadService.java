@@ -12,44 +12,71 @@ import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFPicture;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.File;
 import java.io.IOException;
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class ExcelUploadService {
+    private static final Logger log = LoggerFactory.getLogger(ExcelUploadService.class);
+
     private final CategoryRepository categoryRepository;
     private final SubcategoryRepository subcategoryRepository;
     private final ProductRepository productRepository;
     private final ImageStorageService imageStorageService;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+    private final ApplicationEventPublisher eventPublisher;
     private final String inventoryBaseUrl;
+    private final TransactionTemplate batchTransaction;
+    private final int batchSize;
+    private final int progressLogRows;
 
     public ExcelUploadService(CategoryRepository categoryRepository,
                               SubcategoryRepository subcategoryRepository,
                               ProductRepository productRepository,
                               ImageStorageService imageStorageService,
-                              @Value("${app.inventory-base-url:http://inventory-service:8083}") String inventoryBaseUrl) {
+                              RestTemplate restTemplate,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.inventory-base-url:http://inventory-service:8083}") String inventoryBaseUrl,
+                              @Value("${app.catalog.upload.batch-size:500}") int batchSize,
+                              @Value("${app.catalog.upload.progress-log-rows:10000}") int progressLogRows) {
         this.categoryRepository = categoryRepository;
         this.subcategoryRepository = subcategoryRepository;
         this.productRepository = productRepository;
         this.imageStorageService = imageStorageService;
+        this.restTemplate = restTemplate;
+        this.eventPublisher = eventPublisher;
         this.inventoryBaseUrl = inventoryBaseUrl;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = Math.max(1, batchSize);
+        this.progressLogRows = Math.max(1, progressLogRows);
     }
 
     @Transactional
     public BulkUploadResult upload(MultipartFile file) throws IOException {
         List<BulkUploadResult.RowError> errors = new ArrayList<>();
         int success = 0;
+        Set<Long> changedProductIds = new HashSet<>();
         try (Workbook workbook = WorkbookFactory.create(file.getInputStream())) {
             Sheet sheet = workbook.getSheetAt(0);
             Map<Integer, XSSFPicture> imagesByRow = extractImagesByRow(workbook, sheet);
@@ -58,96 +85,184 @@ public class ExcelUploadService {
                 Row row = sheet.getRow(i);
                 if (row == null) continue;
                 try {
-                    String categoryName = str(row, 1);
-                    String subcategoryName = str(row, 2);
-                    String itemName = str(row, 3);
-                    String sku = str(row, 4);
-                    int quantityToAdd = intCell(row, 0);
-                    BigDecimal price = dec(row, 5);
-                    BigDecimal discount = nullableDec(row, 6);
-                    BigDecimal tax = dec(row, 7);
-                    String unit = str(row, 8);
-                    String description = str(row, 9);
-                    String image = optStr(row, 10);
-
-                    Category category = getOrCreateCategory(categoryName);
-                    Subcategory subcategory = getOrCreateSubcategory(subcategoryName, category);
-
-                    Product product = productRepository.findBySku(sku).orElseGet(Product::new);
-                    product.setCategory(category);
-                    product.setSubcategory(subcategory);
-                    product.setName(itemName);
-                    product.setSku(sku);
-                    product.setPrice(price);
-                    product.setDiscountPercent(discount);
-                    product.setTaxPercent(tax);
-                    product.setUnit(unit);
-                    product.setDescription(description);
-                    if (image != null && !image.isBlank()) {
-                        product.setImageUrl(image);
-                    } else if (imagesByRow.containsKey(i)) {
+                    ProductRow parsed = ProductRow.parse(index -> {
+                        Cell c = row.getCell(index);
+                        return c == null ? null : c.toString();
+                    });
+                    Category category = getOrCreateCategory(parsed.categoryName());
+                    Subcategory subcategory = getOrCreateSubcategory(parsed.subcategoryName(), category);
+
+                    Product product = productRepository.findBySku(parsed.sku()).orElseGet(Product::new);
+                    parsed.applyTo(product, category, subcategory);
+                    if (parsed.image() == null && imagesByRow.containsKey(i)) {
                         XSSFPicture picture = imagesByRow.get(i);
                         String ext = picture.getPictureData().suggestFileExtension();
-                        product.setImageUrl(imageStorageService.store(sku, picture.getPictureData().getData(), ext));
+                        product.setImageUrl(imageStorageService.store(parsed.sku(), picture.getPictureData().getData(), ext));
                     }
-                    productRepository.save(product);
-                    upsertInventoryQuantity(product.getSku(), product.getName(), quantityToAdd);
+                    changedProductIds.add(productRepository.save(product).getId());
+                    upsertInventoryQuantity(product.getSku(), product.getName(), parsed.quantityToAdd());
                     success++;
                 } catch (Exception ex) {
                     errors.add(new BulkUploadResult.RowError(i + 1, ex.getMessage()));
                 }
             }
+            eventPublisher.publishEvent(new ProductsChangedEvent(changedProductIds));
             return new BulkUploadResult(totalRows, success, errors.size(), errors);
         }
     }
 
-    private static String str(Row row, int index) {
-        Cell c = row.getCell(index);
-        if (c == null) throw new IllegalArgumentException("Missing column " + index);
-        String value = c.toString().trim();
-        if (value.isBlank()) throw new IllegalArgumentException("Blank value at column " + index);
-        return value;
+    /**
+     * Streaming counterpart of {@link #upload}: rows are parsed through the SAX reader and upserted in
+     * batches of {@code app.catalog.upload.batch-size}, each in its own transaction, so heap use is bounded
+     * by the batch rather than the workbook. Embedded pictures are not read; use the image URL column.
+     * A batch that fails to commit is retried row by row so one bad row only fails itself.
+     */
+    public BulkUploadResult ingest(File file, BulkUploadJob job) throws IOException {
+        Map<String, Long> categoryIds = new HashMap<>();
+        Map<String, Long> subcategoryIds = new HashMap<>();
+        Set<Long> changedProductIds = new HashSet<>();
+        List<ProductRow> batch = new ArrayList<>(batchSize);
+        List<Integer> rowNumbers = new ArrayList<>(batchSize);
+        StreamingSheetReader.read(file, ProductRow.COLUMNS, (cells, rowNumber) -> {
+            job.rowRead();
+            try {
+                batch.add(ProductRow.parse(index -> cells[index]));
+                rowNumbers.add(rowNumber);
+            } catch (RuntimeException ex) {
+                job.failed(rowNumber, ex.getMessage());
+            }
+            if (batch.size() >= batchSize) {
+                flushBatch(batch, rowNumbers, categoryIds, subcategoryIds, changedProductIds, job);
+            }
+            if (rowNumber % progressLogRows == 0) {
+                log.info("Catalog upload {}: {} rows read", job.id(), rowNumber - 1);
+            }
+        });
+        flushBatch(batch, rowNumbers, categoryIds, subcategoryIds, changedProductIds, job);
+        eventPublisher.publishEvent(new ProductsChangedEvent(changedProductIds));
+        return job.result();
     }
 
-    private static BigDecimal dec(Row row, int index) {
-        return new BigDecimal(str(row, index));
+    private void flushBatch(List<ProductRow> batch,
+                            List<Integer> rowNumbers,
+                            Map<String, Long> categoryIds,
+                            Map<String, Long> subcategoryIds,
+                            Set<Long> changedProductIds,
+                            BulkUploadJob job) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            changedProductIds.addAll(saveBatch(batch, categoryIds, subcategoryIds));
+            pushInventory(batch, rowNumbers, job);
+        } catch (RuntimeException batchFailure) {
+            // Ids cached during the rolled-back transaction may not exist.
+            categoryIds.clear();
+            subcategoryIds.clear();
+            for (int i = 0; i < batch.size(); i++) {
+                List<ProductRow> single = List.of(batch.get(i));
+                try {
+                    changedProductIds.addAll(saveBatch(single, categoryIds, subcategoryIds));
+                    pushInventory(single, List.of(rowNumbers.get(i)), job);
+                } catch (RuntimeException ex) {
+                    categoryIds.clear();
+                    subcategoryIds.clear();
+                    job.failed(rowNumbers.get(i), ex.getMessage());
+                }
+            }
+        }
+        batch.clear();
+        rowNumbers.clear();
     }
 
-    private static int intCell(Row row, int index) {
-        String raw = str(row, index);
-        int value;
+    private List<Long> saveBatch(List<ProductRow> rows, Map<String, Long> categoryIds, Map<String, Long> subcategoryIds) {
+        return batchTransaction.execute(status -> {
+            Map<String, Product> bySku = new HashMap<>();
+            productRepository.findBySkuIn(rows.stream().map(ProductRow::sku).toList())
+                    .forEach(product -> bySku.put(product.getSku(), product));
+            for (ProductRow row : rows) {
+                Category category = cachedCategory(row.categoryName(), categoryIds);
+                Subcategory subcategory = cachedSubcategory(row.subcategoryName(), category, subcategoryIds);
+                row.applyTo(bySku.computeIfAbsent(row.sku(), sku -> new Product()), category, subcategory);
+            }
+            return productRepository.saveAll(bySku.values()).stream().map(Product::getId).toList();
+        });
+    }
+
+    // One call per batch; inventory answers per row, in request order.
+    private void pushInventory(List<ProductRow> rows, List<Integer> rowNumbers, BulkUploadJob job) {
+        List<Map<String, Object>> payload = new ArrayList<>();
+        List<Integer> pushedRows = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ProductRow row = rows.get(i);
+            if (row.quantityToAdd() == 0) {
+                job.succeeded(1);
+                continue;
+            }
+            payload.add(inventoryUpsert(row.sku(), row.name(), row.quantityToAdd()));
+            pushedRows.add(rowNumbers.get(i));
+        }
+        if (payload.isEmpty()) {
+            return;
+        }
+        InventoryUpsertResult[] results;
         try {
-            value = new BigDecimal(raw).intValueExact();
-        } catch (ArithmeticException | NumberFormatException ex) {
-            throw new IllegalArgumentException("Invalid integer at column " + index + ": " + raw);
+            results = restTemplate.postForObject(inventoryBaseUrl + "/inventory/admin/upsert/batch", payload,
+                    InventoryUpsertResult[].class);
+        } catch (RuntimeException ex) {
+            pushedRows.forEach(rowNumber -> job.failed(rowNumber, ex.getMessage()));
+            return;
         }
-        if (value < 0) {
-            throw new IllegalArgumentException("Quantity cannot be negative at column " + index);
+        for (int i = 0; i < pushedRows.size(); i++) {
+            InventoryUpsertResult result = results != null && i < results.length ? results[i] : null;
+            if (result == null) {
+                job.failed(pushedRows.get(i), "No inventory result returned");
+            } else if (result.applied()) {
+                job.succeeded(1);
+            } else {
+                job.failed(pushedRows.get(i), result.errorCode() + ": " + result.message());
+            }
         }
-        return value;
     }
 
-    private static BigDecimal nullableDec(Row row, int index) {
-        Cell c = row.getCell(index);
-        if (c == null || c.toString().isBlank()) return BigDecimal.ZERO;
-        return new BigDecimal(c.toString().trim());
+    private Category cachedCategory(String name, Map<String, Long> categoryIds) {
+        Long id = categoryIds.get(name.trim().toLowerCase(Locale.ROOT));
+        if (id != null) {
+            return categoryRepository.getReferenceById(id);
+        }
+        Category category = getOrCreateCategory(name);
+        categoryIds.put(name.trim().toLowerCase(Locale.ROOT), category.getId());
+        return category;
     }
 
-    private static String optStr(Row row, int index) {
-        Cell c = row.getCell(index);
-        return c == null ? null : c.toString().trim();
+    private Subcategory cachedSubcategory(String name, Category category, Map<String, Long> subcategoryIds) {
+        String key = category.getId() + "/" + name.trim().toLowerCase(Locale.ROOT);
+        Long id = subcategoryIds.get(key);
+        if (id != null) {
+            return subcategoryRepository.getReferenceById(id);
+        }
+        Subcategory subcategory = getOrCreateSubcategory(name, category);
+        subcategoryIds.put(key, subcategory.getId());
+        return subcategory;
     }
 
     private void upsertInventoryQuantity(String sku, String productName, int quantityToAdd) {
         if (quantityToAdd == 0) {
             return;
         }
-        String url = inventoryBaseUrl + "/inventory/admin/upsert";
+        restTemplate.postForEntity(inventoryBaseUrl + "/inventory/admin/upsert",
+                inventoryUpsert(sku, productName, quantityToAdd), Object.class);
+    }
+
+    private static Map<String, Object> inventoryUpsert(String sku, String productName, int quantityToAdd) {
         Map<String, Object> payload = new HashMap<>();
         payload.put("sku", sku);
         payload.put("productName", productName);
         payload.put("quantityDelta", quantityToAdd);
-        restTemplate.postForEntity(url, payload, Object.class);
+        return payload;
+    }
+
+    private record InventoryUpsertResult(String sku, boolean applied, String errorCode, String message) {
     }
 
     private Category getOrCreateCategory(String categoryName) {
@@ -10,6 +10,7 @@ import com.grocery.catalog.repo.CategoryRepository;
 import com.grocery.catalog.repo.ProductRepository;
 import com.grocery.catalog.repo.SubcategoryRepository;
 import com.grocery.common.api.DomainException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -18,6 +19,7 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
 @Service
 public class ProductAdminService {
@@ -25,15 +27,18 @@ public class ProductAdminService {
     private final CategoryRepository categoryRepository;
     private final SubcategoryRepository subcategoryRepository;
     private final ImageStorageService imageStorageService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ProductAdminService(ProductRepository productRepository,
                                CategoryRepository categoryRepository,
                                SubcategoryRepository subcategoryRepository,
-                               ImageStorageService imageStorageService) {
+                               ImageStorageService imageStorageService,
+                               ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
         this.subcategoryRepository = subcategoryRepository;
         this.imageStorageService = imageStorageService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -74,7 +79,9 @@ public class ProductAdminService {
             product.setImageUrl(request.imageUrl().trim());
         }
 
-        return ProductMapper.toResponse(productRepository.save(product));
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductsChangedEvent(Set.of(saved.getId())));
+        return ProductMapper.toResponse(saved);
     }
 
     @Transactional
@@ -111,7 +118,9 @@ public class ProductAdminService {
         product.setDescription(request.description());
         product.setImageUrl(request.imageUrl() == null || request.imageUrl().isBlank() ? null : request.imageUrl().trim());
 
-        return ProductMapper.toResponse(productRepository.save(product));
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductsChangedEvent(Set.of(saved.getId())));
+        return ProductMapper.toResponse(saved);
     }
 
     @Transactional
@@ -119,6 +128,7 @@ public class ProductAdminService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new DomainException("PRODUCT_NOT_FOUND", "Product not found: " + id));
         productRepository.delete(product);
+        eventPublisher.publishEvent(new ProductsChangedEvent(Set.of(id)));
     }
 
     @Transactional
@@ -132,7 +142,9 @@ public class ProductAdminService {
         String ext = resolveExtension(file.getOriginalFilename(), file.getContentType());
         String imageUrl = imageStorageService.store(product.getSku(), file.getBytes(), ext);
         product.setImageUrl(imageUrl);
-        return ProductMapper.toResponse(productRepository.save(product));
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductsChangedEvent(Set.of(saved.getId())));
+        return ProductMapper.toResponse(saved);
     }
 
     private String resolveExtension(String originalFilename, String contentType) {
@@ -0,0 +1,283 @@
+package com.grocery.catalog.service;
+
+import com.grocery.catalog.dto.FacetCount;
+import com.grocery.catalog.dto.ProductBrowseRequest;
+import com.grocery.catalog.dto.ProductPageResponse;
+import com.grocery.catalog.dto.ProductResponse;
+import com.grocery.common.api.DomainException;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Faceted, keyset-paginated browsing over the catalog snapshot. Each facet value owns a bitmap of snapshot
+ * positions; a request ANDs the OR of the selected values of every facet, and each facet's counts are taken
+ * with all other facets applied so unselected values show how many products they would add. Pages walk a
+ * presorted position array from the cursor, so the work per page is bounded by the page size and the
+ * products skipped by filters, not by catalog size. The index is rebuilt when a snapshot is published; requests
+ * keep reading the previous index until the new one is swapped in.
+ */
+@Service
+public class ProductBrowseService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String CATEGORY = "category";
+    private static final String SUBCATEGORY = "subcategory";
+    private static final String PRICE = "price";
+    private static final String DISCOUNT = "discount";
+    private static final List<PriceBucket> PRICE_BUCKETS = List.of(
+            new PriceBucket("0-2", BigDecimal.ZERO, new BigDecimal("2")),
+            new PriceBucket("2-5", new BigDecimal("2"), new BigDecimal("5")),
+            new PriceBucket("5-10", new BigDecimal("5"), new BigDecimal("10")),
+            new PriceBucket("10-20", new BigDecimal("10"), new BigDecimal("20")),
+            new PriceBucket("20+", new BigDecimal("20"), null));
+    private static final List<DiscountBucket> DISCOUNT_BUCKETS = List.of(
+            new DiscountBucket("10+", new BigDecimal("10")),
+            new DiscountBucket("25+", new BigDecimal("25")),
+            new DiscountBucket("50+", new BigDecimal("50")));
+
+    private final CatalogSnapshot catalogSnapshot;
+    private volatile FacetIndex built;
+
+    public ProductBrowseService(CatalogSnapshot catalogSnapshot) {
+        this.catalogSnapshot = catalogSnapshot;
+    }
+
+    public ProductPageResponse browse(ProductBrowseRequest request) {
+        FacetIndex index = current();
+        Sort sort = Sort.parse(request.sort());
+        int limit = Math.max(1, Math.min(request.limit(), MAX_PAGE_SIZE));
+
+        Map<String, BitSet> selections = new LinkedHashMap<>();
+        selections.put(CATEGORY, index.select(CATEGORY, request.categories()));
+        selections.put(SUBCATEGORY, index.select(SUBCATEGORY, request.subcategories()));
+        selections.put(PRICE, index.select(PRICE, request.priceRanges()));
+        selections.put(DISCOUNT, index.select(DISCOUNT, request.discounts()));
+
+        BitSet matches = index.all();
+        selections.values().forEach(matches::and);
+
+        Map<String, List<FacetCount>> facets = new LinkedHashMap<>();
+        for (String facet : selections.keySet()) {
+            BitSet others = index.all();
+            selections.forEach((name, selected) -> {
+                if (!name.equals(facet)) {
+                    others.and(selected);
+                }
+            });
+            List<FacetCount> counts = new ArrayList<>();
+            index.facets.get(facet).forEach((key, value) -> {
+                BitSet bits = (BitSet) value.bits().clone();
+                bits.and(others);
+                counts.add(new FacetCount(value.label(), bits.cardinality()));
+            });
+            facets.put(facet, counts);
+        }
+
+        int[] order = index.orders.get(sort);
+        int start = 0;
+        if (request.after() != null && !request.after().isBlank()) {
+            SortKey cursor = SortKey.decode(request.after());
+            int lo = 0;
+            int hi = order.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (sort.comparator.compare(index.keys[order[mid]], cursor) <= 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            start = lo;
+        }
+        List<ProductResponse> items = new ArrayList<>(limit);
+        String nextCursor = null;
+        int last = -1;
+        for (int i = start; i < order.length; i++) {
+            int position = order[i];
+            if (!matches.get(position)) {
+                continue;
+            }
+            if (items.size() == limit) {
+                nextCursor = index.keys[last].encode();
+                break;
+            }
+            items.add(index.products.get(position));
+            last = position;
+        }
+        return new ProductPageResponse(items, nextCursor, matches.cardinality(), facets);
+    }
+
+    @EventListener
+    public void onSnapshotPublished(CatalogSnapshotPublishedEvent event) {
+        install(event.snapshot());
+    }
+
+    private FacetIndex current() {
+        FacetIndex current = built;
+        return current != null ? current : install(catalogSnapshot.current());
+    }
+
+    private synchronized FacetIndex install(CatalogSnapshot.Snapshot snapshot) {
+        if (built == null || built.version < snapshot.version()) {
+            built = new FacetIndex(snapshot);
+        }
+        return built;
+    }
+
+    private enum Sort {
+        NAME(Comparator.comparing(SortKey::name).thenComparingLong(SortKey::id)),
+        PRICE_ASC(Comparator.comparing(SortKey::price).thenComparingLong(SortKey::id)),
+        PRICE_DESC(Comparator.comparing(SortKey::price).reversed().thenComparingLong(SortKey::id)),
+        RATING(Comparator.comparing(SortKey::rating).reversed().thenComparingLong(SortKey::id));
+
+        private final Comparator<SortKey> comparator;
+
+        Sort(Comparator<SortKey> comparator) {
+            this.comparator = comparator;
+        }
+
+        static Sort parse(String raw) {
+            if (raw == null || raw.isBlank()) {
+                return NAME;
+            }
+            try {
+                return valueOf(raw.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new DomainException("INVALID_SORT", "sort must be one of name, price_asc, price_desc, rating");
+            }
+        }
+    }
+
+    private record SortKey(String name, BigDecimal price, BigDecimal rating, long id) {
+        static SortKey of(ProductResponse p) {
+            return new SortKey(p.name().toLowerCase(Locale.ROOT), p.price(),
+                    p.averageRating() == null ? BigDecimal.ZERO : p.averageRating(), p.id());
+        }
+
+        String encode() {
+            String raw = price.toPlainString() + "|" + rating.toPlainString() + "|" + id + "|" + name;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static SortKey decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 4);
+                return new SortKey(parts[3], new BigDecimal(parts[0]), new BigDecimal(parts[1]), Long.parseLong(parts[2]));
+            } catch (RuntimeException ex) {
+                throw new DomainException("INVALID_CURSOR", "Malformed page cursor");
+            }
+        }
+    }
+
+    private record PriceBucket(String label, BigDecimal from, BigDecimal to) {
+        boolean contains(BigDecimal price) {
+            return price.compareTo(from) >= 0 && (to == null || price.compareTo(to) < 0);
+        }
+    }
+
+    private record DiscountBucket(String label, BigDecimal min) {
+    }
+
+    private record FacetValue(String label, BitSet bits) {
+    }
+
+    private static final class FacetIndex {
+        private final long version;
+        private final List<ProductResponse> products;
+        private final SortKey[] keys;
+        private final Map<String, Map<String, FacetValue>> facets = new LinkedHashMap<>();
+        private final Map<Sort, int[]> orders = new EnumMap<>(Sort.class);
+
+        private FacetIndex(CatalogSnapshot.Snapshot snapshot) {
+            this.version = snapshot.version();
+            this.products = snapshot.products();
+            this.keys = new SortKey[products.size()];
+            Map<String, FacetValue> categories = new TreeMap<>();
+            Map<String, FacetValue> subcategories = new TreeMap<>();
+            Map<String, FacetValue> prices = new LinkedHashMap<>();
+            Map<String, FacetValue> discounts = new LinkedHashMap<>();
+            PRICE_BUCKETS.forEach(b -> prices.put(b.label(), new FacetValue(b.label(), new BitSet())));
+            DISCOUNT_BUCKETS.forEach(b -> discounts.put(b.label(), new FacetValue(b.label(), new BitSet())));
+            for (int i = 0; i < products.size(); i++) {
+                ProductResponse p = products.get(i);
+                keys[i] = SortKey.of(p);
+                mark(categories, p.category(), i);
+                mark(subcategories, p.subcategory(), i);
+                for (PriceBucket bucket : PRICE_BUCKETS) {
+                    if (p.price() != null && bucket.contains(p.price())) {
+                        prices.get(bucket.label()).bits().set(i);
+                    }
+                }
+                BigDecimal discount = p.discountPercent() == null ? BigDecimal.ZERO : p.discountPercent();
+                for (DiscountBucket bucket : DISCOUNT_BUCKETS) {
+                    if (discount.compareTo(bucket.min()) >= 0) {
+                        discounts.get(bucket.label()).bits().set(i);
+                    }
+                }
+            }
+            facets.put(CATEGORY, categories);
+            facets.put(SUBCATEGORY, subcategories);
+            facets.put(PRICE, prices);
+            facets.put(DISCOUNT, discounts);
+            for (Sort sort : Sort.values()) {
+                orders.put(sort, sortedPositions(sort.comparator));
+            }
+        }
+
+        private BitSet all() {
+            BitSet bits = new BitSet(products.size());
+            bits.set(0, products.size());
+            return bits;
+        }
+
+        private BitSet select(String facet, List<String> values) {
+            if (values == null || values.isEmpty()) {
+                return all();
+            }
+            BitSet bits = new BitSet(products.size());
+            Map<String, FacetValue> facetValues = facets.get(facet);
+            for (String value : values) {
+                FacetValue match = facetValues.get(normalize(value));
+                if (match == null) {
+                    match = facetValues.get(value.trim());
+                }
+                if (match != null) {
+                    bits.or(match.bits());
+                }
+            }
+            return bits;
+        }
+
+        private int[] sortedPositions(Comparator<SortKey> comparator) {
+            Integer[] boxed = new Integer[products.size()];
+            Arrays.setAll(boxed, i -> i);
+            Arrays.sort(boxed, Comparator.comparing((Function<Integer, SortKey>) i -> keys[i], comparator));
+            return Arrays.stream(boxed).mapToInt(Integer::intValue).toArray();
+        }
+
+        private static void mark(Map<String, FacetValue> values, String label, int position) {
+            if (label == null || label.isBlank()) {
+                return;
+            }
+            values.computeIfAbsent(normalize(label), k -> new FacetValue(label, new BitSet())).bits().set(position);
+        }
+
+        private static String normalize(String value) {
+            return value.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -1,33 +1,34 @@
 package com.grocery.catalog.service;
 
 import com.grocery.catalog.dto.ProductResponse;
-import com.grocery.catalog.repo.ProductRepository;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 
 @Service
 public class ProductQueryService {
-    private final ProductRepository productRepository;
-    private final ProductReviewService productReviewService;
+    private static final int MAX_SEARCH_RESULTS = 500;
 
-    public ProductQueryService(ProductRepository productRepository, ProductReviewService productReviewService) {
-        this.productRepository = productRepository;
-        this.productReviewService = productReviewService;
+    private final CatalogSnapshot catalogSnapshot;
+    private final ProductSearchIndex searchIndex;
+
+    public ProductQueryService(CatalogSnapshot catalogSnapshot, ProductSearchIndex searchIndex) {
+        this.catalogSnapshot = catalogSnapshot;
+        this.searchIndex = searchIndex;
+    }
+
+    public CatalogSnapshot.Snapshot snapshot() {
+        return catalogSnapshot.current();
     }
 
-    public List<ProductResponse> list(String q) {
-        var products = (q == null || q.isBlank()) ? productRepository.findAll() : productRepository.findByNameContainingIgnoreCase(q);
-        Map<Long, ProductReviewService.ProductReviewSummary> summaries =
-                productReviewService.summarize(products.stream().map(p -> p.getId()).toList());
-        return products.stream().map(product -> {
-            ProductReviewService.ProductReviewSummary summary = summaries.get(product.getId());
-            return ProductMapper.toResponse(
-                    product,
-                    summary == null ? null : summary.averageRating(),
-                    summary == null ? 0 : summary.reviewCount()
-            );
-        }).toList();
+    public List<ProductResponse> list(CatalogSnapshot.Snapshot snapshot, String q) {
+        if (q == null || q.isBlank()) {
+            return snapshot.products();
+        }
+        return searchIndex.search(q, MAX_SEARCH_RESULTS).stream()
+                .map(snapshot.byId()::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 }
@@ -7,6 +7,7 @@ import com.grocery.catalog.dto.ProductReviewResponse;
 import com.grocery.catalog.repo.ProductRepository;
 import com.grocery.catalog.repo.ProductReviewRepository;
 import com.grocery.common.api.DomainException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,16 +17,21 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class ProductReviewService {
     private final ProductRepository productRepository;
     private final ProductReviewRepository productReviewRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ProductReviewService(ProductRepository productRepository, ProductReviewRepository productReviewRepository) {
+    public ProductReviewService(ProductRepository productRepository,
+                                ProductReviewRepository productReviewRepository,
+                                ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
         this.productReviewRepository = productReviewRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -54,7 +60,9 @@ public class ProductReviewService {
         review.setUserDisplayName(displayNameFromEmail(userEmail));
         review.setRating(rating);
         review.setComment(normalizeComment(request.comment()));
-        return ProductMapper.toReviewResponse(productReviewRepository.save(review));
+        ProductReview saved = productReviewRepository.save(review);
+        eventPublisher.publishEvent(new ProductsChangedEvent(Set.of(productId)));
+        return ProductMapper.toReviewResponse(saved);
     }
 
     @Transactional(readOnly = true)
@@ -62,7 +70,16 @@ public class ProductReviewService {
         if (productIds.isEmpty()) {
             return Map.of();
         }
-        return productReviewRepository.summarizeByProductIds(productIds).stream()
+        return toSummaries(productReviewRepository.summarizeByProductIds(productIds));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, ProductReviewSummary> summarizeAll() {
+        return toSummaries(productReviewRepository.summarizeAll());
+    }
+
+    private Map<Long, ProductReviewSummary> toSummaries(List<ProductReviewRepository.ProductReviewSummaryView> rows) {
+        return rows.stream()
                 .collect(Collectors.toMap(
                         ProductReviewRepository.ProductReviewSummaryView::getProductId,
                         row -> new ProductReviewSummary(
@@ -0,0 +1,91 @@
+package com.grocery.catalog.service;
+
+import com.grocery.catalog.domain.Category;
+import com.grocery.catalog.domain.Product;
+import com.grocery.catalog.domain.Subcategory;
+
+import java.math.BigDecimal;
+import java.util.function.IntFunction;
+
+/**
+ * One validated row of a catalog upload sheet, independent of whether it was read through the workbook
+ * model or the streaming reader. Column layout: quantity, category, subcategory, name, SKU, price,
+ * discount, tax, unit, description, image URL.
+ */
+record ProductRow(int quantityToAdd,
+                  String categoryName,
+                  String subcategoryName,
+                  String name,
+                  String sku,
+                  BigDecimal price,
+                  BigDecimal discountPercent,
+                  BigDecimal taxPercent,
+                  String unit,
+                  String description,
+                  String image) {
+    static final int COLUMNS = 11;
+
+    static ProductRow parse(IntFunction<String> cells) {
+        String image = opt(cells, 10);
+        return new ProductRow(
+                quantity(cells, 0),
+                str(cells, 1),
+                str(cells, 2),
+                str(cells, 3),
+                str(cells, 4),
+                new BigDecimal(str(cells, 5)),
+                nullableDec(cells, 6),
+                new BigDecimal(str(cells, 7)),
+                str(cells, 8),
+                str(cells, 9),
+                image == null || image.isBlank() ? null : image);
+    }
+
+    void applyTo(Product product, Category category, Subcategory subcategory) {
+        product.setCategory(category);
+        product.setSubcategory(subcategory);
+        product.setName(name);
+        product.setSku(sku);
+        product.setPrice(price);
+        product.setDiscountPercent(discountPercent);
+        product.setTaxPercent(taxPercent);
+        product.setUnit(unit);
+        product.setDescription(description);
+        if (image != null) {
+            product.setImageUrl(image);
+        }
+    }
+
+    private static String str(IntFunction<String> cells, int index) {
+        String raw = cells.apply(index);
+        if (raw == null) throw new IllegalArgumentException("Missing column " + index);
+        String value = raw.trim();
+        if (value.isBlank()) throw new IllegalArgumentException("Blank value at column " + index);
+        return value;
+    }
+
+    private static int quantity(IntFunction<String> cells, int index) {
+        String raw = str(cells, index);
+        int value;
+        try {
+            value = new BigDecimal(raw).intValueExact();
+        } catch (ArithmeticException | NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid integer at column " + index + ": " + raw);
+        }
+        if (value < 0) {
+            throw new IllegalArgumentException("Quantity cannot be negative at column " + index);
+        }
+        return value;
+    }
+
+    private static BigDecimal nullableDec(IntFunction<String> cells, int index) {
+        String raw = cells.apply(index);
+        if (raw == null || raw.isBlank()) return BigDecimal.ZERO;
+        return new BigDecimal(raw.trim());
+    }
+
+    private static String opt(IntFunction<String> cells, int index) {
+        String raw = cells.apply(index);
+        return raw == null ? null : raw.trim();
+    }
+}
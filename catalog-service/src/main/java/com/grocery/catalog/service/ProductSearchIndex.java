@@ -0,0 +1,232 @@
+package com.grocery.catalog.service;
+
+import com.grocery.catalog.dto.ProductResponse;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product name, category, subcategory and description. Every query term
+ * must match a document, either exactly, as a prefix (capped at {@code MAX_EXPANSIONS} dictionary terms,
+ * so short prefixes stay cheap) or, when neither hits, within one or two edits. The fuzzy pass only
+ * compares dictionary terms whose length is within the edit budget, and at most {@code MAX_FUZZY_CANDIDATES}
+ * of them. Matches are scored by field weight and inverse document frequency. Kept in sync by
+ * {@link CatalogSnapshot}.
+ */
+@Component
+public class ProductSearchIndex {
+    private static final float NAME_WEIGHT = 3f;
+    private static final float CATEGORY_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final float PREFIX_FACTOR = 0.8f;
+    private static final float FUZZY_FACTOR = 0.6f;
+    private static final int MAX_EXPANSIONS = 256;
+    private static final int MAX_FUZZY_CANDIDATES = 4096;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+
+    public void rebuild(Collection<ProductResponse> products) {
+        Index fresh = new Index();
+        products.forEach(fresh::add);
+        lock.writeLock().lock();
+        try {
+            index = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsert(ProductResponse product) {
+        lock.writeLock().lock();
+        try {
+            index.remove(product.id());
+            index.add(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            index.remove(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Float> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String token : tokens) {
+                Map<Long, Float> tokenScores = index.match(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    Map<Long, Float> matched = tokenScores;
+                    scores.keySet().retainAll(matched.keySet());
+                    scores.replaceAll((id, score) -> score + matched.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Float>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : folded.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Optimal string alignment distance, abandoned as soon as it must exceed {@code max}.
+     */
+    static int boundedDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] prevPrev = new int[b.length() + 1];
+        int[] prev = new int[b.length() + 1];
+        int[] cur = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            cur[0] = i;
+            int rowMin = cur[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int d = Math.min(Math.min(prev[j] + 1, cur[j - 1] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d = Math.min(d, prevPrev[j - 2] + 1);
+                }
+                cur[j] = d;
+                rowMin = Math.min(rowMin, d);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = prevPrev;
+            prevPrev = prev;
+            prev = cur;
+            cur = recycled;
+        }
+        return prev[b.length()];
+    }
+
+    private static final class Index {
+        private static final TreeSet<String> EMPTY_TERMS = new TreeSet<>();
+
+        private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+        private final Map<Long, Map<String, Float>> termsByProduct = new HashMap<>();
+        private final Map<Integer, TreeSet<String>> termsByLength = new HashMap<>();
+
+        void add(ProductResponse product) {
+            Map<String, Float> terms = new HashMap<>();
+            addField(terms, product.name(), NAME_WEIGHT);
+            addField(terms, product.category(), CATEGORY_WEIGHT);
+            addField(terms, product.subcategory(), CATEGORY_WEIGHT);
+            addField(terms, product.description(), DESCRIPTION_WEIGHT);
+            terms.forEach((term, weight) -> postings.computeIfAbsent(term, t -> {
+                termsByLength.computeIfAbsent(t.length(), l -> new TreeSet<>()).add(t);
+                return new HashMap<>();
+            }).put(product.id(), weight));
+            termsByProduct.put(product.id(), terms);
+        }
+
+        void remove(Long productId) {
+            Map<String, Float> terms = termsByProduct.remove(productId);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms.keySet()) {
+                Map<Long, Float> docs = postings.get(term);
+                docs.remove(productId);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                    TreeSet<String> sameLength = termsByLength.get(term.length());
+                    sameLength.remove(term);
+                    if (sameLength.isEmpty()) {
+                        termsByLength.remove(term.length());
+                    }
+                }
+            }
+        }
+
+        Map<Long, Float> match(String token) {
+            Map<Long, Float> scores = new HashMap<>();
+            Map<Long, Float> exact = postings.get(token);
+            if (exact != null) {
+                collect(scores, exact, 1f);
+            }
+            int expansions = 0;
+            for (var entry : postings.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+                if (++expansions > MAX_EXPANSIONS) {
+                    break;
+                }
+                collect(scores, entry.getValue(), PREFIX_FACTOR);
+            }
+            if (scores.isEmpty() && token.length() >= 4) {
+                int maxEdits = token.length() >= 8 ? 2 : 1;
+                int compared = 0;
+                for (int length = token.length() - maxEdits; length <= token.length() + maxEdits; length++) {
+                    for (String term : termsByLength.getOrDefault(length, EMPTY_TERMS)) {
+                        if (++compared > MAX_FUZZY_CANDIDATES) {
+                            return scores;
+                        }
+                        if (boundedDistance(token, term, maxEdits) <= maxEdits) {
+                            collect(scores, postings.get(term), FUZZY_FACTOR);
+                        }
+                    }
+                }
+            }
+            return scores;
+        }
+
+        private void collect(Map<Long, Float> scores, Map<Long, Float> docs, float factor) {
+            float idf = (float) Math.log(1 + (double) termsByProduct.size() / docs.size());
+            docs.forEach((id, weight) -> scores.merge(id, factor * weight * idf, Math::max));
+        }
+
+        private static void addField(Map<String, Float> terms, String text, float weight) {
+            for (String token : tokenize(text)) {
+                terms.merge(token, weight, Math::max);
+            }
+        }
+    }
+}
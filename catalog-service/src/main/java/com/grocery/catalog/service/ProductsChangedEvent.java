@@ -0,0 +1,6 @@
+package com.grocery.catalog.service;
+
+import java.util.Set;
+
+public record ProductsChangedEvent(Set<Long> productIds) {
+}
@@ -0,0 +1,101 @@
+package com.grocery.catalog.service;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Reads the first sheet of an .xlsx file row by row through POI's SAX event API, so only the shared
+ * strings table and the current row are held in memory. Numeric cells are reported as plain decimals
+ * rather than in their display format, matching how the upload columns are parsed.
+ */
+final class StreamingSheetReader {
+    private StreamingSheetReader() {
+    }
+
+    /**
+     * Calls {@code rowConsumer} with the cells of every data row (header skipped) and its 1-based sheet row number.
+     */
+    static void read(File file, int columns, ObjIntConsumer<String[]> rowConsumer) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg, false);
+            StylesTable styles = reader.getStylesTable();
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        styles, null, strings, new RowCollector(columns, rowConsumer), new PlainNumberFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException ex) {
+            throw new IOException("Unreadable workbook: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static final class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final ObjIntConsumer<String[]> rowConsumer;
+        private final String[] cells;
+        private boolean hasValue;
+
+        private RowCollector(int columns, ObjIntConsumer<String[]> rowConsumer) {
+            this.rowConsumer = rowConsumer;
+            this.cells = new String[columns];
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            Arrays.fill(cells, null);
+            hasValue = false;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (rowNum > 0 && hasValue) {
+                rowConsumer.accept(cells.clone(), rowNum + 1);
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (cellReference == null) {
+                return;
+            }
+            int column = new CellReference(cellReference).getCol();
+            if (column < cells.length) {
+                cells[column] = formattedValue;
+                hasValue |= formattedValue != null && !formattedValue.isBlank();
+            }
+        }
+    }
+
+    private static final class PlainNumberFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.grocery.catalog.service;
+
+import com.grocery.catalog.dto.ProductResponse;
+import com.grocery.catalog.dto.SuggestionResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Type-ahead suggestions over product, category and subcategory names. Every word of a name is a key, so
+ * "ban" suggests "Organic Bananas". Products weigh 1 + review count; a category weighs the sum of its
+ * products. The trie is rebuilt on a background thread when a catalog snapshot is published, collapsing
+ * bursts of snapshots into one rebuild of the latest; lookups keep using the previous trie until then.
+ */
+@Service
+public class SuggestService {
+    private static final Logger log = LoggerFactory.getLogger(SuggestService.class);
+
+    private final CatalogSnapshot catalogSnapshot;
+    private final int topK;
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "suggest-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicReference<CatalogSnapshot.Snapshot> pending = new AtomicReference<>();
+    private volatile Built built;
+
+    public SuggestService(CatalogSnapshot catalogSnapshot,
+                          @Value("${app.catalog.suggest.top-k:10}") int topK) {
+        this.catalogSnapshot = catalogSnapshot;
+        this.topK = topK;
+    }
+
+    public List<SuggestionResponse> suggest(String q, int limit) {
+        String prefix = String.join(" ", ProductSearchIndex.tokenize(q));
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        Built current = current();
+        int[] hits = current.trie().lookup(prefix);
+        List<SuggestionResponse> result = new ArrayList<>(Math.min(hits.length, limit));
+        for (int i = 0; i < hits.length && i < limit; i++) {
+            result.add(current.suggestions().get(hits[i]));
+        }
+        return result;
+    }
+
+    @EventListener
+    public void onSnapshotPublished(CatalogSnapshotPublishedEvent event) {
+        if (pending.getAndSet(event.snapshot()) == null) {
+            rebuilder.execute(this::rebuildPending);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    private void rebuildPending() {
+        CatalogSnapshot.Snapshot snapshot = pending.getAndSet(null);
+        try {
+            install(snapshot);
+        } catch (RuntimeException ex) {
+            log.warn("Suggestion trie rebuild for snapshot {} failed, serving the previous trie: {}",
+                    snapshot.version(), ex.getMessage());
+        }
+    }
+
+    private Built current() {
+        Built current = built;
+        return current != null ? current : install(catalogSnapshot.current());
+    }
+
+    private synchronized Built install(CatalogSnapshot.Snapshot snapshot) {
+        if (built == null || built.version() < snapshot.version()) {
+            built = build(snapshot);
+        }
+        return built;
+    }
+
+    private Built build(CatalogSnapshot.Snapshot snapshot) {
+        List<SuggestionResponse> suggestions = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        Map<String, Integer> groupIndex = new HashMap<>();
+        List<String> keys = new ArrayList<>();
+        List<Integer> targets = new ArrayList<>();
+        for (ProductResponse product : snapshot.products()) {
+            double weight = 1 + product.reviewCount();
+            int index = suggestions.size();
+            suggestions.add(new SuggestionResponse(product.name(), "PRODUCT", product.id()));
+            weights.add(weight);
+            addKeys(keys, targets, product.name(), index);
+            addGroup(suggestions, weights, groupIndex, keys, targets, product.category(), "CATEGORY", weight);
+            addGroup(suggestions, weights, groupIndex, keys, targets, product.subcategory(), "SUBCATEGORY", weight);
+        }
+        double[] weightArray = weights.stream().mapToDouble(Double::doubleValue).toArray();
+        return new Built(snapshot.version(), SuggestionTrie.build(keys, targets, weightArray, topK), List.copyOf(suggestions));
+    }
+
+    private static void addGroup(List<SuggestionResponse> suggestions, List<Double> weights, Map<String, Integer> groupIndex,
+                                 List<String> keys, List<Integer> targets, String name, String type, double weight) {
+        if (name == null || name.isBlank()) {
+            return;
+        }
+        Integer index = groupIndex.get(type + ":" + name.toLowerCase());
+        if (index == null) {
+            index = suggestions.size();
+            groupIndex.put(type + ":" + name.toLowerCase(), index);
+            suggestions.add(new SuggestionResponse(name, type, null));
+            weights.add(0d);
+            addKeys(keys, targets, name, index);
+        }
+        weights.set(index, weights.get(index) + weight);
+    }
+
+    private static void addKeys(List<String> keys, List<Integer> targets, String name, int index) {
+        List<String> tokens = ProductSearchIndex.tokenize(name);
+        for (int i = 0; i < tokens.size(); i++) {
+            keys.add(String.join(" ", tokens.subList(i, tokens.size())));
+            targets.add(index);
+        }
+    }
+
+    private record Built(long version, SuggestionTrie trie, List<SuggestionResponse> suggestions) {
+    }
+}
@@ -0,0 +1,137 @@
+package com.grocery.catalog.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable radix trie mapping normalized keys to suggestion indices. Every node keeps the indices of the
+ * {@code topK} heaviest distinct suggestions below it, so a lookup costs one walk down the prefix and no
+ * scan of the matching subtree.
+ */
+final class SuggestionTrie {
+    private final Node root;
+
+    private SuggestionTrie(Node root) {
+        this.root = root;
+    }
+
+    static SuggestionTrie build(List<String> keys, List<Integer> suggestions, double[] weights, int topK) {
+        Node root = new Node("");
+        for (int i = 0; i < keys.size(); i++) {
+            root.insert(keys.get(i), suggestions.get(i));
+        }
+        root.seal(weights, topK);
+        return new SuggestionTrie(root);
+    }
+
+    int[] lookup(String prefix) {
+        Node node = root;
+        String remaining = prefix;
+        while (!remaining.isEmpty()) {
+            Node child = node.child(remaining.charAt(0));
+            if (child == null) {
+                return new int[0];
+            }
+            if (remaining.length() <= child.label.length()) {
+                return child.label.startsWith(remaining) ? child.top : new int[0];
+            }
+            if (!remaining.startsWith(child.label)) {
+                return new int[0];
+            }
+            remaining = remaining.substring(child.label.length());
+            node = child;
+        }
+        return node.top;
+    }
+
+    private static final class Node {
+        private String label;
+        private Node[] children = new Node[0];
+        private int[] terminal = new int[0];
+        private int[] top;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private Node child(char first) {
+            int lo = 0;
+            int hi = children.length - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                char c = children[mid].label.charAt(0);
+                if (c < first) {
+                    lo = mid + 1;
+                } else if (c > first) {
+                    hi = mid - 1;
+                } else {
+                    return children[mid];
+                }
+            }
+            return null;
+        }
+
+        private void insert(String key, int suggestion) {
+            if (key.isEmpty()) {
+                terminal = Arrays.copyOf(terminal, terminal.length + 1);
+                terminal[terminal.length - 1] = suggestion;
+                return;
+            }
+            Node child = child(key.charAt(0));
+            if (child == null) {
+                Node leaf = new Node(key);
+                leaf.insert("", suggestion);
+                addChild(leaf);
+                return;
+            }
+            int common = 0;
+            int max = Math.min(key.length(), child.label.length());
+            while (common < max && key.charAt(common) == child.label.charAt(common)) {
+                common++;
+            }
+            if (common < child.label.length()) {
+                Node split = new Node(child.label.substring(common));
+                split.children = child.children;
+                split.terminal = child.terminal;
+                child.label = child.label.substring(0, common);
+                child.children = new Node[]{split};
+                child.terminal = new int[0];
+            }
+            child.insert(key.substring(common), suggestion);
+        }
+
+        private void addChild(Node node) {
+            int pos = 0;
+            while (pos < children.length && children[pos].label.charAt(0) < node.label.charAt(0)) {
+                pos++;
+            }
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, pos);
+            grown[pos] = node;
+            System.arraycopy(children, pos, grown, pos + 1, children.length - pos);
+            children = grown;
+        }
+
+        private void seal(double[] weights, int topK) {
+            List<Integer> candidates = new ArrayList<>();
+            for (int s : terminal) {
+                candidates.add(s);
+            }
+            for (Node child : children) {
+                child.seal(weights, topK);
+                for (int s : child.top) {
+                    candidates.add(s);
+                }
+            }
+            top = candidates.stream()
+                    .distinct()
+                    .sorted(Comparator.comparingDouble((Integer s) -> -weights[s]).thenComparingInt(s -> s))
+                    .limit(topK)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            terminal = null;
+        }
+    }
+}
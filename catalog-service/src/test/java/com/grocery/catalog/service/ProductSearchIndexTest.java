@@ -0,0 +1,63 @@
+package com.grocery.catalog.service;
+
+import com.grocery.catalog.dto.ProductResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    @Test
+    void matchesExactPrefixAndTypoTerms() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.rebuild(List.of(
+                product(1L, "Organic Bananas", "Fruit"),
+                product(2L, "Banana Bread", "Bakery"),
+                product(3L, "Whole Milk", "Dairy")));
+
+        assertThat(index.search("milk", 10)).containsExactly(3L);
+        assertThat(index.search("ban", 10)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("bakrey", 10)).containsExactly(2L);
+        assertThat(index.search("organic bananas", 10)).containsExactly(1L);
+        assertThat(index.search("cheese", 10)).isEmpty();
+    }
+
+    @Test
+    void fuzzyMatchesStayWithinTheEditBudget() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.rebuild(List.of(product(1L, "Tomatoes", "Vegetables"), product(2L, "Potato", "Vegetables")));
+
+        assertThat(index.search("tomatos", 10)).containsExactly(1L);
+        assertThat(index.search("tamatas", 10)).isEmpty();
+    }
+
+    @Test
+    void removedProductsDropOutOfExactAndFuzzyMatches() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.rebuild(List.of(product(1L, "Cheddar Cheese", "Dairy"), product(2L, "Greek Yogurt", "Dairy")));
+
+        index.remove(1L);
+        index.upsert(product(2L, "Greek Yoghurt", "Dairy"));
+
+        assertThat(index.search("cheddar", 10)).isEmpty();
+        assertThat(index.search("chedar", 10)).isEmpty();
+        assertThat(index.search("yoghurt", 10)).containsExactly(2L);
+        assertThat(index.search("yogurt", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void boundedDistanceGivesUpPastTheLimit() {
+        assertThat(ProductSearchIndex.boundedDistance("apple", "aplpe", 1)).isEqualTo(1);
+        assertThat(ProductSearchIndex.boundedDistance("apple", "apply", 1)).isEqualTo(1);
+        assertThat(ProductSearchIndex.boundedDistance("apple", "orange", 2)).isEqualTo(3);
+        assertThat(ProductSearchIndex.boundedDistance("kiwi", "kiwifruit", 2)).isEqualTo(3);
+    }
+
+    private static ProductResponse product(Long id, String name, String category) {
+        return new ProductResponse(id, name, "SKU-" + id, category, category, new BigDecimal("1.00"),
+                null, BigDecimal.ZERO, "pc", null, null, null, 0);
+    }
+}
@@ -0,0 +1,63 @@
+package com.grocery.catalog.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestionTrieTest {
+
+    @Test
+    void returnsTheHeaviestSuggestionsBelowThePrefix() {
+        SuggestionTrie trie = SuggestionTrie.build(
+                List.of("apple", "apricot", "app", "banana"),
+                List.of(0, 1, 2, 3),
+                new double[]{5, 9, 1, 7},
+                2);
+
+        assertThat(trie.lookup("ap")).containsExactly(1, 0);
+        assertThat(trie.lookup("app")).containsExactly(0, 2);
+        assertThat(trie.lookup("")).containsExactly(1, 3);
+    }
+
+    @Test
+    void matchesPrefixesThatEndInsideAnEdgeLabel() {
+        SuggestionTrie trie = SuggestionTrie.build(
+                List.of("apple", "apricot"), List.of(0, 1), new double[]{1, 1}, 5);
+
+        assertThat(trie.lookup("appl")).containsExactly(0);
+        assertThat(trie.lookup("apri")).containsExactly(1);
+    }
+
+    @Test
+    void returnsNothingForMissingOrOverlongPrefixes() {
+        SuggestionTrie trie = SuggestionTrie.build(
+                List.of("apple", "apricot"), List.of(0, 1), new double[]{1, 1}, 5);
+
+        assertThat(trie.lookup("apx")).isEmpty();
+        assertThat(trie.lookup("apples")).isEmpty();
+        assertThat(trie.lookup("b")).isEmpty();
+    }
+
+    @Test
+    void listsASuggestionReachableThroughSeveralKeysOnce() {
+        SuggestionTrie trie = SuggestionTrie.build(
+                List.of("apple", "applesauce", "green apple"),
+                List.of(0, 0, 0),
+                new double[]{1},
+                5);
+
+        assertThat(trie.lookup("app")).containsExactly(0);
+        assertThat(trie.lookup("")).containsExactly(0);
+        assertThat(trie.lookup("green")).containsExactly(0);
+    }
+
+    @Test
+    void breaksWeightTiesBySuggestionIndex() {
+        SuggestionTrie trie = SuggestionTrie.build(
+                List.of("milk", "mint", "mild"), List.of(2, 0, 1), new double[]{3, 3, 3}, 3);
+
+        assertThat(trie.lookup("mi")).containsExactly(0, 1, 2);
+    }
+}
@@ -0,0 +1,48 @@
+package com.grocery.common.http;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+
+/**
+ * JDK request factory whose read timeout is the configured one, or the time left on the caller's
+ * {@link RequestDeadline} when that is shorter. Requests are created after the interceptors have
+ * run, so time spent waiting for a target slot is already counted.
+ */
+class DeadlineAwareRequestFactory implements ClientHttpRequestFactory {
+    private final HttpClient httpClient;
+    private final long readTimeoutMs;
+    private final JdkClientHttpRequestFactory defaults;
+
+    DeadlineAwareRequestFactory(HttpClient httpClient, long readTimeoutMs) {
+        this.httpClient = httpClient;
+        this.readTimeoutMs = readTimeoutMs;
+        this.defaults = factory(readTimeoutMs);
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        Long remainingMs = RequestDeadline.remainingMs();
+        if (remainingMs == null || remainingMs >= readTimeoutMs) {
+            return defaults.createRequest(uri, httpMethod);
+        }
+        if (remainingMs == 0) {
+            throw new HttpTimeoutException("Caller deadline passed before " + httpMethod + " " + uri);
+        }
+        return factory(remainingMs).createRequest(uri, httpMethod);
+    }
+
+    // The factory only holds the shared client and a timeout, so one per deadline-bound request is cheap.
+    private JdkClientHttpRequestFactory factory(long timeoutMs) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(Duration.ofMillis(timeoutMs));
+        return factory;
+    }
+}
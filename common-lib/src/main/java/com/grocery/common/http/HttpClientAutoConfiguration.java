@@ -0,0 +1,56 @@
+package com.grocery.common.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Shared {@link RestTemplate} backed by one JDK {@link HttpClient}, which keeps connections alive and
+ * pools them per target. It is built from Boot's {@link RestTemplateBuilder}, so the
+ * {@code http.client.requests} metrics are recorded per client and URI template. Read timeouts are
+ * shortened to the caller's {@link RequestDeadline} when one is set.
+ */
+@AutoConfiguration(after = RestTemplateAutoConfiguration.class,
+        afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientAutoConfiguration {
+    @Bean(destroyMethod = "")
+    @ConditionalOnMissingBean
+    HttpClient interServiceHttpClient(HttpClientProperties properties) {
+        return HttpClient.newBuilder()
+                .version(properties.http2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(properties.connectTimeoutMs()))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    TargetConcurrencyLimiter targetConcurrencyLimiter(HttpClientProperties properties,
+                                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        return new TargetConcurrencyLimiter(properties, meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    RestTemplate restTemplate(RestTemplateBuilder builder,
+                              HttpClient interServiceHttpClient,
+                              HttpClientProperties properties,
+                              TargetConcurrencyLimiter targetConcurrencyLimiter) {
+        DeadlineAwareRequestFactory requestFactory =
+                new DeadlineAwareRequestFactory(interServiceHttpClient, properties.readTimeoutMs());
+        return builder
+                .requestFactory(() -> requestFactory)
+                .additionalInterceptors(targetConcurrencyLimiter)
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.grocery.common.http;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * Settings for the shared inter-service HTTP client, bound from {@code app.http.client.*}.
+ *
+ * @param connectTimeoutMs         TCP (and TLS) connect timeout
+ * @param readTimeoutMs            time to wait for a response
+ * @param maxConcurrencyPerTarget  concurrent requests allowed per {@code scheme://host:port}
+ * @param acquireTimeoutMs         time a request may wait for a free slot on its target
+ * @param http2                    prefer HTTP/2 (negotiated via ALPN on https targets)
+ * @param targets                  per-host overrides of {@code maxConcurrencyPerTarget}, keyed by host name
+ */
+@ConfigurationProperties("app.http.client")
+public record HttpClientProperties(
+        Long connectTimeoutMs,
+        Long readTimeoutMs,
+        Integer maxConcurrencyPerTarget,
+        Long acquireTimeoutMs,
+        Boolean http2,
+        Map<String, Integer> targets
+) {
+    public HttpClientProperties {
+        connectTimeoutMs = connectTimeoutMs == null ? 2000L : connectTimeoutMs;
+        readTimeoutMs = readTimeoutMs == null ? 10000L : readTimeoutMs;
+        maxConcurrencyPerTarget = maxConcurrencyPerTarget == null ? 64 : maxConcurrencyPerTarget;
+        acquireTimeoutMs = acquireTimeoutMs == null ? 1000L : acquireTimeoutMs;
+        http2 = http2 != null && http2;
+        targets = targets == null ? Map.of() : Map.copyOf(targets);
+    }
+}
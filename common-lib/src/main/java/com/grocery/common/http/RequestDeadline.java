@@ -0,0 +1,40 @@
+package com.grocery.common.http;
+
+import java.util.function.Supplier;
+
+/**
+ * Deadline for the outbound calls made on the current thread. While one is set, the shared
+ * {@code RestTemplate} caps each request's read timeout at the time left, and fails requests
+ * started after it has passed, so a call cannot outlive the caller that is waiting for it.
+ */
+public final class RequestDeadline {
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    public static <T> T callWithin(long deadlineNanos, Supplier<T> call) {
+        Long previous = DEADLINE_NANOS.get();
+        DEADLINE_NANOS.set(deadlineNanos);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                DEADLINE_NANOS.remove();
+            } else {
+                DEADLINE_NANOS.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Milliseconds left before the current deadline, or {@code null} when none is set.
+     */
+    public static Long remainingMs() {
+        Long deadline = DEADLINE_NANOS.get();
+        if (deadline == null) {
+            return null;
+        }
+        return Math.max(0L, (deadline - System.nanoTime()) / 1_000_000L);
+    }
+}
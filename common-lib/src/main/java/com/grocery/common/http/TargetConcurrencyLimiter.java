@@ -0,0 +1,77 @@
+package com.grocery.common.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps concurrent requests per target so one slow dependency cannot absorb every caller thread
+ * and connection. Requests that cannot get a slot within the acquire timeout fail fast.
+ */
+public class TargetConcurrencyLimiter implements ClientHttpRequestInterceptor {
+    private final HttpClientProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    public TargetConcurrencyLimiter(HttpClientProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        URI uri = request.getURI();
+        String target = target(uri);
+        Semaphore semaphore = permits.computeIfAbsent(target, t -> register(t, uri.getHost()));
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(properties.acquireTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrupted waiting for a connection slot to " + target);
+        }
+        if (!acquired) {
+            if (meterRegistry != null) {
+                meterRegistry.counter("http.client.target.rejected", "target", target).increment();
+            }
+            throw new ResourceAccessException("Too many concurrent requests to " + target);
+        }
+        try {
+            return execution.execute(request, body);
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    // http://svc and http://svc:80 must share one semaphore, so the implicit port (-1) is made explicit.
+    static String target(URI uri) {
+        String scheme = uri.getScheme() == null ? "http" : uri.getScheme().toLowerCase(Locale.ROOT);
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equals(scheme) ? 443 : 80;
+        }
+        return scheme + "://" + uri.getHost().toLowerCase(Locale.ROOT) + ":" + port;
+    }
+
+    private Semaphore register(String target, String host) {
+        int limit = properties.targets().getOrDefault(host, properties.maxConcurrencyPerTarget());
+        Semaphore semaphore = new Semaphore(limit);
+        if (meterRegistry != null) {
+            meterRegistry.gauge("http.client.target.in.flight", Tags.of("target", target),
+                    semaphore, s -> limit - s.availablePermits());
+        }
+        return semaphore;
+    }
+}
@@ -0,0 +1,29 @@
+package com.grocery.common.mail;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mail.MailSenderAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+@AutoConfiguration(after = MailSenderAutoConfiguration.class,
+        afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@ConditionalOnClass({JavaMailSenderImpl.class, MeterRegistry.class})
+@ConditionalOnBean(JavaMailSenderImpl.class)
+@ConditionalOnProperty(prefix = "app.mail.dispatch", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(MailDispatchProperties.class)
+public class MailDispatchAutoConfiguration {
+    @Bean
+    @ConditionalOnMissingBean
+    MailDispatcher mailDispatcher(JavaMailSenderImpl mailSender,
+                                  MailDispatchProperties properties,
+                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        return new MailDispatcher(mailSender, properties, meterRegistry.getIfAvailable());
+    }
+}
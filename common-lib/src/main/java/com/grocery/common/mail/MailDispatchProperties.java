@@ -0,0 +1,41 @@
+package com.grocery.common.mail;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for {@link MailDispatcher}, bound from {@code app.mail.dispatch.*}.
+ *
+ * @param queueCapacity            messages that may wait for a worker before submissions are rejected
+ * @param workers                  worker threads, each owning one pooled SMTP connection
+ * @param batchSize                messages a worker takes from the queue per connection checkout
+ * @param maxMessagesPerConnection messages sent over one connection before it is recycled
+ * @param idleTimeoutMs            idle time after which a worker closes its connection
+ * @param maxAttempts              delivery attempts per message, including the first
+ * @param initialBackoffMs         delay before the first retry; doubled per attempt
+ * @param maxBackoffMs             upper bound for the retry delay
+ * @param shutdownTimeoutMs        time allowed to drain the queue on shutdown
+ */
+@ConfigurationProperties("app.mail.dispatch")
+public record MailDispatchProperties(
+        Integer queueCapacity,
+        Integer workers,
+        Integer batchSize,
+        Integer maxMessagesPerConnection,
+        Long idleTimeoutMs,
+        Integer maxAttempts,
+        Long initialBackoffMs,
+        Long maxBackoffMs,
+        Long shutdownTimeoutMs
+) {
+    public MailDispatchProperties {
+        queueCapacity = queueCapacity == null ? 1000 : queueCapacity;
+        workers = workers == null ? 2 : workers;
+        batchSize = batchSize == null ? 20 : batchSize;
+        maxMessagesPerConnection = maxMessagesPerConnection == null ? 100 : maxMessagesPerConnection;
+        idleTimeoutMs = idleTimeoutMs == null ? 30000L : idleTimeoutMs;
+        maxAttempts = maxAttempts == null ? 5 : maxAttempts;
+        initialBackoffMs = initialBackoffMs == null ? 2000L : initialBackoffMs;
+        maxBackoffMs = maxBackoffMs == null ? 120000L : maxBackoffMs;
+        shutdownTimeoutMs = shutdownTimeoutMs == null ? 10000L : shutdownTimeoutMs;
+    }
+}
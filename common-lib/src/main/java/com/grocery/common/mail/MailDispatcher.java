@@ -0,0 +1,284 @@
+package com.grocery.common.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMailMessage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends mail off the request thread. Submissions go to a bounded queue; each worker keeps one SMTP
+ * connection open, sends queued messages over it in batches and recycles it after
+ * {@code maxMessagesPerConnection} messages or {@code idleTimeoutMs} of inactivity. Transient failures
+ * (connection errors and 4xx replies) are retried with exponential backoff; 5xx rejections are not.
+ */
+public class MailDispatcher implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(MailDispatcher.class);
+
+    private final JavaMailSenderImpl mailSender;
+    private final MailDispatchProperties properties;
+    private final BlockingQueue<Envelope> queue;
+    private final ScheduledExecutorService retryScheduler;
+    private final List<Thread> workers = new ArrayList<>();
+    private final Counter submitted;
+    private final Counter rejected;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer sendTimer;
+    private volatile boolean running = true;
+
+    public MailDispatcher(JavaMailSenderImpl mailSender, MailDispatchProperties properties, MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        MeterRegistry registry = meterRegistry == null ? new CompositeMeterRegistry() : meterRegistry;
+        registry.gaugeCollectionSize("mail.dispatch.queue.size", List.of(), queue);
+        this.submitted = registry.counter("mail.dispatch.messages", "outcome", "submitted");
+        this.rejected = registry.counter("mail.dispatch.messages", "outcome", "rejected");
+        this.sent = registry.counter("mail.dispatch.messages", "outcome", "sent");
+        this.retried = registry.counter("mail.dispatch.messages", "outcome", "retried");
+        this.failed = registry.counter("mail.dispatch.messages", "outcome", "failed");
+        this.sendTimer = registry.timer("mail.dispatch.send");
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "mail-dispatch-retry");
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < properties.workers(); i++) {
+            Thread worker = new Thread(this::work, "mail-dispatch-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Queues a message for delivery.
+     *
+     * @return {@code false} if the queue is full or the dispatcher is shutting down
+     */
+    public boolean submit(SimpleMailMessage message) {
+        if (running && queue.offer(new Envelope(message, 1))) {
+            submitted.increment();
+            return true;
+        }
+        rejected.increment();
+        log.warn("Mail queue full, dropping message to {}", String.join(",", message.getTo() == null ? new String[0] : message.getTo()));
+        return false;
+    }
+
+    private void work() {
+        Transport transport = null;
+        int sentOnConnection = 0;
+        try {
+            while (running || !queue.isEmpty()) {
+                Envelope first = queue.poll(properties.idleTimeoutMs(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    transport = close(transport);
+                    continue;
+                }
+                List<Envelope> batch = new ArrayList<>(properties.batchSize());
+                batch.add(first);
+                queue.drainTo(batch, properties.batchSize() - 1);
+                for (int i = 0; i < batch.size(); i++) {
+                    if (transport == null || sentOnConnection >= properties.maxMessagesPerConnection()) {
+                        close(transport);
+                        sentOnConnection = 0;
+                        try {
+                            transport = connect();
+                        } catch (MessagingException ex) {
+                            log.warn("Cannot connect to SMTP server {}:{}: {}", mailSender.getHost(), mailSender.getPort(), ex.getMessage());
+                            transport = null;
+                            batch.subList(i, batch.size()).forEach(this::retry);
+                            break;
+                        }
+                    }
+                    Envelope envelope = batch.get(i);
+                    boolean reused = sentOnConnection > 0;
+                    try {
+                        send(transport, envelope.message());
+                        sentOnConnection++;
+                        sent.increment();
+                    } catch (SendFailedException ex) {
+                        sentOnConnection++;
+                        rejected(envelope, ex);
+                    } catch (MessagingException ex) {
+                        transport = close(transport);
+                        if (reused) {
+                            // The server may have dropped an idle pooled connection; resend once on a fresh one.
+                            i--;
+                            continue;
+                        }
+                        log.warn("Mail to {} failed on attempt {}: {}", recipients(envelope), envelope.attempt(), ex.getMessage());
+                        retry(envelope);
+                    }
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close(transport);
+        }
+    }
+
+    private Transport connect() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        return transport;
+    }
+
+    private void send(Transport transport, SimpleMailMessage message) throws MessagingException {
+        MimeMessage mime = new MimeMessage(mailSender.getSession());
+        message.copyTo(new MimeMailMessage(mime));
+        mime.saveChanges();
+        long start = System.nanoTime();
+        try {
+            transport.sendMessage(mime, mime.getAllRecipients());
+        } finally {
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Handles a message the server refused in whole or in part. Recipients refused with a 4xx reply, and valid
+     * recipients left unsent because of them, are retried; 5xx refusals are permanent.
+     */
+    private void rejected(Envelope envelope, SendFailedException ex) {
+        if (ex instanceof SMTPSendFailedException sendFailed && !isTransient(sendFailed.getReturnCode())) {
+            failed.increment();
+            log.warn("Mail to {} rejected by server: {}", recipients(envelope), ex.getMessage());
+            return;
+        }
+        Set<String> retryable = new HashSet<>();
+        Set<String> refused = new HashSet<>();
+        addAll(retryable, ex.getValidUnsentAddresses());
+        for (Exception next = ex; next instanceof MessagingException messaging; next = messaging.getNextException()) {
+            if (next instanceof SMTPAddressFailedException addressFailed) {
+                (isTransient(addressFailed.getReturnCode()) ? retryable : refused).add(key(addressFailed.getAddress()));
+            }
+        }
+        if (ex instanceof SMTPSendFailedException && ex.getValidUnsentAddresses() == null && ex.getInvalidAddresses() == null) {
+            addAll(retryable, envelope.message().getTo());
+            addAll(retryable, envelope.message().getCc());
+            addAll(retryable, envelope.message().getBcc());
+        }
+        if (!refused.isEmpty()) {
+            log.warn("Mail recipients {} rejected by server: {}", refused, ex.getMessage());
+        }
+        if (retryable.isEmpty()) {
+            failed.increment();
+            return;
+        }
+        SimpleMailMessage narrowed = new SimpleMailMessage(envelope.message());
+        narrowed.setTo(only(envelope.message().getTo(), retryable));
+        narrowed.setCc(only(envelope.message().getCc(), retryable));
+        narrowed.setBcc(only(envelope.message().getBcc(), retryable));
+        log.warn("Mail to {} deferred by server on attempt {}: {}", retryable, envelope.attempt(), ex.getMessage());
+        retry(new Envelope(narrowed, envelope.attempt()));
+    }
+
+    static boolean isTransient(int smtpReplyCode) {
+        return smtpReplyCode >= 400 && smtpReplyCode < 500;
+    }
+
+    private static void addAll(Set<String> target, Object[] addresses) {
+        if (addresses != null) {
+            for (Object address : addresses) {
+                target.add(key(address));
+            }
+        }
+    }
+
+    private static String[] only(String[] addresses, Set<String> keep) {
+        if (addresses == null) {
+            return null;
+        }
+        return Arrays.stream(addresses).filter(address -> keep.contains(key(address))).toArray(String[]::new);
+    }
+
+    private static String key(Object address) {
+        if (address instanceof InternetAddress internet) {
+            return internet.getAddress().toLowerCase(Locale.ROOT);
+        }
+        try {
+            return new InternetAddress(address.toString()).getAddress().toLowerCase(Locale.ROOT);
+        } catch (AddressException ex) {
+            return address.toString().trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private void retry(Envelope envelope) {
+        if (envelope.attempt() >= properties.maxAttempts() || !running) {
+            failed.increment();
+            log.error("Giving up on mail to {} after {} attempts", recipients(envelope), envelope.attempt());
+            return;
+        }
+        retried.increment();
+        long delay = Math.min(properties.maxBackoffMs(), properties.initialBackoffMs() << Math.min(envelope.attempt() - 1, 20));
+        Envelope next = new Envelope(envelope.message(), envelope.attempt() + 1);
+        retryScheduler.schedule(() -> {
+            if (!queue.offer(next)) {
+                failed.increment();
+                log.error("Mail queue full, dropping retry of mail to {}", recipients(next));
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private static Transport close(Transport transport) {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (MessagingException ex) {
+                log.debug("Error closing SMTP connection: {}", ex.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private static String recipients(Envelope envelope) {
+        String[] to = envelope.message().getTo();
+        return to == null ? "" : String.join(",", to);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        retryScheduler.shutdownNow();
+        long deadline = System.currentTimeMillis() + properties.shutdownTimeoutMs();
+        for (Thread worker : workers) {
+            worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+            worker.interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Mail dispatcher stopped with {} undelivered messages", queue.size());
+        }
+    }
+
+    private record Envelope(SimpleMailMessage message, int attempt) {
+    }
+}
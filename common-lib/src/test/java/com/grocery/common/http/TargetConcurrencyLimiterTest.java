@@ -0,0 +1,25 @@
+package com.grocery.common.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TargetConcurrencyLimiterTest {
+
+    @Test
+    void implicitPortsMatchTheSchemeDefault() {
+        assertThat(TargetConcurrencyLimiter.target(URI.create("http://inventory-service/inventory/items")))
+                .isEqualTo(TargetConcurrencyLimiter.target(URI.create("http://inventory-service:80/inventory/items")))
+                .isEqualTo("http://inventory-service:80");
+        assertThat(TargetConcurrencyLimiter.target(URI.create("https://Payments.example.com/intent")))
+                .isEqualTo("https://payments.example.com:443");
+    }
+
+    @Test
+    void explicitPortsAreKept() {
+        assertThat(TargetConcurrencyLimiter.target(URI.create("http://inventory-service:8083/inventory")))
+                .isEqualTo("http://inventory-service:8083");
+    }
+}
@@ -0,0 +1,75 @@
+package com.grocery.common.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MailDispatcherTest {
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Test
+    void deliversQueuedMessagesOverPooledConnection() throws Exception {
+        MailDispatcher dispatcher = new MailDispatcher(sender(), properties(), null);
+        try {
+            for (int i = 0; i < 5; i++) {
+                assertThat(dispatcher.submit(message("user" + i + "@grocery.local"))).isTrue();
+            }
+            assertThat(greenMail.waitForIncomingEmail(5000, 5)).isTrue();
+            assertThat(greenMail.getReceivedMessages()).hasSize(5);
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    void resendsOnFreshConnectionWhenPooledConnectionWasDropped() throws Exception {
+        MailDispatcher dispatcher = new MailDispatcher(sender(), properties(), null);
+        try {
+            dispatcher.submit(message("first@grocery.local"));
+            assertThat(greenMail.waitForIncomingEmail(5000, 1)).isTrue();
+
+            greenMail.reset();
+            dispatcher.submit(message("second@grocery.local"));
+
+            // The retry backoff is a minute, so only the immediate reconnect can deliver in time.
+            assertThat(greenMail.waitForIncomingEmail(5000, 1)).isTrue();
+            assertThat(greenMail.getReceivedMessages()[0].getAllRecipients()[0].toString()).isEqualTo("second@grocery.local");
+        } finally {
+            dispatcher.destroy();
+        }
+    }
+
+    @Test
+    void treatsOnlyFourHundredRepliesAsTransient() {
+        assertThat(MailDispatcher.isTransient(421)).isTrue();
+        assertThat(MailDispatcher.isTransient(452)).isTrue();
+        assertThat(MailDispatcher.isTransient(550)).isFalse();
+        assertThat(MailDispatcher.isTransient(250)).isFalse();
+    }
+
+    private static JavaMailSenderImpl sender() {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        sender.setPort(ServerSetupTest.SMTP.getPort());
+        return sender;
+    }
+
+    private static MailDispatchProperties properties() {
+        return new MailDispatchProperties(100, 1, 20, 100, 60000L, 3, 60000L, 60000L, 5000L);
+    }
+
+    private static SimpleMailMessage message(String to) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("no-reply@grocery.local");
+        message.setTo(to);
+        message.setSubject("Test");
+        message.setText("Hello");
+        return message;
+    }
+}
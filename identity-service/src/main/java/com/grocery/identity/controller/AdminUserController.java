@@ -3,6 +3,7 @@ package com.grocery.identity.controller;
 import com.grocery.identity.dto.AdminCreateUserRequest;
 import com.grocery.identity.dto.AdminUpdateUserRequest;
 import com.grocery.identity.dto.AdminUserResponse;
+import com.grocery.identity.dto.UserContactResponse;
 import com.grocery.identity.service.AdminUserService;
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -31,6 +32,11 @@ public class AdminUserController {
         return adminUserService.listUsers();
     }
 
+    @PostMapping("/by-email")
+    public List<UserContactResponse> findByEmail(@RequestBody List<String> emails) {
+        return adminUserService.findContactsByEmail(emails);
+    }
+
     @PostMapping
     public AdminUserResponse createUser(@Valid @RequestBody AdminCreateUserRequest request) {
         return adminUserService.createUser(request);
@@ -0,0 +1,8 @@
+package com.grocery.identity.dto;
+
+public record UserContactResponse(
+        String email,
+        String name,
+        String phone
+) {
+}
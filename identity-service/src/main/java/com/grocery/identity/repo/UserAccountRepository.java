@@ -1,11 +1,19 @@
 package com.grocery.identity.repo;
 
 import com.grocery.identity.domain.UserAccount;
+import com.grocery.identity.dto.UserContactResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserAccountRepository extends JpaRepository<UserAccount, Long> {
     Optional<UserAccount> findByEmail(String email);
     Optional<UserAccount> findByEmailIgnoreCase(String email);
+
+    @Query("select new com.grocery.identity.dto.UserContactResponse(u.email, u.name, u.phone) from UserAccount u where lower(u.email) in :emails")
+    List<UserContactResponse> findContactsByLowerEmailIn(@Param("emails") Collection<String> emails);
 }
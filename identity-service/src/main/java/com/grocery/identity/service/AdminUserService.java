@@ -5,16 +5,21 @@ import com.grocery.identity.domain.UserAccount;
 import com.grocery.identity.dto.AdminCreateUserRequest;
 import com.grocery.identity.dto.AdminUpdateUserRequest;
 import com.grocery.identity.dto.AdminUserResponse;
+import com.grocery.identity.dto.UserContactResponse;
 import com.grocery.identity.repo.UserAccountRepository;
 import com.grocery.identity.repo.UserAddressRepository;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Service
 public class AdminUserService {
+    private static final int CONTACT_LOOKUP_CHUNK = 500;
+
     private final UserAccountRepository userAccountRepository;
     private final UserAddressRepository userAddressRepository;
     private final PasswordEncoder passwordEncoder;
@@ -42,6 +47,21 @@ public class AdminUserService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public List<UserContactResponse> findContactsByEmail(Collection<String> emails) {
+        List<String> normalized = emails == null ? List.of() : emails.stream()
+                .map(this::normalizeEmail)
+                .filter(email -> !email.isEmpty())
+                .distinct()
+                .toList();
+        List<UserContactResponse> contacts = new ArrayList<>(normalized.size());
+        for (int from = 0; from < normalized.size(); from += CONTACT_LOOKUP_CHUNK) {
+            var chunk = normalized.subList(from, Math.min(from + CONTACT_LOOKUP_CHUNK, normalized.size()));
+            contacts.addAll(userAccountRepository.findContactsByLowerEmailIn(chunk));
+        }
+        return contacts;
+    }
+
     @Transactional
     public void deleteUser(Long id, String authenticatedEmail) {
         var user = userAccountRepository.findById(id)
@@ -1,7 +1,9 @@
 package com.grocery.identity.service;
 
+import com.grocery.common.mail.MailDispatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -11,40 +13,53 @@ import org.springframework.stereotype.Service;
 public class VerificationEmailService {
     private static final Logger log = LoggerFactory.getLogger(VerificationEmailService.class);
 
+    private final MailDispatcher mailDispatcher;
     private final JavaMailSender mailSender;
     private final String from;
 
-    public VerificationEmailService(JavaMailSender mailSender,
+    public VerificationEmailService(ObjectProvider<MailDispatcher> mailDispatcher,
+                                    ObjectProvider<JavaMailSender> mailSender,
                                     @Value("${app.mail.from:no-reply@grocery.local}") String from) {
-        this.mailSender = mailSender;
+        this.mailDispatcher = mailDispatcher.getIfAvailable();
+        this.mailSender = mailSender.getIfAvailable();
         this.from = from;
     }
 
     public void sendVerificationCode(String toEmail, String code) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(from);
-            message.setTo(toEmail);
-            message.setSubject("Grocery Shop - Email verification code");
-            message.setText("Your verification code is: " + code + "\nThis code expires in 15 minutes.");
-            mailSender.send(message);
-            log.info("Verification email sent successfully to {} from {}", toEmail, from);
-        } catch (Exception ex) {
-            log.warn("Failed to send verification email to {}: {}", toEmail, ex.getMessage());
-        }
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(toEmail);
+        message.setSubject("Grocery Shop - Email verification code");
+        message.setText("Your verification code is: " + code + "\nThis code expires in 15 minutes.");
+        deliver(message, "Verification");
     }
 
     public void sendPasswordResetCode(String toEmail, String code) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(toEmail);
+        message.setSubject("Grocery Shop - Password reset code");
+        message.setText("Your password reset code is: " + code + "\nThis code expires in 15 minutes.");
+        deliver(message, "Password reset");
+    }
+
+    private void deliver(SimpleMailMessage message, String kind) {
+        String toEmail = message.getTo()[0];
+        if (mailDispatcher != null) {
+            if (mailDispatcher.submit(message)) {
+                log.info("{} email queued for {} from {}", kind, toEmail, from);
+            }
+            return;
+        }
+        if (mailSender == null) {
+            log.warn("No mail sender configured, {} email to {} not sent", kind.toLowerCase(), toEmail);
+            return;
+        }
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(from);
-            message.setTo(toEmail);
-            message.setSubject("Grocery Shop - Password reset code");
-            message.setText("Your password reset code is: " + code + "\nThis code expires in 15 minutes.");
             mailSender.send(message);
-            log.info("Password reset email sent successfully to {} from {}", toEmail, from);
+            log.info("{} email sent successfully to {} from {}", kind, toEmail, from);
         } catch (Exception ex) {
-            log.warn("Failed to send password reset email to {}: {}", toEmail, ex.getMessage());
+            log.warn("Failed to send {} email to {}: {}", kind.toLowerCase(), toEmail, ex.getMessage());
         }
     }
 }
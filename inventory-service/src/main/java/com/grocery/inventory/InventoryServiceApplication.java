@@ -5,8 +5,10 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = {"com.grocery.inventory", "com.grocery.common"})
+@EnableScheduling
 public class InventoryServiceApplication {
     public static void main(String[] args) { SpringApplication.run(InventoryServiceApplication.class, args); }
 
@@ -1,47 +1,106 @@
 package com.grocery.inventory.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grocery.inventory.dto.CartReservationDelta;
 import com.grocery.inventory.dto.CartReservationRequest;
+import com.grocery.inventory.dto.CartReservationResult;
 import com.grocery.inventory.dto.InventoryAdjustmentRequest;
+import com.grocery.inventory.dto.InventoryItemResponse;
 import com.grocery.inventory.dto.InventoryUpsertRequest;
+import com.grocery.inventory.dto.InventoryUpsertResult;
+import com.grocery.inventory.dto.KeysetPage;
+import com.grocery.inventory.dto.LowStockItemResponse;
 import com.grocery.inventory.dto.ReserveRequest;
-import com.grocery.inventory.repo.InventoryRepository;
+import com.grocery.inventory.service.IdempotencyStore;
 import com.grocery.inventory.service.InventoryReservationService;
+import com.grocery.inventory.service.StockChangeStream;
+import com.grocery.inventory.service.StockLedger;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/inventory")
 public class InventoryController {
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final InventoryReservationService inventoryReservationService;
-    private final InventoryRepository inventoryRepository;
+    private final IdempotencyStore idempotencyStore;
+    private final StockChangeStream stockChangeStream;
+    private final StockLedger stockLedger;
+    private final ObjectMapper objectMapper;
 
-    public InventoryController(InventoryReservationService inventoryReservationService, InventoryRepository inventoryRepository) {
+    public InventoryController(InventoryReservationService inventoryReservationService,
+                               IdempotencyStore idempotencyStore,
+                               StockChangeStream stockChangeStream,
+                               StockLedger stockLedger,
+                               ObjectMapper objectMapper) {
         this.inventoryReservationService = inventoryReservationService;
-        this.inventoryRepository = inventoryRepository;
+        this.idempotencyStore = idempotencyStore;
+        this.stockChangeStream = stockChangeStream;
+        this.stockLedger = stockLedger;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/reserve")
     public String reserve(@Valid @RequestBody ReserveRequest request,
-                          @RequestParam(name = "holdMinutes", defaultValue = "15") int holdMinutes) {
-        return inventoryReservationService.reserve(request, holdMinutes);
+                          @RequestParam(name = "holdMinutes", defaultValue = "15") int holdMinutes,
+                          @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return idempotencyStore.execute("reserve", idempotencyKey, request + "/" + holdMinutes,
+                () -> inventoryReservationService.reserve(request, holdMinutes));
     }
 
     @PostMapping("/commit/{orderRef}")
-    public void commit(@PathVariable("orderRef") String orderRef) {
-        inventoryReservationService.commit(orderRef);
+    public void commit(@PathVariable("orderRef") String orderRef,
+                       @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        idempotencyStore.execute("commit", idempotencyKey, orderRef, () -> {
+            stockLedger.flushAdmitted();
+            inventoryReservationService.commit(orderRef);
+            return null;
+        });
     }
 
     @PostMapping("/release/{orderRef}")
-    public void release(@PathVariable("orderRef") String orderRef) {
-        inventoryReservationService.release(orderRef);
+    public void release(@PathVariable("orderRef") String orderRef,
+                        @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        idempotencyStore.execute("release", idempotencyKey, orderRef, () -> {
+            stockLedger.flushAdmitted();
+            inventoryReservationService.release(orderRef);
+            return null;
+        });
     }
 
     @GetMapping("/items")
-    public Object list() {
-        return inventoryRepository.findAll();
+    public ResponseEntity<StreamingResponseBody> list() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartArray();
+                inventoryReservationService.exportItems(item -> {
+                    try {
+                        json.writeObject(item);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                json.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping("/items/page")
+    public KeysetPage<InventoryItemResponse> listPage(@RequestParam(name = "after", required = false) String afterSku,
+                                                      @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        return inventoryReservationService.listPage(afterSku, limit);
     }
 
     @GetMapping("/availability")
@@ -49,6 +108,16 @@ public class InventoryController {
         return inventoryReservationService.availability(skus);
     }
 
+    @PostMapping("/availability")
+    public Map<String, Integer> availabilityBulk(@RequestBody List<String> skus) {
+        return inventoryReservationService.availability(skus);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(name = "sku", required = false) List<String> skus) {
+        return stockChangeStream.subscribe(skus);
+    }
+
     @PostMapping("/cart/reserve")
     public void reserveForCart(@Valid @RequestBody CartReservationRequest request) {
         inventoryReservationService.reserveForCart(request);
@@ -59,23 +128,43 @@ public class InventoryController {
         inventoryReservationService.releaseForCart(request);
     }
 
+    @PostMapping("/cart/batch")
+    public List<CartReservationResult> applyCartDeltas(@Valid @RequestBody List<CartReservationDelta> deltas) {
+        return inventoryReservationService.applyCartDeltas(deltas);
+    }
+
     @GetMapping("/admin/low-stock")
     public Object lowStock() {
         return inventoryReservationService.lowStock();
     }
 
+    @GetMapping("/admin/low-stock/page")
+    public KeysetPage<LowStockItemResponse> lowStockPage(@RequestParam(name = "after", required = false) String afterSku,
+                                                         @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        return inventoryReservationService.lowStockPage(afterSku, limit);
+    }
+
     @PostMapping("/admin/adjust")
     public Object adjust(@Valid @RequestBody InventoryAdjustmentRequest request) {
+        stockLedger.flushAdmitted();
         return inventoryReservationService.adjustInventory(request);
     }
 
     @PostMapping("/admin/upsert")
     public Object upsert(@Valid @RequestBody InventoryUpsertRequest request) {
+        stockLedger.flushAdmitted();
         return inventoryReservationService.upsertInventory(request);
     }
 
+    @PostMapping("/admin/upsert/batch")
+    public List<InventoryUpsertResult> upsertBatch(@Valid @RequestBody List<InventoryUpsertRequest> requests) {
+        stockLedger.flushAdmitted();
+        return inventoryReservationService.upsertInventoryBatch(requests);
+    }
+
     @DeleteMapping("/admin/items/{id}")
     public void delete(@PathVariable("id") Long id) {
+        stockLedger.flushAdmitted();
         inventoryReservationService.deleteInventoryItem(id);
     }
 }
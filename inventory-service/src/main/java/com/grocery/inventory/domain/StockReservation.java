@@ -5,7 +5,10 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "stock_reservations", indexes = @Index(name = "idx_reservation_order", columnList = "orderRef"))
+@Table(name = "stock_reservations", indexes = {
+        @Index(name = "idx_reservation_order", columnList = "orderRef"),
+        @Index(name = "idx_reservation_status_expires", columnList = "status, expiresAt")
+})
 public class StockReservation {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
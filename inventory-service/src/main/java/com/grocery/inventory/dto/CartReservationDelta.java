@@ -0,0 +1,10 @@
+package com.grocery.inventory.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record CartReservationDelta(
+        @NotBlank String userEmail,
+        @NotBlank String sku,
+        int delta
+) {
+}
@@ -0,0 +1,10 @@
+package com.grocery.inventory.dto;
+
+public record CartReservationResult(
+        String userEmail,
+        String sku,
+        int delta,
+        boolean applied,
+        String errorCode
+) {
+}
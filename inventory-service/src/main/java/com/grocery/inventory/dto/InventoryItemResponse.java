@@ -0,0 +1,12 @@
+package com.grocery.inventory.dto;
+
+public record InventoryItemResponse(
+        Long id,
+        String sku,
+        String productName,
+        int totalQty,
+        int reservedQty,
+        int availableQty,
+        int reorderThreshold
+) {
+}
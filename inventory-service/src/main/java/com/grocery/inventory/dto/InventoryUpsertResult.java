@@ -0,0 +1,9 @@
+package com.grocery.inventory.dto;
+
+public record InventoryUpsertResult(
+        String sku,
+        boolean applied,
+        String errorCode,
+        String message
+) {
+}
@@ -0,0 +1,6 @@
+package com.grocery.inventory.dto;
+
+import java.util.List;
+
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+}
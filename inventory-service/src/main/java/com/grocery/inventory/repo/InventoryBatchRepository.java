@@ -0,0 +1,54 @@
+package com.grocery.inventory.repo;
+
+import com.grocery.inventory.domain.StockReservation;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class InventoryBatchRepository {
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public InventoryBatchRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    public void addReserved(Map<String, Integer> reservedDeltaBySku) {
+        if (reservedDeltaBySku.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = reservedDeltaBySku.entrySet().stream()
+                .map(e -> new Object[]{e.getValue(), e.getKey()})
+                .toList();
+        jdbcTemplate.batchUpdate("UPDATE inventory SET reserved_qty = reserved_qty + ? WHERE sku = ?", args);
+    }
+
+    public List<Long> insertReservations(List<StockReservation> reservations) {
+        if (reservations.isEmpty()) {
+            return List.of();
+        }
+        SqlParameterSource[] batch = reservations.stream()
+                .map(r -> new MapSqlParameterSource()
+                        .addValue("orderRef", r.getOrderRef())
+                        .addValue("sku", r.getSku())
+                        .addValue("quantity", r.getQuantity())
+                        .addValue("expiresAt", Timestamp.from(r.getExpiresAt()))
+                        .addValue("status", r.getStatus()))
+                .toArray(SqlParameterSource[]::new);
+        KeyHolder keys = new GeneratedKeyHolder();
+        namedJdbcTemplate.batchUpdate(
+                "INSERT INTO stock_reservations(order_ref, sku, quantity, expires_at, status) VALUES (:orderRef, :sku, :quantity, :expiresAt, :status)",
+                batch, keys, new String[]{"id"});
+        return keys.getKeyList().stream().map(k -> ((Number) k.get("id")).longValue()).toList();
+    }
+}
@@ -1,18 +1,60 @@
 package com.grocery.inventory.repo;
 
 import com.grocery.inventory.domain.InventoryItem;
+import com.grocery.inventory.dto.InventoryItemResponse;
+import com.grocery.inventory.dto.LowStockItemResponse;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface InventoryRepository extends JpaRepository<InventoryItem, Long> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select i from InventoryItem i where i.sku = :sku")
     Optional<InventoryItem> lockBySku(@Param("sku") String sku);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from InventoryItem i where i.sku in :skus order by i.sku")
+    List<InventoryItem> lockBySkuIn(@Param("skus") Collection<String> skus);
+
+    @Query(value = "select * from inventory where sku in (:skus) order by sku for update skip locked", nativeQuery = true)
+    List<InventoryItem> lockBySkuInSkipLocked(@Param("skus") Collection<String> skus);
+
     Optional<InventoryItem> findBySku(String sku);
+
+    List<InventoryItem> findBySkuIn(Collection<String> skus);
+
+    @Query("""
+            select new com.grocery.inventory.dto.InventoryItemResponse(
+                i.id, i.sku, i.productName, i.totalQty, i.reservedQty, i.totalQty - i.reservedQty, i.reorderThreshold)
+            from InventoryItem i where i.sku > :afterSku order by i.sku
+            """)
+    List<InventoryItemResponse> findPageAfter(@Param("afterSku") String afterSku, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.grocery.inventory.dto.InventoryItemResponse(
+                i.id, i.sku, i.productName, i.totalQty, i.reservedQty, i.totalQty - i.reservedQty, i.reorderThreshold)
+            from InventoryItem i order by i.sku
+            """)
+    Stream<InventoryItemResponse> streamAll();
+
+    @Query("""
+            select new com.grocery.inventory.dto.LowStockItemResponse(
+                i.sku, i.productName, i.totalQty - i.reservedQty, i.reorderThreshold)
+            from InventoryItem i
+            where i.totalQty - i.reservedQty <= i.reorderThreshold and i.sku > :afterSku
+            order by i.sku
+            """)
+    List<LowStockItemResponse> findLowStockAfter(@Param("afterSku") String afterSku, Pageable pageable);
 }
@@ -1,14 +1,45 @@
 package com.grocery.inventory.repo;
 
 import com.grocery.inventory.domain.StockReservation;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.LockModeType;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
-    List<StockReservation> findByOrderRefAndStatus(String orderRef, String status);
-    List<StockReservation> findByStatusAndExpiresAtBefore(String status, Instant now);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from StockReservation r where r.orderRef = :orderRef and r.status = :status")
+    List<StockReservation> lockByOrderRefAndStatus(@Param("orderRef") String orderRef, @Param("status") String status);
+
+    @Query("select new com.grocery.inventory.repo.StockReservationRepository$ExpiryCandidate(r.id, r.sku) from StockReservation r where r.status in :statuses and r.expiresAt < :now order by r.expiresAt")
+    List<ExpiryCandidate> findExpiryCandidates(@Param("statuses") Collection<String> statuses, @Param("now") Instant now, Pageable pageable);
+
+    @Query("select new com.grocery.inventory.repo.StockReservationRepository$ExpiryCandidate(r.id, r.sku) from StockReservation r where r.id in :ids and r.status in :statuses and r.expiresAt <= :now")
+    List<ExpiryCandidate> findExpiryCandidatesByIds(@Param("ids") Collection<Long> ids, @Param("statuses") Collection<String> statuses, @Param("now") Instant now);
+
+    @Query(value = """
+            select * from stock_reservations
+            where id in (:ids) and status in (:statuses) and expires_at <= :now
+            order by id
+            for update skip locked
+            """, nativeQuery = true)
+    List<StockReservation> lockExpiredByIds(@Param("ids") Collection<Long> ids, @Param("statuses") Collection<String> statuses, @Param("now") Instant now);
+
+    @Query("select new com.grocery.inventory.repo.StockReservationRepository$ReservationDeadline(r.id, r.expiresAt) from StockReservation r where r.status in :statuses")
+    List<ReservationDeadline> findDeadlinesByStatusIn(@Param("statuses") Collection<String> statuses);
+
     Optional<StockReservation> findByOrderRefAndSkuAndStatus(String orderRef, String sku, String status);
+
+    record ReservationDeadline(Long id, Instant expiresAt) {
+    }
+
+    record ExpiryCandidate(Long id, String sku) {
+    }
 }
@@ -0,0 +1,90 @@
+package com.grocery.inventory.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Component
+public class AvailabilityCache {
+    private static final int VERSION_STRIPES = 256;
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    public AvailabilityCache(@Value("${app.inventory.availability-cache.enabled:true}") boolean enabled,
+                             @Value("${app.inventory.availability-cache.ttl-ms:2000}") long ttlMs,
+                             @Value("${app.inventory.availability-cache.max-entries:50000}") int maxEntries) {
+        this.enabled = enabled;
+        this.ttlNanos = ttlMs * 1_000_000L;
+        this.maxEntries = maxEntries;
+    }
+
+    public List<String> getAll(Collection<String> skus, Map<String, Integer> hits) {
+        if (!enabled) {
+            return new ArrayList<>(skus);
+        }
+        long now = System.nanoTime();
+        List<String> misses = new ArrayList<>();
+        for (String sku : skus) {
+            Entry entry = entries.get(sku);
+            if (entry != null && now - entry.loadedAt() < ttlNanos) {
+                hits.put(sku, entry.available());
+            } else {
+                misses.add(sku);
+            }
+        }
+        return misses;
+    }
+
+    public Map<String, Long> versions(Collection<String> skus) {
+        Map<String, Long> snapshot = new HashMap<>();
+        for (String sku : skus) {
+            snapshot.put(sku, versions.get(stripe(sku)));
+        }
+        return snapshot;
+    }
+
+    public void putAll(Map<String, Integer> availableBySku, Map<String, Long> versionsAtLoad) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (entries.size() + availableBySku.size() > maxEntries) {
+            entries.values().removeIf(e -> now - e.loadedAt() >= ttlNanos);
+        }
+        availableBySku.forEach((sku, available) -> {
+            if (entries.size() < maxEntries && versionsAtLoad.get(sku) == versions.get(stripe(sku))) {
+                entries.put(sku, new Entry(available, now));
+            }
+        });
+    }
+
+    public void invalidate(String sku) {
+        versions.incrementAndGet(stripe(sku));
+        entries.remove(sku);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        event.skus().forEach(this::invalidate);
+    }
+
+    private static int stripe(String sku) {
+        int h = sku.hashCode();
+        return (h ^ (h >>> 16)) & (VERSION_STRIPES - 1);
+    }
+
+    private record Entry(int available, long loadedAt) {
+    }
+}
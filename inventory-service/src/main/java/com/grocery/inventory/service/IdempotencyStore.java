@@ -0,0 +1,118 @@
+package com.grocery.inventory.service;
+
+import com.grocery.common.api.DomainException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-evicted record of recent request outcomes keyed by the caller's idempotency key.
+ * A replay returns the original result (or rethrows the original domain error); a replay that
+ * arrives while the first attempt is still running waits for it instead of executing twice.
+ * Unexpected failures are not remembered, so the caller can retry them. Only a SHA-256 digest of the
+ * request fingerprint is kept per key, so memory per entry does not grow with the request body.
+ */
+@Component
+public class IdempotencyStore {
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotencyStore(@Value("${app.inventory.idempotency.enabled:true}") boolean enabled,
+                            @Value("${app.inventory.idempotency.ttl-ms:86400000}") long ttlMs,
+                            @Value("${app.inventory.idempotency.max-entries:100000}") int maxEntries) {
+        this.enabled = enabled;
+        this.ttlNanos = ttlMs * 1_000_000L;
+        this.maxEntries = maxEntries;
+    }
+
+    public <T> T execute(String operation, String key, String fingerprint, Supplier<T> action) {
+        if (!enabled || key == null || key.isBlank()) {
+            return action.get();
+        }
+        String scopedKey = operation + ":" + key;
+        byte[] digest = digest(fingerprint);
+        CompletableFuture<Object> outcome = new CompletableFuture<>();
+        Entry existing;
+        synchronized (entries) {
+            long now = System.nanoTime();
+            evict(now);
+            existing = entries.get(scopedKey);
+            if (existing == null) {
+                entries.put(scopedKey, new Entry(digest, outcome, now));
+            }
+        }
+        if (existing != null) {
+            if (!MessageDigest.isEqual(existing.digest(), digest)) {
+                throw new DomainException("IDEMPOTENCY_KEY_REUSED", "Idempotency key " + key + " was used for a different request");
+            }
+            return replay(existing.outcome());
+        }
+        try {
+            T result = action.get();
+            outcome.complete(result);
+            return result;
+        } catch (DomainException ex) {
+            outcome.completeExceptionally(ex);
+            throw ex;
+        } catch (Throwable ex) {
+            synchronized (entries) {
+                entries.remove(scopedKey);
+            }
+            outcome.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T replay(CompletableFuture<Object> outcome) {
+        try {
+            return (T) outcome.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    // Oldest first; in-flight entries are skipped rather than ending the scan, so the map only exceeds
+    // maxEntries by the number of requests still running.
+    private void evict(long now) {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next().getValue();
+            boolean expired = now - entry.createdAt() >= ttlNanos;
+            if (entries.size() < maxEntries && !expired) {
+                break;
+            }
+            if (entry.outcome().isDone()) {
+                it.remove();
+            }
+        }
+    }
+
+    private static byte[] digest(String fingerprint) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(fingerprint.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private record Entry(byte[] digest, CompletableFuture<Object> outcome, long createdAt) {
+    }
+}
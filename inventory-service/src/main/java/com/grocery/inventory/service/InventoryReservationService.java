@@ -3,165 +3,346 @@ package com.grocery.inventory.service;
 import com.grocery.common.api.DomainException;
 import com.grocery.inventory.domain.InventoryItem;
 import com.grocery.inventory.domain.StockReservation;
+import com.grocery.inventory.dto.CartReservationDelta;
 import com.grocery.inventory.dto.CartReservationRequest;
+import com.grocery.inventory.dto.CartReservationResult;
 import com.grocery.inventory.dto.InventoryAdjustmentRequest;
+import com.grocery.inventory.dto.InventoryItemResponse;
 import com.grocery.inventory.dto.InventoryUpsertRequest;
+import com.grocery.inventory.dto.InventoryUpsertResult;
+import com.grocery.inventory.dto.KeysetPage;
 import com.grocery.inventory.dto.LowStockItemResponse;
 import com.grocery.inventory.dto.ReservationItem;
 import com.grocery.inventory.dto.ReserveRequest;
+import com.grocery.inventory.repo.InventoryBatchRepository;
 import com.grocery.inventory.repo.InventoryRepository;
 import com.grocery.inventory.repo.StockReservationRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class InventoryReservationService {
+    static final List<String> EXPIRABLE_STATUSES = List.of("RESERVED", "CART_RESERVED");
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final InventoryRepository inventoryRepository;
     private final StockReservationRepository reservationRepository;
+    private final InventoryBatchRepository batchRepository;
+    private final StockLedger stockLedger;
+    private final ReservationExpiryIndex expiryIndex;
+    private final AvailabilityCache availabilityCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public InventoryReservationService(InventoryRepository inventoryRepository, StockReservationRepository reservationRepository) {
+    public InventoryReservationService(InventoryRepository inventoryRepository,
+                                       StockReservationRepository reservationRepository,
+                                       InventoryBatchRepository batchRepository,
+                                       StockLedger stockLedger,
+                                       ReservationExpiryIndex expiryIndex,
+                                       AvailabilityCache availabilityCache,
+                                       ApplicationEventPublisher eventPublisher) {
         this.inventoryRepository = inventoryRepository;
         this.reservationRepository = reservationRepository;
+        this.batchRepository = batchRepository;
+        this.stockLedger = stockLedger;
+        this.expiryIndex = expiryIndex;
+        this.availabilityCache = availabilityCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public String reserve(ReserveRequest request, int holdMinutes) {
-        releaseExpired();
         Instant expiresAt = Instant.now().plusSeconds(holdMinutes * 60L);
+        // StockLedger publishes the change once the write-behind flush has committed.
+        if (stockLedger.isEnabled() && stockLedger.tryReserve(request.orderRef(), request.items(), expiresAt)) {
+            return "RESERVED";
+        }
+        Map<String, Integer> qtyBySku = new TreeMap<>();
+        List<StockReservation> reservations = new ArrayList<>();
         for (ReservationItem item : request.items()) {
-            InventoryItem inv = inventoryRepository.lockBySku(item.sku())
-                    .orElseThrow(() -> new DomainException("INV_NOT_FOUND", "No inventory for SKU " + item.sku()));
-            if (inv.getAvailableQty() < item.quantity()) {
-                throw new DomainException("INSUFFICIENT_STOCK", "Not enough stock for " + item.sku());
-            }
-            inv.setReservedQty(inv.getReservedQty() + item.quantity());
-            inventoryRepository.save(inv);
-
+            qtyBySku.merge(item.sku(), item.quantity(), Integer::sum);
             StockReservation reservation = new StockReservation();
             reservation.setOrderRef(request.orderRef());
             reservation.setSku(item.sku());
             reservation.setQuantity(item.quantity());
             reservation.setStatus("RESERVED");
             reservation.setExpiresAt(expiresAt);
-            reservationRepository.save(reservation);
+            reservations.add(reservation);
         }
+
+        Map<String, InventoryItem> locked = lockAll(qtyBySku.keySet());
+        qtyBySku.forEach((sku, qty) -> {
+            if (locked.get(sku).getAvailableQty() < qty) {
+                throw new DomainException("INSUFFICIENT_STOCK", "Not enough stock for " + sku);
+            }
+        });
+        batchRepository.addReserved(qtyBySku);
+        qtyBySku.forEach((sku, qty) -> stockLedger.onCommit(sku, 0, qty));
+        List<Long> ids = batchRepository.insertReservations(reservations);
+        for (Long id : ids) {
+            expiryIndex.schedule(id, expiresAt);
+        }
+        stockChanged(qtyBySku.keySet());
         return "RESERVED";
     }
 
+    /**
+     * Reads the order's reservations from the database, so with the ledger enabled the caller must
+     * {@link StockLedger#flushAdmitted()} first, outside this transaction. The same holds for release and
+     * the admin stock changes, which compare against the reserved total.
+     */
     @Transactional
     public void commit(String orderRef) {
-        var reservations = reservationRepository.findByOrderRefAndStatus(orderRef, "RESERVED");
+        var reservations = reservationRepository.lockByOrderRefAndStatus(orderRef, "RESERVED");
+        Map<String, InventoryItem> locked = lockAll(reservations.stream().map(StockReservation::getSku).toList());
         for (StockReservation reservation : reservations) {
-            InventoryItem inv = inventoryRepository.lockBySku(reservation.getSku())
-                    .orElseThrow(() -> new DomainException("INV_NOT_FOUND", "No inventory for SKU " + reservation.getSku()));
+            InventoryItem inv = locked.get(reservation.getSku());
             inv.setReservedQty(inv.getReservedQty() - reservation.getQuantity());
             inv.setTotalQty(inv.getTotalQty() - reservation.getQuantity());
             inventoryRepository.save(inv);
+            stockLedger.onCommit(reservation.getSku(), -reservation.getQuantity(), -reservation.getQuantity());
             reservation.setStatus("COMMITTED");
             reservationRepository.save(reservation);
+            expiryIndex.cancel(reservation.getId());
         }
+        stockChanged(locked.keySet());
     }
 
     @Transactional
     public void release(String orderRef) {
-        var reservations = reservationRepository.findByOrderRefAndStatus(orderRef, "RESERVED");
+        var reservations = reservationRepository.lockByOrderRefAndStatus(orderRef, "RESERVED");
+        Map<String, InventoryItem> locked = lockAll(reservations.stream().map(StockReservation::getSku).toList());
         for (StockReservation reservation : reservations) {
-            InventoryItem inv = inventoryRepository.lockBySku(reservation.getSku())
-                    .orElseThrow(() -> new DomainException("INV_NOT_FOUND", "No inventory for SKU " + reservation.getSku()));
+            InventoryItem inv = locked.get(reservation.getSku());
             inv.setReservedQty(inv.getReservedQty() - reservation.getQuantity());
             inventoryRepository.save(inv);
+            stockLedger.onCommit(reservation.getSku(), 0, -reservation.getQuantity());
             reservation.setStatus("RELEASED");
             reservationRepository.save(reservation);
+            expiryIndex.cancel(reservation.getId());
         }
+        stockChanged(locked.keySet());
     }
 
     @Transactional
-    public int releaseExpired() {
-        int released = 0;
-        var expired = reservationRepository.findByStatusAndExpiresAtBefore("RESERVED", Instant.now());
-        for (StockReservation reservation : expired) {
-            InventoryItem inv = inventoryRepository.lockBySku(reservation.getSku()).orElse(null);
-            if (inv != null) {
-                inv.setReservedQty(Math.max(0, inv.getReservedQty() - reservation.getQuantity()));
-                inventoryRepository.save(inv);
+    public int releaseExpiredBatch(int limit) {
+        Instant now = Instant.now();
+        return expire(reservationRepository.findExpiryCandidates(EXPIRABLE_STATUSES, now, PageRequest.of(0, limit)), now).size();
+    }
+
+    @Transactional
+    public int expireReservations(Collection<Long> reservationIds) {
+        if (reservationIds.isEmpty()) {
+            return 0;
+        }
+        Instant now = Instant.now();
+        var candidates = reservationRepository.findExpiryCandidatesByIds(reservationIds, EXPIRABLE_STATUSES, now);
+        Set<Long> expired = expire(candidates, now);
+        for (var candidate : candidates) {
+            if (!expired.contains(candidate.id())) {
+                expiryIndex.schedule(candidate.id(), now);
             }
-            reservation.setStatus("EXPIRED");
-            reservationRepository.save(reservation);
-            released++;
         }
-        return released;
+        return expired.size();
+    }
+
+    /**
+     * Expires the given candidates, taking locks in the same order as reservations and cart holds: inventory rows
+     * first, by SKU, then reservation rows. Both are taken with SKIP LOCKED, so SKUs or reservations busy with
+     * another transaction are skipped and picked up by a later tick instead of waiting on each other.
+     */
+    private Set<Long> expire(List<StockReservationRepository.ExpiryCandidate> candidates, Instant now) {
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        Map<String, InventoryItem> locked = new HashMap<>();
+        for (InventoryItem inv : inventoryRepository.lockBySkuInSkipLocked(
+                new TreeSet<>(candidates.stream().map(StockReservationRepository.ExpiryCandidate::sku).toList()))) {
+            locked.put(inv.getSku(), inv);
+        }
+        List<Long> lockable = candidates.stream()
+                .filter(c -> locked.containsKey(c.sku()))
+                .map(StockReservationRepository.ExpiryCandidate::id)
+                .toList();
+        if (lockable.isEmpty()) {
+            return Set.of();
+        }
+        List<StockReservation> expired = reservationRepository.lockExpiredByIds(lockable, EXPIRABLE_STATUSES, now);
+        Map<String, Integer> qtyBySku = new TreeMap<>();
+        Set<Long> expiredIds = new HashSet<>();
+        for (StockReservation reservation : expired) {
+            qtyBySku.merge(reservation.getSku(), reservation.getQuantity(), Integer::sum);
+            reservation.setStatus("CART_RESERVED".equals(reservation.getStatus()) ? "CART_EXPIRED" : "EXPIRED");
+            expiryIndex.cancel(reservation.getId());
+            expiredIds.add(reservation.getId());
+        }
+        qtyBySku.forEach((sku, qty) -> {
+            InventoryItem inv = locked.get(sku);
+            int reservedBefore = inv.getReservedQty();
+            inv.setReservedQty(Math.max(0, reservedBefore - qty));
+            stockLedger.onCommit(sku, 0, inv.getReservedQty() - reservedBefore);
+        });
+        stockChanged(qtyBySku.keySet());
+        return expiredIds;
     }
 
     @Transactional
     public void reserveForCart(CartReservationRequest request) {
         InventoryItem inv = inventoryRepository.lockBySku(request.sku())
                 .orElseThrow(() -> new DomainException("INV_NOT_FOUND", "No inventory for SKU " + request.sku()));
-        if (inv.getAvailableQty() < request.quantity()) {
-            throw new DomainException("INSUFFICIENT_STOCK", "Not enough stock for " + request.sku());
+        holdForCart(inv, request.userEmail(), request.quantity());
+        stockChanged(List.of(request.sku()));
+    }
+
+    @Transactional
+    public void releaseForCart(CartReservationRequest request) {
+        InventoryItem inv = inventoryRepository.lockBySku(request.sku())
+                .orElseThrow(() -> new DomainException("INV_NOT_FOUND", "No inventory for SKU " + request.sku()));
+        if (releaseCartHold(inv, request.userEmail(), request.quantity())) {
+            stockChanged(List.of(request.sku()));
+        }
+    }
+
+    @Transactional
+    public List<CartReservationResult> applyCartDeltas(List<CartReservationDelta> deltas) {
+        Map<String, InventoryItem> locked = new HashMap<>();
+        Set<String> skus = new TreeSet<>();
+        deltas.forEach(d -> skus.add(d.sku()));
+        if (!skus.isEmpty()) {
+            for (InventoryItem inv : inventoryRepository.lockBySkuIn(skus)) {
+                locked.put(inv.getSku(), inv);
+            }
+        }
+        List<CartReservationResult> results = new ArrayList<>();
+        Set<String> changed = new TreeSet<>();
+        for (CartReservationDelta d : deltas) {
+            InventoryItem inv = locked.get(d.sku());
+            if (inv == null) {
+                results.add(new CartReservationResult(d.userEmail(), d.sku(), d.delta(), false, "INV_NOT_FOUND"));
+                continue;
+            }
+            try {
+                if (d.delta() > 0) {
+                    holdForCart(inv, d.userEmail(), d.delta());
+                    changed.add(d.sku());
+                } else if (d.delta() < 0 && releaseCartHold(inv, d.userEmail(), -d.delta())) {
+                    changed.add(d.sku());
+                }
+                results.add(new CartReservationResult(d.userEmail(), d.sku(), d.delta(), true, null));
+            } catch (DomainException ex) {
+                results.add(new CartReservationResult(d.userEmail(), d.sku(), d.delta(), false, ex.getCode()));
+            }
+        }
+        stockChanged(changed);
+        return results;
+    }
+
+    private void holdForCart(InventoryItem inv, String userEmail, int qty) {
+        if (inv.getAvailableQty() < qty) {
+            throw new DomainException("INSUFFICIENT_STOCK", "Not enough stock for " + inv.getSku());
         }
-        inv.setReservedQty(inv.getReservedQty() + request.quantity());
+        stockLedger.hold(inv.getSku(), qty);
+        inv.setReservedQty(inv.getReservedQty() + qty);
         inventoryRepository.save(inv);
 
-        String cartRef = cartRef(request.userEmail());
+        String cartRef = cartRef(userEmail);
         StockReservation reservation = reservationRepository
-                .findByOrderRefAndSkuAndStatus(cartRef, request.sku(), "CART_RESERVED")
+                .findByOrderRefAndSkuAndStatus(cartRef, inv.getSku(), "CART_RESERVED")
                 .orElseGet(() -> {
                     StockReservation r = new StockReservation();
                     r.setOrderRef(cartRef);
-                    r.setSku(request.sku());
+                    r.setSku(inv.getSku());
                     r.setQuantity(0);
                     r.setStatus("CART_RESERVED");
                     r.setExpiresAt(Instant.now().plusSeconds(24 * 60 * 60L));
                     return r;
                 });
-        reservation.setQuantity(reservation.getQuantity() + request.quantity());
+        reservation.setQuantity(reservation.getQuantity() + qty);
         reservation.setExpiresAt(Instant.now().plusSeconds(24 * 60 * 60L));
         reservationRepository.save(reservation);
+        expiryIndex.schedule(reservation.getId(), reservation.getExpiresAt());
     }
 
-    @Transactional
-    public void releaseForCart(CartReservationRequest request) {
-        InventoryItem inv = inventoryRepository.lockBySku(request.sku())
-                .orElseThrow(() -> new DomainException("INV_NOT_FOUND", "No inventory for SKU " + request.sku()));
-
-        String cartRef = cartRef(request.userEmail());
+    private boolean releaseCartHold(InventoryItem inv, String userEmail, int qty) {
         StockReservation reservation = reservationRepository
-                .findByOrderRefAndSkuAndStatus(cartRef, request.sku(), "CART_RESERVED")
+                .findByOrderRefAndSkuAndStatus(cartRef(userEmail), inv.getSku(), "CART_RESERVED")
                 .orElse(null);
         if (reservation == null) {
-            return;
+            return false;
         }
 
-        int releaseQty = Math.min(request.quantity(), reservation.getQuantity());
+        int releaseQty = Math.min(qty, reservation.getQuantity());
         if (releaseQty <= 0) {
-            return;
+            return false;
         }
 
         inv.setReservedQty(Math.max(0, inv.getReservedQty() - releaseQty));
         inventoryRepository.save(inv);
+        stockLedger.onCommit(inv.getSku(), 0, -releaseQty);
 
         reservation.setQuantity(reservation.getQuantity() - releaseQty);
         if (reservation.getQuantity() <= 0) {
             reservation.setStatus("CART_RELEASED");
+            expiryIndex.cancel(reservation.getId());
         }
         reservationRepository.save(reservation);
+        return true;
     }
 
-    @Transactional(readOnly = true)
-    public Map<String, Integer> availability(List<String> skus) {
+    public Map<String, Integer> availability(Collection<String> skus) {
         Map<String, Integer> result = new HashMap<>();
-        for (String sku : skus) {
-            int available = inventoryRepository.findBySku(sku).map(InventoryItem::getAvailableQty).orElse(0);
-            result.put(sku, Math.max(0, available));
+        List<String> misses = availabilityCache.getAll(new TreeSet<>(skus), result);
+        if (misses.isEmpty()) {
+            return result;
+        }
+        Map<String, Long> versions = availabilityCache.versions(misses);
+        Map<String, Integer> loaded = new HashMap<>();
+        for (String sku : misses) {
+            loaded.put(sku, 0);
         }
+        for (InventoryItem inv : inventoryRepository.findBySkuIn(misses)) {
+            loaded.put(inv.getSku(), Math.max(0, inv.getAvailableQty()));
+        }
+        availabilityCache.putAll(loaded, versions);
+        result.putAll(loaded);
         return result;
     }
 
+    private Map<String, InventoryItem> lockAll(Collection<String> skus) {
+        Map<String, InventoryItem> locked = new HashMap<>();
+        if (skus.isEmpty()) {
+            return locked;
+        }
+        for (InventoryItem inv : inventoryRepository.lockBySkuIn(new TreeSet<>(skus))) {
+            locked.put(inv.getSku(), inv);
+        }
+        for (String sku : skus) {
+            if (!locked.containsKey(sku)) {
+                throw new DomainException("INV_NOT_FOUND", "No inventory for SKU " + sku);
+            }
+        }
+        return locked;
+    }
+
+    private void stockChanged(Collection<String> skus) {
+        eventPublisher.publishEvent(new StockChangedEvent(Set.copyOf(skus)));
+    }
+
     private String cartRef(String userEmail) {
         return "CART:" + userEmail;
     }
@@ -179,6 +360,8 @@ public class InventoryReservationService {
         if (request.reorderThreshold() != null && request.reorderThreshold() >= 0) {
             inv.setReorderThreshold(request.reorderThreshold());
         }
+        stockLedger.onCommit(inv.getSku(), request.quantityDelta(), 0);
+        stockChanged(List.of(inv.getSku()));
         return inventoryRepository.save(inv);
     }
 
@@ -200,6 +383,8 @@ public class InventoryReservationService {
             throw new DomainException("INVALID_ADJUSTMENT", "Total quantity cannot go below reserved quantity");
         }
         inv.setTotalQty(newQty);
+        stockLedger.onCommit(inv.getSku(), request.quantityDelta(), 0);
+        stockChanged(List.of(inv.getSku()));
 
         if (request.reorderThreshold() != null && request.reorderThreshold() >= 0) {
             inv.setReorderThreshold(request.reorderThreshold());
@@ -208,6 +393,50 @@ public class InventoryReservationService {
         return inventoryRepository.save(inv);
     }
 
+    /**
+     * Applies many admin upserts in one transaction: every SKU is locked once, in SKU order, and each row
+     * succeeds or fails on its own. Results are returned in request order.
+     */
+    @Transactional
+    public List<InventoryUpsertResult> upsertInventoryBatch(List<InventoryUpsertRequest> requests) {
+        Map<String, InventoryItem> items = new HashMap<>();
+        Set<String> skus = new TreeSet<>();
+        requests.forEach(r -> skus.add(r.sku()));
+        if (!skus.isEmpty()) {
+            for (InventoryItem inv : inventoryRepository.lockBySkuIn(skus)) {
+                items.put(inv.getSku(), inv);
+            }
+        }
+        List<InventoryUpsertResult> results = new ArrayList<>(requests.size());
+        Set<String> changed = new TreeSet<>();
+        for (InventoryUpsertRequest request : requests) {
+            InventoryItem inv = items.computeIfAbsent(request.sku(), sku -> {
+                InventoryItem created = new InventoryItem();
+                created.setSku(sku);
+                created.setTotalQty(0);
+                created.setReservedQty(0);
+                return created;
+            });
+            int newQty = inv.getTotalQty() + request.quantityDelta();
+            if (newQty < inv.getReservedQty()) {
+                results.add(new InventoryUpsertResult(request.sku(), false, "INVALID_ADJUSTMENT",
+                        "Total quantity cannot go below reserved quantity"));
+                continue;
+            }
+            inv.setProductName(request.productName());
+            inv.setTotalQty(newQty);
+            if (request.reorderThreshold() != null && request.reorderThreshold() >= 0) {
+                inv.setReorderThreshold(request.reorderThreshold());
+            }
+            stockLedger.onCommit(inv.getSku(), request.quantityDelta(), 0);
+            changed.add(inv.getSku());
+            results.add(new InventoryUpsertResult(request.sku(), true, null, null));
+        }
+        inventoryRepository.saveAll(items.values().stream().filter(inv -> changed.contains(inv.getSku())).toList());
+        stockChanged(changed);
+        return results;
+    }
+
     @Transactional
     public void deleteInventoryItem(Long id) {
         InventoryItem inv = inventoryRepository.findById(id)
@@ -216,13 +445,35 @@ public class InventoryReservationService {
             throw new DomainException("INV_DELETE_BLOCKED", "Cannot delete inventory with reserved stock");
         }
         inventoryRepository.delete(inv);
+        stockLedger.evictOnCommit(inv.getSku());
+        stockChanged(List.of(inv.getSku()));
     }
 
     @Transactional(readOnly = true)
     public List<LowStockItemResponse> lowStock() {
-        return inventoryRepository.findAll().stream()
-                .filter(i -> i.getAvailableQty() <= i.getReorderThreshold())
-                .map(i -> new LowStockItemResponse(i.getSku(), i.getProductName(), i.getAvailableQty(), i.getReorderThreshold()))
-                .toList();
+        return inventoryRepository.findLowStockAfter("", Pageable.unpaged());
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<LowStockItemResponse> lowStockPage(String afterSku, int limit) {
+        var items = inventoryRepository.findLowStockAfter(afterSku == null ? "" : afterSku, PageRequest.of(0, pageSize(limit)));
+        return new KeysetPage<>(items, items.size() < pageSize(limit) ? null : items.get(items.size() - 1).sku());
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<InventoryItemResponse> listPage(String afterSku, int limit) {
+        var items = inventoryRepository.findPageAfter(afterSku == null ? "" : afterSku, PageRequest.of(0, pageSize(limit)));
+        return new KeysetPage<>(items, items.size() < pageSize(limit) ? null : items.get(items.size() - 1).sku());
+    }
+
+    @Transactional(readOnly = true)
+    public void exportItems(Consumer<InventoryItemResponse> sink) {
+        try (Stream<InventoryItemResponse> items = inventoryRepository.streamAll()) {
+            items.forEach(sink);
+        }
+    }
+
+    private int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
     }
 }
@@ -0,0 +1,65 @@
+package com.grocery.inventory.service;
+
+import com.grocery.inventory.repo.StockReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+@Component
+public class ReservationExpiryIndex {
+    private static final Logger log = LoggerFactory.getLogger(ReservationExpiryIndex.class);
+
+    private final StockReservationRepository reservationRepository;
+    private final boolean enabled;
+    private final TimingWheel wheel;
+
+    public ReservationExpiryIndex(StockReservationRepository reservationRepository,
+                                  @Value("${app.inventory.expiry-wheel.enabled:true}") boolean enabled,
+                                  @Value("${app.inventory.expiry-wheel.tick-ms:1000}") long tickMs,
+                                  @Value("${app.inventory.expiry-wheel.levels:4}") int levels) {
+        this.reservationRepository = reservationRepository;
+        this.enabled = enabled;
+        this.wheel = new TimingWheel(tickMs, levels, System.currentTimeMillis());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void schedule(Long reservationId, Instant expiresAt) {
+        if (enabled && reservationId != null) {
+            wheel.schedule(reservationId, expiresAt.toEpochMilli());
+        }
+    }
+
+    public void cancel(Long reservationId) {
+        if (enabled && reservationId != null) {
+            wheel.cancel(reservationId);
+        }
+    }
+
+    public List<Long> due(Instant now) {
+        if (!enabled) {
+            return List.of();
+        }
+        return wheel.advance(now.toEpochMilli());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        var deadlines = reservationRepository.findDeadlinesByStatusIn(InventoryReservationService.EXPIRABLE_STATUSES);
+        for (StockReservationRepository.ReservationDeadline deadline : deadlines) {
+            schedule(deadline.id(), deadline.expiresAt());
+        }
+        log.info("Reservation expiry index rebuilt with {} active holds", wheel.size());
+    }
+}
@@ -0,0 +1,71 @@
+package com.grocery.inventory.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+@Component
+public class ReservationExpirySweeper {
+    private static final Logger log = LoggerFactory.getLogger(ReservationExpirySweeper.class);
+
+    private final InventoryReservationService inventoryReservationService;
+    private final ReservationExpiryIndex expiryIndex;
+    private final int batchSize;
+    private final int maxBatches;
+
+    public ReservationExpirySweeper(InventoryReservationService inventoryReservationService,
+                                    ReservationExpiryIndex expiryIndex,
+                                    @Value("${app.inventory.expiry-sweeper.batch-size:500}") int batchSize,
+                                    @Value("${app.inventory.expiry-sweeper.max-batches:20}") int maxBatches) {
+        this.inventoryReservationService = inventoryReservationService;
+        this.expiryIndex = expiryIndex;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.expiry-wheel.tick-ms:1000}")
+    public void expireDue() {
+        List<Long> due = expiryIndex.due(Instant.now());
+        int released = 0;
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> batch = due.subList(from, Math.min(due.size(), from + batchSize));
+            try {
+                released += inventoryReservationService.expireReservations(batch);
+            } catch (Exception ex) {
+                log.warn("Failed to expire {} due reservations, sweeper will retry: {}", batch.size(), ex.getMessage());
+            }
+        }
+        if (released > 0) {
+            log.info("Expired {} stock reservations from expiry index", released);
+        }
+    }
+
+    /**
+     * Backstop range scan for holds the expiry index does not track (written by another instance, or missed
+     * by a failed tick), so it runs far less often than {@link #expireDue()}.
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.expiry-sweeper.interval-ms:300000}",
+            initialDelayString = "${app.inventory.expiry-sweeper.initial-delay-ms:10000}")
+    public void sweep() {
+        int total = 0;
+        try {
+            for (int i = 0; i < maxBatches; i++) {
+                int released = inventoryReservationService.releaseExpiredBatch(batchSize);
+                total += released;
+                if (released < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception ex) {
+            log.warn("Reservation expiry sweep failed after {} releases: {}", total, ex.getMessage());
+        }
+        if (total > 0) {
+            log.info("Expired {} stock reservations", total);
+        }
+    }
+}
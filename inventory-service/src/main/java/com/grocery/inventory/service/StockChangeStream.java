@@ -0,0 +1,202 @@
+package com.grocery.inventory.service;
+
+import com.grocery.common.api.DomainException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes coalesced availability changes to SSE subscribers from a small sender pool. A subscriber whose
+ * send has been blocked longer than {@code send-timeout-ms} (a client that stopped reading) is dropped and
+ * its sender interrupted, so slow clients cannot pin the pool and starve everyone else.
+ */
+@Component
+public class StockChangeStream {
+    private static final Logger log = LoggerFactory.getLogger(StockChangeStream.class);
+
+    private final InventoryReservationService inventoryReservationService;
+    private final long emitterTimeoutMs;
+    private final int maxSubscribers;
+    private final long sendTimeoutNanos;
+    private final ExecutorService sender;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<String> changedSkus = ConcurrentHashMap.newKeySet();
+
+    public StockChangeStream(InventoryReservationService inventoryReservationService,
+                             @Value("${app.inventory.stream.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                             @Value("${app.inventory.stream.max-subscribers:2000}") int maxSubscribers,
+                             @Value("${app.inventory.stream.sender-threads:4}") int senderThreads,
+                             @Value("${app.inventory.stream.send-timeout-ms:5000}") long sendTimeoutMs) {
+        this.inventoryReservationService = inventoryReservationService;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.maxSubscribers = maxSubscribers;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.sender = Executors.newFixedThreadPool(senderThreads);
+    }
+
+    public SseEmitter subscribe(Collection<String> skus) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new DomainException("STREAM_LIMIT", "Too many stock stream subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, skus == null || skus.isEmpty() ? null : Set.copyOf(skus));
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        if (subscriber.skus != null) {
+            subscriber.offer(inventoryReservationService.availability(subscriber.skus));
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        if (!subscribers.isEmpty()) {
+            changedSkus.addAll(event.skus());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.stream.coalesce-ms:250}")
+    public void publish() {
+        dropStalled();
+        if (changedSkus.isEmpty()) {
+            return;
+        }
+        List<String> skus = new ArrayList<>();
+        for (String sku : changedSkus) {
+            if (changedSkus.remove(sku)) {
+                skus.add(sku);
+            }
+        }
+        if (skus.isEmpty() || subscribers.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> availability = inventoryReservationService.availability(skus);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(availability);
+        }
+    }
+
+    private void dropStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.dropIfStalled(now)) {
+                subscribers.remove(subscriber);
+                log.warn("Dropped stock stream subscriber blocked on a send for over {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(s -> s.emitter.complete());
+        subscribers.clear();
+        sender.shutdownNow();
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<String> skus;
+        private Map<String, Integer> pending = new HashMap<>();
+        private boolean sending;
+        private boolean dropped;
+        private Thread sendingThread;
+        private long sendStartedNanos;
+
+        private Subscriber(SseEmitter emitter, Set<String> skus) {
+            this.emitter = emitter;
+            this.skus = skus;
+        }
+
+        private void offer(Map<String, Integer> availability) {
+            synchronized (this) {
+                if (dropped) {
+                    return;
+                }
+                availability.forEach((sku, available) -> {
+                    if (skus == null || skus.contains(sku)) {
+                        pending.put(sku, available);
+                    }
+                });
+                if (pending.isEmpty() || sending) {
+                    return;
+                }
+                sending = true;
+            }
+            sender.execute(this::drain);
+        }
+
+        /**
+         * Marks the subscriber dropped and interrupts its sender when the current send started before
+         * the timeout; the sender completes the emitter once the write gives up.
+         */
+        private synchronized boolean dropIfStalled(long now) {
+            if (sendingThread == null || now - sendStartedNanos < sendTimeoutNanos) {
+                return false;
+            }
+            dropped = true;
+            pending.clear();
+            sendingThread.interrupt();
+            return true;
+        }
+
+        private void drain() {
+            while (true) {
+                Map<String, Integer> batch;
+                synchronized (this) {
+                    if (dropped || pending.isEmpty()) {
+                        sending = false;
+                        return;
+                    }
+                    batch = pending;
+                    pending = new HashMap<>();
+                    sendingThread = Thread.currentThread();
+                    sendStartedNanos = System.nanoTime();
+                }
+                Exception failure = null;
+                try {
+                    emitter.send(SseEmitter.event().name("availability").data(batch));
+                } catch (Exception ex) {
+                    failure = ex;
+                }
+                boolean abandon;
+                synchronized (this) {
+                    sendingThread = null;
+                    // An interrupt from dropIfStalled can only land while sendingThread is set; clear it so it
+                    // does not leak into the next task on this pool thread.
+                    Thread.interrupted();
+                    abandon = dropped || failure != null;
+                    if (abandon) {
+                        dropped = true;
+                        pending.clear();
+                        sending = false;
+                    }
+                }
+                if (abandon) {
+                    subscribers.remove(this);
+                    emitter.completeWithError(failure != null ? failure
+                            : new IllegalStateException("Stock stream subscriber stopped reading"));
+                    return;
+                }
+            }
+        }
+    }
+}
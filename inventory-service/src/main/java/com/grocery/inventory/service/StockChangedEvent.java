@@ -0,0 +1,6 @@
+package com.grocery.inventory.service;
+
+import java.util.Set;
+
+public record StockChangedEvent(Set<String> skus) {
+}
@@ -0,0 +1,357 @@
+package com.grocery.inventory.service;
+
+import com.grocery.common.api.DomainException;
+import com.grocery.inventory.domain.InventoryItem;
+import com.grocery.inventory.domain.StockReservation;
+import com.grocery.inventory.dto.ReservationItem;
+import com.grocery.inventory.repo.InventoryBatchRepository;
+import com.grocery.inventory.repo.InventoryRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opt-in in-process view of per-SKU stock used to admit order reservations without a row lock.
+ * Counters are guarded by lock stripes; admitted reservations are written to the database in
+ * write-behind batches. Slots are loaded lazily from the database, which stays the source of truth,
+ * so the ledger assumes a single inventory-service instance owns reservations while it is enabled.
+ * <p>
+ * Every row writer registers its ledger update under the stripe lock before it commits and applies it
+ * after completion. A slot is only seeded while no such update is pending for its SKU, so the row it
+ * reads can never already contain a delta that is still about to be applied; otherwise the caller falls
+ * back to the locking database path.
+ */
+@Component
+public class StockLedger {
+    private static final Logger log = LoggerFactory.getLogger(StockLedger.class);
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryBatchRepository batchRepository;
+    private final ReservationExpiryIndex expiryIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate flushTransaction;
+    private final boolean enabled;
+    private final Object[] stripes;
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final Map<String, Integer> pendingCompletions = new ConcurrentHashMap<>();
+    private final Set<String> dirtySkus = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedQueue<StockReservation> pendingReservations = new ConcurrentLinkedQueue<>();
+    private final Object flushLock = new Object();
+    private final AtomicLong admittedBatches = new AtomicLong();
+    private volatile long flushedBatches;
+
+    public StockLedger(InventoryRepository inventoryRepository,
+                       InventoryBatchRepository batchRepository,
+                       ReservationExpiryIndex expiryIndex,
+                       ApplicationEventPublisher eventPublisher,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${app.inventory.ledger.enabled:false}") boolean enabled,
+                       @Value("${app.inventory.ledger.stripes:64}") int stripeCount) {
+        this.inventoryRepository = inventoryRepository;
+        this.batchRepository = batchRepository;
+        this.expiryIndex = expiryIndex;
+        this.eventPublisher = eventPublisher;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.flushTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        int size = 1;
+        while (size < stripeCount) {
+            size <<= 1;
+        }
+        this.stripes = new Object[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Admits the reservation against the in-memory slots and queues it for the write-behind flush.
+     *
+     * @return {@code false}, with nothing admitted, when a slot cannot be seeded yet and the caller must
+     * reserve through the database instead
+     */
+    public boolean tryReserve(String orderRef, List<ReservationItem> items, Instant expiresAt) {
+        Map<String, Integer> qtyBySku = new TreeMap<>();
+        for (ReservationItem item : items) {
+            qtyBySku.merge(item.sku(), item.quantity(), Integer::sum);
+        }
+        Map<String, Integer> admitted = new HashMap<>();
+        try {
+            for (Map.Entry<String, Integer> entry : qtyBySku.entrySet()) {
+                if (!admit(entry.getKey(), entry.getValue())) {
+                    admitted.forEach(this::undoAdmit);
+                    return false;
+                }
+                admitted.put(entry.getKey(), entry.getValue());
+            }
+        } catch (RuntimeException ex) {
+            admitted.forEach(this::undoAdmit);
+            throw ex;
+        }
+        for (ReservationItem item : items) {
+            StockReservation reservation = new StockReservation();
+            reservation.setOrderRef(orderRef);
+            reservation.setSku(item.sku());
+            reservation.setQuantity(item.quantity());
+            reservation.setStatus("RESERVED");
+            reservation.setExpiresAt(expiresAt);
+            pendingReservations.add(reservation);
+        }
+        admittedBatches.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Mirrors a cart hold the caller has made on the locked row. The slot is updated now, if it is loaded,
+     * and put back if the transaction rolls back.
+     */
+    public void hold(String sku, int qty) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (stripe(sku)) {
+            Slot slot = load(sku);
+            if (slot != null) {
+                if (slot.total - slot.reserved < qty) {
+                    throw new DomainException("INSUFFICIENT_STOCK", "Not enough stock for " + sku);
+                }
+                slot.reserved += qty;
+            }
+            onCompletion(sku, false, () -> {
+                if (slot != null && slots.get(sku) == slot) {
+                    slot.reserved = Math.max(0, slot.reserved - qty);
+                }
+            });
+        }
+    }
+
+    public void onCommit(String sku, int totalDelta, int reservedDelta) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (stripe(sku)) {
+            onCompletion(sku, true, () -> {
+                Slot slot = slots.get(sku);
+                if (slot != null) {
+                    slot.total += totalDelta;
+                    slot.reserved = Math.max(0, slot.reserved + reservedDelta);
+                }
+            });
+        }
+    }
+
+    public void evictOnCommit(String sku) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (stripe(sku)) {
+            onCompletion(sku, true, () -> {
+                Slot slot = slots.get(sku);
+                if (slot != null && slot.unflushed == 0 && slot.flushing == 0) {
+                    slots.remove(sku);
+                }
+            });
+        }
+    }
+
+    /**
+     * Makes every reservation admitted so far durable. Callers that read reservations or reserved totals
+     * from the database call this before opening their own transaction, since the flush uses a connection
+     * of its own. Callers that arrive while a flush is running wait for it and return if it covered them.
+     */
+    public void flushAdmitted() {
+        if (!enabled) {
+            return;
+        }
+        long target = admittedBatches.get();
+        if (flushedBatches >= target) {
+            return;
+        }
+        synchronized (flushLock) {
+            if (flushedBatches < target) {
+                flushLocked();
+            }
+        }
+        if (flushedBatches < target) {
+            throw new DomainException("LEDGER_FLUSH_FAILED", "Pending stock reservations could not be written yet");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.ledger.flush-interval-ms:200}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (flushLock) {
+            flushLocked();
+        }
+    }
+
+    private void flushLocked() {
+        long target = admittedBatches.get();
+        List<StockReservation> reservations = new ArrayList<>();
+        for (StockReservation r; (r = pendingReservations.poll()) != null; ) {
+            reservations.add(r);
+        }
+        Map<String, Integer> deltas = new HashMap<>();
+        for (String sku : dirtySkus) {
+            synchronized (stripe(sku)) {
+                dirtySkus.remove(sku);
+                Slot slot = slots.get(sku);
+                if (slot != null && slot.unflushed != 0) {
+                    deltas.put(sku, slot.unflushed);
+                    slot.flushing += slot.unflushed;
+                    slot.unflushed = 0;
+                }
+            }
+        }
+        if (reservations.isEmpty() && deltas.isEmpty()) {
+            flushedBatches = target;
+            return;
+        }
+        try {
+            List<Long> ids = flushTransaction.execute(status -> {
+                batchRepository.addReserved(deltas);
+                return batchRepository.insertReservations(reservations);
+            });
+            for (int i = 0; i < ids.size(); i++) {
+                expiryIndex.schedule(ids.get(i), reservations.get(i).getExpiresAt());
+            }
+            deltas.forEach((sku, delta) -> {
+                synchronized (stripe(sku)) {
+                    slots.get(sku).flushing -= delta;
+                }
+            });
+            flushedBatches = target;
+            // Reservations reach the database only now, so caches and stock streams are told here.
+            eventPublisher.publishEvent(new StockChangedEvent(Set.copyOf(deltas.keySet())));
+        } catch (RuntimeException ex) {
+            log.warn("Stock ledger flush failed for {} SKUs, will retry: {}", deltas.size(), ex.getMessage());
+            pendingReservations.addAll(reservations);
+            deltas.forEach((sku, delta) -> {
+                synchronized (stripe(sku)) {
+                    Slot slot = slots.get(sku);
+                    slot.flushing -= delta;
+                    slot.unflushed += delta;
+                    dirtySkus.add(sku);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private boolean admit(String sku, int qty) {
+        synchronized (stripe(sku)) {
+            Slot slot = load(sku);
+            if (slot == null) {
+                return false;
+            }
+            if (slot.total - slot.reserved < qty) {
+                throw new DomainException("INSUFFICIENT_STOCK", "Not enough stock for " + sku);
+            }
+            slot.reserved += qty;
+            slot.unflushed += qty;
+            dirtySkus.add(sku);
+            return true;
+        }
+    }
+
+    private void undoAdmit(String sku, int qty) {
+        synchronized (stripe(sku)) {
+            Slot slot = slots.get(sku);
+            slot.reserved -= qty;
+            slot.unflushed -= qty;
+            dirtySkus.add(sku);
+        }
+    }
+
+    /**
+     * Returns the slot, seeding it from the committed row if needed, or {@code null} while a registered update
+     * for the SKU is still pending: that transaction may already be committed, so the row could include a
+     * delta that is applied again when it completes. Called under the stripe lock, which also keeps new
+     * updates from registering while the row is read.
+     */
+    private Slot load(String sku) {
+        Slot slot = slots.get(sku);
+        if (slot == null) {
+            if (pendingCompletions.containsKey(sku)) {
+                return null;
+            }
+            InventoryItem inv = inventoryRepository.findBySku(sku)
+                    .orElseThrow(() -> new DomainException("INV_NOT_FOUND", "No inventory for SKU " + sku));
+            slot = new Slot(inv.getTotalQty(), inv.getReservedQty());
+            slots.put(sku, slot);
+        }
+        return slot;
+    }
+
+    private Object stripe(String sku) {
+        int h = sku.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+
+    // Called under the stripe lock. The action and the pending count are settled under it again on completion.
+    private void onCompletion(String sku, boolean onCommit, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (onCommit) {
+                action.run();
+            }
+            return;
+        }
+        pendingCompletions.merge(sku, 1, Integer::sum);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (stripe(sku)) {
+                    try {
+                        if ((status == STATUS_COMMITTED) == onCommit) {
+                            action.run();
+                        }
+                    } finally {
+                        pendingCompletions.computeIfPresent(sku, (k, n) -> n == 1 ? null : n - 1);
+                    }
+                }
+            }
+        });
+    }
+
+    private static final class Slot {
+        private int total;
+        private int reserved;
+        private int unflushed;
+        private int flushing;
+
+        private Slot(int total, int reserved) {
+            this.total = total;
+            this.reserved = reserved;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.grocery.inventory.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel of {@code levels} x 64 buckets. Scheduling and cancelling are O(1);
+ * entries in coarser levels are cascaded down as the wheel turns, so each entry moves at most once per level.
+ */
+final class TimingWheel {
+    private static final int BITS = 6;
+    private static final int SIZE = 1 << BITS;
+    private static final int MASK = SIZE - 1;
+
+    private final long tickMs;
+    private final Node[][] buckets;
+    private final long rangeTicks;
+    private final Map<Long, Node> nodes = new HashMap<>();
+    private long nextTick;
+
+    TimingWheel(long tickMs, int levels, long startMs) {
+        this.tickMs = tickMs;
+        this.buckets = new Node[levels][SIZE];
+        for (Node[] level : buckets) {
+            for (int i = 0; i < SIZE; i++) {
+                level[i] = Node.sentinel();
+            }
+        }
+        this.rangeTicks = 1L << (levels * BITS);
+        this.nextTick = startMs / tickMs + 1;
+    }
+
+    synchronized void schedule(long id, long deadlineMs) {
+        cancel(id);
+        Node node = new Node(id, Math.floorDiv(deadlineMs + tickMs - 1, tickMs));
+        nodes.put(id, node);
+        place(node);
+    }
+
+    synchronized boolean cancel(long id) {
+        Node node = nodes.remove(id);
+        if (node == null) {
+            return false;
+        }
+        node.unlink();
+        return true;
+    }
+
+    synchronized int size() {
+        return nodes.size();
+    }
+
+    synchronized List<Long> advance(long nowMs) {
+        long targetTick = nowMs / tickMs;
+        List<Long> expired = new ArrayList<>();
+        while (nextTick <= targetTick) {
+            for (int level = buckets.length - 1; level > 0; level--) {
+                int shift = level * BITS;
+                if ((nextTick & ((1L << shift) - 1)) == 0) {
+                    Node bucket = buckets[level][(int) ((nextTick >>> shift) & MASK)];
+                    for (Node node = bucket.detachAll(); node != null; ) {
+                        Node next = node.next;
+                        place(node);
+                        node = next;
+                    }
+                }
+            }
+            Node bucket = buckets[0][(int) (nextTick & MASK)];
+            for (Node node = bucket.detachAll(); node != null; ) {
+                Node next = node.next;
+                if (node.deadlineTick <= nextTick) {
+                    nodes.remove(node.id);
+                    expired.add(node.id);
+                } else {
+                    place(node);
+                }
+                node = next;
+            }
+            nextTick++;
+        }
+        return expired;
+    }
+
+    private void place(Node node) {
+        long tick = Math.max(node.deadlineTick, nextTick);
+        long delta = tick - nextTick;
+        if (delta >= rangeTicks) {
+            tick = nextTick + rangeTicks - 1;
+            delta = rangeTicks - 1;
+        }
+        int level = 0;
+        while (delta >= (1L << ((level + 1) * BITS))) {
+            level++;
+        }
+        buckets[level][(int) ((tick >>> (level * BITS)) & MASK)].append(node);
+    }
+
+    private static final class Node {
+        private final long id;
+        private final long deadlineTick;
+        private Node prev;
+        private Node next;
+
+        private Node(long id, long deadlineTick) {
+            this.id = id;
+            this.deadlineTick = deadlineTick;
+        }
+
+        private static Node sentinel() {
+            Node node = new Node(-1, -1);
+            node.prev = node;
+            node.next = node;
+            return node;
+        }
+
+        private void append(Node node) {
+            node.prev = prev;
+            node.next = this;
+            prev.next = node;
+            prev = node;
+        }
+
+        private void unlink() {
+            if (prev != null) {
+                prev.next = next;
+                next.prev = prev;
+                prev = null;
+                next = null;
+            }
+        }
+
+        private Node detachAll() {
+            if (next == this) {
+                return null;
+            }
+            Node first = next;
+            prev.next = null;
+            first.prev = null;
+            next = this;
+            prev = this;
+            for (Node node = first; node != null; node = node.next) {
+                node.prev = null;
+            }
+            return first;
+        }
+    }
+}
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_reservation_status_expires ON stock_reservations(status, expires_at);
@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS idx_inventory_low_stock
+    ON inventory(sku)
+    WHERE total_qty - reserved_qty <= reorder_threshold;
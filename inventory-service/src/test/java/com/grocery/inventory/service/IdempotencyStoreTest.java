@@ -0,0 +1,93 @@
+package com.grocery.inventory.service;
+
+import com.grocery.common.api.DomainException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyStoreTest {
+
+    @Test
+    void replaysTheFirstResultForTheSameKey() {
+        IdempotencyStore store = new IdempotencyStore(true, 60_000, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        String first = store.execute("reserve", "k1", "body", () -> "ref-" + calls.incrementAndGet());
+        String second = store.execute("reserve", "k1", "body", () -> "ref-" + calls.incrementAndGet());
+
+        assertThat(first).isEqualTo("ref-1");
+        assertThat(second).isEqualTo("ref-1");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void rejectsKeyReuseWithDifferentFingerprint() {
+        IdempotencyStore store = new IdempotencyStore(true, 60_000, 100);
+        store.execute("reserve", "k1", "body-a", () -> "ok");
+
+        assertThatThrownBy(() -> store.execute("reserve", "k1", "body-b", () -> "other"))
+                .isInstanceOf(DomainException.class)
+                .extracting("code").isEqualTo("IDEMPOTENCY_KEY_REUSED");
+    }
+
+    @Test
+    void remembersDomainErrorsButNotUnexpectedFailures() {
+        IdempotencyStore store = new IdempotencyStore(true, 60_000, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> store.execute("reserve", "domain", "body", () -> {
+                calls.incrementAndGet();
+                throw new DomainException("OUT_OF_STOCK", "none left");
+            })).isInstanceOf(DomainException.class);
+        }
+        assertThat(calls).hasValue(1);
+
+        assertThatThrownBy(() -> store.execute("reserve", "boom", "body", () -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> store.execute("reserve", "error", "body", () -> {
+            throw new AssertionError("fatal");
+        })).isInstanceOf(AssertionError.class);
+
+        assertThat(store.execute("reserve", "boom", "body", () -> "retried")).isEqualTo("retried");
+        assertThat(store.execute("reserve", "error", "body", () -> "retried")).isEqualTo("retried");
+    }
+
+    @Test
+    void evictsCompletedEntriesPastAnInFlightOne() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(true, 60_000, 2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> inFlight = CompletableFuture.supplyAsync(() -> store.execute("reserve", "slow", "body", () -> {
+            started.countDown();
+            await(release);
+            return "slow";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        AtomicInteger calls = new AtomicInteger();
+        store.execute("reserve", "b", "body", calls::incrementAndGet);
+        store.execute("reserve", "c", "body", () -> 0);
+        store.execute("reserve", "d", "body", () -> 0);
+        store.execute("reserve", "b", "body", calls::incrementAndGet);
+
+        assertThat(calls).as("b was evicted although the oldest entry is still running").hasValue(2);
+        release.countDown();
+        assertThat(inFlight.get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
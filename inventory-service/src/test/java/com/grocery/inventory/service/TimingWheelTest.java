@@ -0,0 +1,87 @@
+package com.grocery.inventory.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    @Test
+    void expiresOnTheTickThatCoversTheDeadline() {
+        TimingWheel wheel = new TimingWheel(100, 3, 0);
+        wheel.schedule(1, 250);
+
+        assertThat(wheel.advance(299)).isEmpty();
+        assertThat(wheel.advance(300)).containsExactly(1L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelledEntriesNeverExpire() {
+        TimingWheel wheel = new TimingWheel(100, 3, 0);
+        wheel.schedule(1, 500);
+
+        assertThat(wheel.cancel(1)).isTrue();
+        assertThat(wheel.cancel(1)).isFalse();
+        assertThat(wheel.advance(1_000)).isEmpty();
+    }
+
+    @Test
+    void reschedulingReplacesThePreviousDeadline() {
+        TimingWheel wheel = new TimingWheel(100, 3, 0);
+        wheel.schedule(1, 200);
+        wheel.schedule(1, 900);
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(800)).isEmpty();
+        assertThat(wheel.advance(900)).containsExactly(1L);
+    }
+
+    @Test
+    void cascadesEntriesFromCoarserLevels() {
+        TimingWheel wheel = new TimingWheel(100, 3, 0);
+        wheel.schedule(1, 20_000);
+        wheel.schedule(2, 500_000);
+
+        assertThat(wheel.advance(19_900)).isEmpty();
+        assertThat(wheel.advance(20_000)).containsExactly(1L);
+        assertThat(wheel.advance(499_900)).isEmpty();
+        assertThat(wheel.advance(500_000)).containsExactly(2L);
+    }
+
+    @Test
+    void deadlinesBeyondTheWheelRangeAreParkedAndStillFireOnTime() {
+        TimingWheel wheel = new TimingWheel(100, 1, 0);
+        wheel.schedule(1, 15_000);
+
+        assertThat(wheel.advance(14_900)).isEmpty();
+        assertThat(wheel.advance(15_000)).containsExactly(1L);
+    }
+
+    @Test
+    void pastDeadlinesExpireOnTheNextTick() {
+        TimingWheel wheel = new TimingWheel(100, 3, 1_000);
+        wheel.schedule(1, 0);
+
+        assertThat(wheel.advance(1_100)).containsExactly(1L);
+    }
+
+    @Test
+    void expiresEveryEntryExactlyOnce() {
+        TimingWheel wheel = new TimingWheel(10, 2, 0);
+        for (long id = 0; id < 1_000; id++) {
+            wheel.schedule(id, id * 37 % 50_000);
+        }
+
+        List<Long> expired = new ArrayList<>();
+        for (long now = 0; now <= 50_000; now += 250) {
+            expired.addAll(wheel.advance(now));
+        }
+
+        assertThat(expired).hasSize(1_000).doesNotHaveDuplicates();
+        assertThat(wheel.size()).isZero();
+    }
+}
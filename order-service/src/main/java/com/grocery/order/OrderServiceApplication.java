@@ -5,8 +5,10 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = {"com.grocery.order", "com.grocery.common"})
+@EnableScheduling
 public class OrderServiceApplication {
     public static void main(String[] args) { SpringApplication.run(OrderServiceApplication.class, args); }
 
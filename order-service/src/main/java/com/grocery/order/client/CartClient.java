@@ -0,0 +1,34 @@
+package com.grocery.order.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+@Component
+public class CartClient {
+    private static final Logger log = LoggerFactory.getLogger(CartClient.class);
+
+    private final RestTemplate restTemplate;
+    private final String cartBase;
+
+    public CartClient(RestTemplate restTemplate,
+                      @Value("${app.cart-base-url:http://cart-service:8084}") String cartBase) {
+        this.restTemplate = restTemplate;
+        this.cartBase = cartBase;
+    }
+
+    /**
+     * Pushes the user's debounced cart holds to inventory before checkout reserves stock. Best effort: cart
+     * holds are advisory, so a failure is logged and checkout continues with its own reservation.
+     */
+    public void flushReservations(String userEmail) {
+        try {
+            restTemplate.postForEntity(cartBase + "/cart/{email}/flush", null, Void.class, userEmail);
+        } catch (RestClientException ex) {
+            log.warn("Cart reservation flush for {} failed before checkout: {}", userEmail, ex.getMessage());
+        }
+    }
+}
@@ -2,30 +2,53 @@ package com.grocery.order.client;
 
 import com.grocery.common.api.DomainException;
 import com.grocery.order.dto.CheckoutRequest;
+import com.grocery.order.resilience.DependencyGuard;
+import com.grocery.order.resilience.DependencyGuards;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Component
 public class IdentityClient {
+    private static final Logger log = LoggerFactory.getLogger(IdentityClient.class);
+
     private final RestTemplate restTemplate;
     private final String baseUrl;
+    private final DependencyGuard guard;
+    private final long profileCacheTtlMs;
+    private final int profileCacheMaxEntries;
+    private final Map<String, CachedProfile> profileCache = new LinkedHashMap<>(16, 0.75f, true);
 
     public IdentityClient(RestTemplate restTemplate,
-                          @Value("${app.identity-base-url:http://identity-service:8081}") String baseUrl) {
+                          DependencyGuards guards,
+                          @Value("${app.identity-base-url:http://identity-service:8081}") String baseUrl,
+                          @Value("${app.resilience.identity.profile-cache-ttl-ms:3600000}") long profileCacheTtlMs,
+                          @Value("${app.resilience.identity.profile-cache-max-entries:10000}") int profileCacheMaxEntries) {
         this.restTemplate = restTemplate;
         this.baseUrl = baseUrl;
+        this.guard = guards.get(DependencyGuards.IDENTITY);
+        this.profileCacheTtlMs = profileCacheTtlMs;
+        this.profileCacheMaxEntries = profileCacheMaxEntries;
     }
 
     public AddressResponse getAddress(String userEmail, Long addressId) {
         HttpEntity<Void> entity = new HttpEntity<>(headersForUser(userEmail));
-        ResponseEntity<AddressResponse> response = restTemplate.exchange(
-                baseUrl + "/addresses/" + addressId,
+        ResponseEntity<AddressResponse> response = guard.call(() -> restTemplate.exchange(
+                baseUrl + "/addresses/{addressId}",
                 HttpMethod.GET,
                 entity,
-                AddressResponse.class
-        );
+                AddressResponse.class,
+                addressId
+        ));
         if (response.getBody() == null) {
             throw new DomainException("ADDRESS_NOT_FOUND", "Address not found");
         }
@@ -34,12 +57,12 @@ public class IdentityClient {
 
     public AddressResponse createAddress(String userEmail, CheckoutRequest.AddressInput address) {
         HttpEntity<CheckoutRequest.AddressInput> entity = new HttpEntity<>(address, headersForUser(userEmail));
-        ResponseEntity<AddressResponse> response = restTemplate.exchange(
+        ResponseEntity<AddressResponse> response = guard.call(() -> restTemplate.exchange(
                 baseUrl + "/addresses",
                 HttpMethod.POST,
                 entity,
                 AddressResponse.class
-        );
+        ));
         if (response.getBody() == null) {
             throw new DomainException("ADDRESS_CREATE_FAILED", "Address create failed");
         }
@@ -48,34 +71,87 @@ public class IdentityClient {
 
     public PostcodeValidationResponse validatePostcode(String postcode, String country) {
         String url = baseUrl + "/postcode/validate?postcode={postcode}&country={country}";
-        ResponseEntity<PostcodeValidationResponse> response = restTemplate.getForEntity(url, PostcodeValidationResponse.class, postcode, country);
+        ResponseEntity<PostcodeValidationResponse> response = guard.call(() ->
+                restTemplate.getForEntity(url, PostcodeValidationResponse.class, postcode, country));
         if (response.getBody() == null) {
             throw new DomainException("POSTCODE_VALIDATION_FAILED", "Postcode validation failed");
         }
         return response.getBody();
     }
 
+    /**
+     * Falls back to the last profile seen for the user (within the cache TTL) when identity-service is
+     * failing, slow or shedding load; client errors such as an unknown user are never masked.
+     */
     public MeProfileResponse getProfile(String userEmail) {
         HttpEntity<Void> entity = new HttpEntity<>(headersForUser(userEmail));
-        ResponseEntity<MeProfileResponse> response = restTemplate.exchange(
-                baseUrl + "/me",
-                HttpMethod.GET,
-                entity,
-                MeProfileResponse.class
-        );
+        ResponseEntity<MeProfileResponse> response;
+        try {
+            response = guard.call(() -> restTemplate.exchange(
+                    baseUrl + "/me",
+                    HttpMethod.GET,
+                    entity,
+                    MeProfileResponse.class
+            ));
+        } catch (HttpClientErrorException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            MeProfileResponse cached = cachedProfile(userEmail);
+            if (cached == null) {
+                throw ex;
+            }
+            log.warn("Serving cached profile for {}: {}", userEmail, ex.getMessage());
+            return cached;
+        }
         if (response.getBody() == null) {
             throw new DomainException("USER_NOT_FOUND", "User profile not found");
         }
+        cacheProfile(userEmail, response.getBody());
         return response.getBody();
     }
 
+    public List<UserContact> findContacts(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return List.of();
+        }
+        HttpEntity<Collection<String>> entity = new HttpEntity<>(emails, jsonHeaders());
+        UserContact[] contacts = guard.call(() -> restTemplate.postForObject(
+                baseUrl + "/admin/users/by-email", entity, UserContact[].class));
+        return contacts == null ? List.of() : List.of(contacts);
+    }
+
+    // Only the contact fields checkout needs are kept; bank details never enter the fallback cache.
+    private synchronized MeProfileResponse cachedProfile(String userEmail) {
+        CachedProfile cached = profileCache.get(userEmail);
+        if (cached == null || System.currentTimeMillis() - cached.cachedAt() > profileCacheTtlMs) {
+            return null;
+        }
+        return new MeProfileResponse(userEmail, cached.name(), cached.phone(),
+                null, null, null, null, null, null, null);
+    }
+
+    private synchronized void cacheProfile(String userEmail, MeProfileResponse profile) {
+        profileCache.put(userEmail, new CachedProfile(profile.name(), profile.phone(), System.currentTimeMillis()));
+        if (profileCache.size() > profileCacheMaxEntries) {
+            profileCache.remove(profileCache.keySet().iterator().next());
+        }
+    }
+
     private HttpHeaders headersForUser(String userEmail) {
+        HttpHeaders headers = jsonHeaders();
+        headers.set("X-User-Email", userEmail);
+        return headers;
+    }
+
+    private static HttpHeaders jsonHeaders() {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("X-User-Email", userEmail);
         return headers;
     }
 
+    private record CachedProfile(String name, String phone, long cachedAt) {
+    }
+
     public record AddressResponse(
             Long id,
             String label,
@@ -87,6 +163,12 @@ public class IdentityClient {
             boolean isDefault
     ) {}
 
+    public record UserContact(
+            String email,
+            String name,
+            String phone
+    ) {}
+
     public record PostcodeValidationResponse(
             boolean allowed,
             String city,
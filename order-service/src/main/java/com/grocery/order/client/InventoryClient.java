@@ -1,35 +1,55 @@
 package com.grocery.order.client;
 
 import com.grocery.order.dto.CheckoutRequest;
+import com.grocery.order.resilience.DependencyGuard;
+import com.grocery.order.resilience.DependencyGuards;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Each call carries an Idempotency-Key naming the action that caused it (a checkout saga step or an outbox
+ * message), so retries of that action replay the first outcome while a later, distinct action on the same
+ * order is executed afresh.
+ */
 @Component
 public class InventoryClient {
     private final RestTemplate restTemplate;
     private final String inventoryBase;
+    private final DependencyGuard guard;
 
-    public InventoryClient(RestTemplate restTemplate, @Value("${app.inventory-base-url:http://inventory-service:8083}") String inventoryBase) {
+    public InventoryClient(RestTemplate restTemplate, DependencyGuards guards,
+                           @Value("${app.inventory-base-url:http://inventory-service:8083}") String inventoryBase) {
         this.restTemplate = restTemplate;
         this.inventoryBase = inventoryBase;
+        this.guard = guards.get(DependencyGuards.INVENTORY);
     }
 
-    public void reserve(String orderRef, List<CheckoutRequest.Item> items) {
+    public void reserve(String orderRef, List<CheckoutRequest.Item> items, String idempotencyKey) {
         var payload = Map.of("orderRef", orderRef,
                 "items", items.stream().map(i -> Map.of("sku", i.sku(), "quantity", i.qty())).toList());
-        restTemplate.postForEntity(inventoryBase + "/inventory/reserve?holdMinutes=15", new HttpEntity<>(payload), String.class);
+        guard.run(() -> restTemplate.postForEntity(inventoryBase + "/inventory/reserve?holdMinutes=15",
+                new HttpEntity<>(payload, idempotencyHeaders(idempotencyKey)), String.class));
     }
 
-    public void commit(String orderRef) {
-        restTemplate.postForEntity(inventoryBase + "/inventory/commit/" + orderRef, HttpEntity.EMPTY, Void.class);
+    public void commit(String orderRef, String idempotencyKey) {
+        guard.run(() -> restTemplate.postForEntity(inventoryBase + "/inventory/commit/{orderRef}",
+                new HttpEntity<>(idempotencyHeaders(idempotencyKey)), Void.class, orderRef));
     }
 
-    public void release(String orderRef) {
-        restTemplate.postForEntity(inventoryBase + "/inventory/release/" + orderRef, HttpEntity.EMPTY, Void.class);
+    public void release(String orderRef, String idempotencyKey) {
+        guard.run(() -> restTemplate.postForEntity(inventoryBase + "/inventory/release/{orderRef}",
+                new HttpEntity<>(idempotencyHeaders(idempotencyKey)), Void.class, orderRef));
+    }
+
+    private static HttpHeaders idempotencyHeaders(String key) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Idempotency-Key", key);
+        return headers;
     }
 }
@@ -1,5 +1,7 @@
 package com.grocery.order.client;
 
+import com.grocery.order.resilience.DependencyGuard;
+import com.grocery.order.resilience.DependencyGuards;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
@@ -10,19 +12,23 @@ import java.math.BigDecimal;
 public class PaymentClient {
     private final RestTemplate restTemplate;
     private final String paymentBase;
+    private final DependencyGuard guard;
 
-    public PaymentClient(RestTemplate restTemplate, @Value("${app.payment-base-url:http://payment-service:8086}") String paymentBase) {
+    public PaymentClient(RestTemplate restTemplate, DependencyGuards guards,
+                         @Value("${app.payment-base-url:http://payment-service:8086}") String paymentBase) {
         this.restTemplate = restTemplate;
         this.paymentBase = paymentBase;
+        this.guard = guards.get(DependencyGuards.PAYMENT);
     }
 
     public PaymentIntent pay(String orderRef, BigDecimal amount, String method) {
         var payload = new PaymentIntentRequest(orderRef, amount, method);
-        return restTemplate.postForObject(paymentBase + "/payments/intent", payload, PaymentIntent.class);
+        return guard.call(() -> restTemplate.postForObject(paymentBase + "/payments/intent", payload, PaymentIntent.class));
     }
 
     public PaymentStatus verify(String providerRef) {
-        return restTemplate.getForObject(paymentBase + "/payments/session/" + providerRef, PaymentStatus.class);
+        return guard.call(() ->
+                restTemplate.getForObject(paymentBase + "/payments/session/{providerRef}", PaymentStatus.class, providerRef));
     }
 
     public record PaymentIntent(String orderRef, String status, String providerRef, String redirectUrl) {
@@ -1,10 +1,14 @@
 package com.grocery.order.config;
 
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Map;
 
 @Configuration
 public class AppConfig {
@@ -19,7 +23,26 @@ public class AppConfig {
     }
 
     @Bean
-    RestTemplate restTemplate() {
-        return new RestTemplate();
+    ThreadPoolTaskExecutor checkoutFanOutExecutor(@Value("${app.checkout.fan-out.threads:32}") int threads,
+                                                  @Value("${app.checkout.fan-out.queue-capacity:256}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("checkout-fan-out-");
+        executor.setTaskDecorator(task -> {
+            Map<String, String> mdc = MDC.getCopyOfContextMap();
+            return () -> {
+                if (mdc != null) {
+                    MDC.setContextMap(mdc);
+                }
+                try {
+                    task.run();
+                } finally {
+                    MDC.clear();
+                }
+            };
+        });
+        return executor;
     }
 }
@@ -1,18 +1,27 @@
 package com.grocery.order.controller;
 
-import com.grocery.order.client.IdentityClient;
 import com.grocery.order.dto.CheckoutRequest;
 import com.grocery.order.dto.CheckoutResponse;
+import com.grocery.order.dto.KeysetPage;
+import com.grocery.order.dto.OrderListFilter;
 import com.grocery.order.dto.OrderResponse;
+import com.grocery.order.dto.OrderSummaryResponse;
+import com.grocery.order.dto.SalesRollupRow;
 import com.grocery.order.dto.UpdateOrderStatusRequest;
 import com.grocery.order.repo.OrderRepository;
 import com.grocery.order.service.OrderAdminService;
 import com.grocery.order.service.CheckoutService;
+import com.grocery.order.service.CustomerPhoneDirectory;
 import com.grocery.order.service.OrderMapper;
+import com.grocery.order.service.OrderOutbox;
+import com.grocery.order.service.OrderQueryService;
+import com.grocery.order.service.OrderSalesRollups;
 import com.grocery.common.api.DomainException;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
@@ -22,16 +31,25 @@ public class OrderController {
     private final CheckoutService checkoutService;
     private final OrderRepository orderRepository;
     private final OrderAdminService orderAdminService;
-    private final IdentityClient identityClient;
+    private final OrderQueryService orderQueryService;
+    private final OrderSalesRollups salesRollups;
+    private final CustomerPhoneDirectory phoneDirectory;
+    private final OrderOutbox orderOutbox;
 
     public OrderController(CheckoutService checkoutService,
                            OrderRepository orderRepository,
                            OrderAdminService orderAdminService,
-                           IdentityClient identityClient) {
+                           OrderQueryService orderQueryService,
+                           OrderSalesRollups salesRollups,
+                           CustomerPhoneDirectory phoneDirectory,
+                           OrderOutbox orderOutbox) {
         this.checkoutService = checkoutService;
         this.orderRepository = orderRepository;
         this.orderAdminService = orderAdminService;
-        this.identityClient = identityClient;
+        this.orderQueryService = orderQueryService;
+        this.salesRollups = salesRollups;
+        this.phoneDirectory = phoneDirectory;
+        this.orderOutbox = orderOutbox;
     }
 
     @PostMapping("/checkout")
@@ -67,16 +85,58 @@ public class OrderController {
         if (userEmail == null || userEmail.isBlank()) {
             throw new DomainException("UNAUTHORIZED", "Missing authenticated user");
         }
-        Map<String, String> phonesByEmail = new java.util.HashMap<>();
-        phonesByEmail.put(normalizeEmail(userEmail), safePhone(userEmail));
-        return orderRepository.findByUserEmailOrderByIdDesc(userEmail).stream()
+        var orders = orderRepository.findByUserEmailOrderByIdDesc(userEmail);
+        Map<String, String> phonesByEmail = collectPhonesByEmail(orders);
+        return orders.stream()
                 .map(order -> toResponseWithPhoneFallback(order, phonesByEmail))
                 .toList();
     }
 
+    @GetMapping("/me/page")
+    public KeysetPage<OrderSummaryResponse> myOrdersPage(@RequestHeader(name = "X-User-Email", required = false) String userEmail,
+                                                         @RequestParam(name = "status", required = false) List<String> statuses,
+                                                         @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                                         @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                                         @RequestParam(name = "after", required = false) String after,
+                                                         @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        if (userEmail == null || userEmail.isBlank()) {
+            throw new DomainException("UNAUTHORIZED", "Missing authenticated user");
+        }
+        return orderQueryService.page(new OrderListFilter(userEmail, upper(statuses), null, from, to), after, limit);
+    }
+
+    @GetMapping("/me/{orderRef}")
+    public OrderResponse myOrder(@PathVariable("orderRef") String orderRef,
+                                 @RequestHeader(name = "X-User-Email", required = false) String userEmail) {
+        if (userEmail == null || userEmail.isBlank()) {
+            throw new DomainException("UNAUTHORIZED", "Missing authenticated user");
+        }
+        var order = orderQueryService.getWithItems(orderRef, userEmail);
+        return toResponseWithPhoneFallback(order, collectPhonesByEmail(List.of(order)));
+    }
+
+    @GetMapping("/admin/page")
+    public KeysetPage<OrderSummaryResponse> adminOrdersPage(@RequestParam(name = "email", required = false) String email,
+                                                            @RequestParam(name = "status", required = false) List<String> statuses,
+                                                            @RequestParam(name = "paymentMethod", required = false) String paymentMethod,
+                                                            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                                            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                                            @RequestParam(name = "after", required = false) String after,
+                                                            @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        var filter = new OrderListFilter(blankToNull(email), upper(statuses),
+                paymentMethod == null || paymentMethod.isBlank() ? null : paymentMethod.trim().toUpperCase(), from, to);
+        return orderQueryService.page(filter, after, limit);
+    }
+
+    @GetMapping("/admin/orders/{orderRef}")
+    public OrderResponse adminOrder(@PathVariable("orderRef") String orderRef) {
+        var order = orderQueryService.getWithItems(orderRef, null);
+        return toResponseWithPhoneFallback(order, collectPhonesByEmail(List.of(order)));
+    }
+
     @GetMapping("/admin/all")
     public List<OrderResponse> allOrders() {
-        var orders = orderRepository.findAll();
+        var orders = orderRepository.findAllByOrderByIdDesc();
         Map<String, String> phonesByEmail = collectPhonesByEmail(orders);
         return orders.stream()
                 .map(order -> toResponseWithPhoneFallback(order, phonesByEmail))
@@ -103,10 +163,36 @@ public class OrderController {
         return orderAdminService.summary();
     }
 
+    @GetMapping("/admin/sales")
+    public List<SalesRollupRow> sales(@RequestParam(name = "granularity", defaultValue = "DAY") String granularity,
+                                      @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                      @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                      @RequestParam(name = "groupBy", required = false) String groupBy,
+                                      @RequestParam(name = "sku", required = false) String sku,
+                                      @RequestParam(name = "status", required = false) String status,
+                                      @RequestParam(name = "paymentMethod", required = false) String paymentMethod) {
+        return salesRollups.query(granularity, from, to, groupBy, sku, status, paymentMethod);
+    }
+
+    @GetMapping("/admin/outbox/failed")
+    public List<Map<String, Object>> failedOutboxMessages(@RequestParam(name = "limit", defaultValue = "200") int limit) {
+        return orderOutbox.failed(Math.min(Math.max(limit, 1), 500));
+    }
+
+    @PostMapping("/admin/outbox/{messageId}/requeue")
+    public void requeueOutboxMessage(@PathVariable("messageId") long messageId) {
+        orderOutbox.requeue(messageId);
+    }
+
+    @DeleteMapping("/admin/outbox/{messageId}")
+    public void discardOutboxMessage(@PathVariable("messageId") long messageId) {
+        orderOutbox.discard(messageId);
+    }
+
     private OrderResponse toResponseWithPhoneFallback(com.grocery.order.domain.OrderEntity order, Map<String, String> phonesByEmail) {
         String phone = order.getUserPhone();
         if (phone == null || phone.isBlank()) {
-            phone = phonesByEmail.getOrDefault(normalizeEmail(order.getUserEmail()), null);
+            phone = phonesByEmail.get(CustomerPhoneDirectory.normalize(order.getUserEmail()));
         }
         return new OrderResponse(
                 order.getOrderRef(),
@@ -123,25 +209,22 @@ public class OrderController {
         );
     }
 
-    private String safePhone(String email) {
-        try {
-            return identityClient.getProfile(email).phone();
-        } catch (Exception ignored) {
-            return null;
-        }
+    private static List<String> upper(List<String> values) {
+        return values == null ? null : values.stream()
+                .filter(v -> v != null && !v.isBlank())
+                .map(v -> v.trim().toUpperCase())
+                .toList();
     }
 
-    private String normalizeEmail(String email) {
-        return email == null ? "" : email.trim().toLowerCase();
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
     }
 
     private Map<String, String> collectPhonesByEmail(List<com.grocery.order.domain.OrderEntity> orders) {
-        Map<String, String> phonesByEmail = new java.util.HashMap<>();
-        orders.stream()
-                .map(order -> normalizeEmail(order.getUserEmail()))
-                .filter(email -> !email.isBlank())
-                .distinct()
-                .forEach(email -> phonesByEmail.put(email, safePhone(email)));
-        return phonesByEmail;
+        var emails = orders.stream()
+                .filter(order -> order.getUserPhone() == null || order.getUserPhone().isBlank())
+                .map(com.grocery.order.domain.OrderEntity::getUserEmail)
+                .toList();
+        return emails.isEmpty() ? Map.of() : phoneDirectory.phonesFor(emails);
     }
 }
@@ -0,0 +1,29 @@
+package com.grocery.order.domain;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum CheckoutSagaStep {
+    STARTED,
+    INVENTORY_RESERVED,
+    AWAITING_PAYMENT,
+    COMMITTING,
+    COMPLETED,
+    COMPENSATING,
+    COMPENSATED;
+
+    public boolean canMoveTo(CheckoutSagaStep next) {
+        return next(this).contains(next);
+    }
+
+    private static Set<CheckoutSagaStep> next(CheckoutSagaStep step) {
+        return switch (step) {
+            case STARTED -> EnumSet.of(INVENTORY_RESERVED, COMPENSATING);
+            case INVENTORY_RESERVED -> EnumSet.of(AWAITING_PAYMENT, COMPLETED, COMPENSATING);
+            case AWAITING_PAYMENT -> EnumSet.of(COMMITTING, COMPENSATING);
+            case COMMITTING -> EnumSet.of(COMPLETED);
+            case COMPENSATING -> EnumSet.of(COMPENSATED);
+            case COMPLETED, COMPENSATED -> EnumSet.noneOf(CheckoutSagaStep.class);
+        };
+    }
+}
@@ -28,6 +28,11 @@ public class OrderEntity {
     private BigDecimal totalAmount;
     @Column(nullable = false)
     private Instant createdAt;
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private CheckoutSagaStep sagaStep;
+    @Column
+    private Instant sagaUpdatedAt;
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItemEntity> items = new ArrayList<>();
@@ -42,5 +47,8 @@ public class OrderEntity {
     public String getRejectionComment(){return rejectionComment;} public void setRejectionComment(String rejectionComment){this.rejectionComment=rejectionComment;}
     public BigDecimal getTotalAmount(){return totalAmount;} public void setTotalAmount(BigDecimal t){this.totalAmount=t;}
     public Instant getCreatedAt(){return createdAt;}
+    public CheckoutSagaStep getSagaStep(){return sagaStep;}
+    public Instant getSagaUpdatedAt(){return sagaUpdatedAt;}
+    public void setSagaStep(CheckoutSagaStep sagaStep){this.sagaStep=sagaStep; this.sagaUpdatedAt=Instant.now();}
     public List<OrderItemEntity> getItems(){return items;}
 }
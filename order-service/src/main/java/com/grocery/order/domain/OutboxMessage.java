@@ -0,0 +1,4 @@
+package com.grocery.order.domain;
+
+public record OutboxMessage(long id, String orderRef, String eventType, String payload, int attempts) {
+}
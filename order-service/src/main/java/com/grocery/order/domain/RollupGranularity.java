@@ -0,0 +1,26 @@
+package com.grocery.order.domain;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+public enum RollupGranularity {
+    HOUR(ChronoUnit.HOURS, Duration.ofDays(93)),
+    DAY(ChronoUnit.DAYS, Duration.ofDays(3660));
+
+    private final ChronoUnit unit;
+    private final Duration maxRange;
+
+    RollupGranularity(ChronoUnit unit, Duration maxRange) {
+        this.unit = unit;
+        this.maxRange = maxRange;
+    }
+
+    public Instant bucketOf(Instant instant) {
+        return instant.truncatedTo(unit);
+    }
+
+    public Duration maxRange() {
+        return maxRange;
+    }
+}
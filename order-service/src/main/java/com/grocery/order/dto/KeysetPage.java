@@ -0,0 +1,6 @@
+package com.grocery.order.dto;
+
+import java.util.List;
+
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+}
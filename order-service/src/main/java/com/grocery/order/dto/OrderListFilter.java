@@ -0,0 +1,13 @@
+package com.grocery.order.dto;
+
+import java.time.Instant;
+import java.util.Collection;
+
+public record OrderListFilter(
+        String userEmail,
+        Collection<String> statuses,
+        String paymentMethod,
+        Instant from,
+        Instant to
+) {
+}
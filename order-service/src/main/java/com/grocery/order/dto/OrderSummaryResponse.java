@@ -0,0 +1,17 @@
+package com.grocery.order.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record OrderSummaryResponse(
+        Long id,
+        String orderRef,
+        String userEmail,
+        String userPhone,
+        String paymentMethod,
+        String status,
+        String rejectionComment,
+        BigDecimal totalAmount,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,13 @@
+package com.grocery.order.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record SalesRollupRow(
+        Instant bucketStart,
+        String key,
+        long orderLines,
+        long units,
+        BigDecimal revenue
+) {
+}
@@ -0,0 +1,69 @@
+package com.grocery.order.repo;
+
+import com.grocery.order.dto.OrderListFilter;
+import com.grocery.order.dto.OrderSummaryResponse;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Header-only order listing, newest first, paged by the {@code (created_at, id)} keyset so deep pages cost
+ * the same as the first one. Order items are never loaded here.
+ */
+@Repository
+public class OrderListingRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public OrderListingRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<OrderSummaryResponse> findPage(OrderListFilter filter, Instant afterCreatedAt, Long afterId, int limit) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT id, order_ref, user_email, user_phone, payment_method, status, rejection_comment, total_amount, created_at
+                FROM orders
+                WHERE 1 = 1""");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (filter.userEmail() != null) {
+            sql.append(" AND user_email = :userEmail");
+            params.addValue("userEmail", filter.userEmail());
+        }
+        if (filter.statuses() != null && !filter.statuses().isEmpty()) {
+            sql.append(" AND status IN (:statuses)");
+            params.addValue("statuses", filter.statuses());
+        }
+        if (filter.paymentMethod() != null) {
+            sql.append(" AND payment_method = :paymentMethod");
+            params.addValue("paymentMethod", filter.paymentMethod());
+        }
+        if (filter.from() != null) {
+            sql.append(" AND created_at >= :from");
+            params.addValue("from", Timestamp.from(filter.from()));
+        }
+        if (filter.to() != null) {
+            sql.append(" AND created_at < :to");
+            params.addValue("to", Timestamp.from(filter.to()));
+        }
+        if (afterCreatedAt != null && afterId != null) {
+            sql.append(" AND (created_at, id) < (:afterCreatedAt, :afterId)");
+            params.addValue("afterCreatedAt", Timestamp.from(afterCreatedAt));
+            params.addValue("afterId", afterId);
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT :limit");
+        params.addValue("limit", limit);
+        return jdbcTemplate.query(sql.toString(), params, (rs, i) -> new OrderSummaryResponse(
+                rs.getLong("id"),
+                rs.getString("order_ref"),
+                rs.getString("user_email"),
+                rs.getString("user_phone"),
+                rs.getString("payment_method"),
+                rs.getString("status"),
+                rs.getString("rejection_comment"),
+                rs.getBigDecimal("total_amount"),
+                rs.getTimestamp("created_at").toInstant()));
+    }
+}
@@ -1,24 +1,39 @@
 package com.grocery.order.repo;
 
+import com.grocery.order.domain.CheckoutSagaStep;
 import com.grocery.order.domain.OrderEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<OrderEntity, Long> {
     Optional<OrderEntity> findByOrderRef(String orderRef);
-    List<OrderEntity> findByUserEmailOrderByIdDesc(String userEmail);
-    List<OrderEntity> findByStatusInOrderByIdDesc(Collection<String> statuses);
 
-    @Query("select coalesce(sum(oi.quantity),0) from OrderEntity o join o.items oi where o.status in ('CONFIRMED','FULFILLING','SHIPPED','DELIVERED','COD_PENDING')")
-    long totalItemsSold();
+    @EntityGraph(attributePaths = "items")
+    Optional<OrderEntity> findWithItemsByOrderRef(String orderRef);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from OrderEntity o where o.orderRef = :orderRef")
+    Optional<OrderEntity> lockByOrderRef(@Param("orderRef") String orderRef);
+
+    @Query("select o.orderRef from OrderEntity o where o.sagaStep in :steps and o.sagaUpdatedAt < :before order by o.sagaUpdatedAt")
+    List<String> findStaleSagas(@Param("steps") Collection<CheckoutSagaStep> steps, @Param("before") Instant before, Pageable pageable);
 
-    @Query("select coalesce(sum(o.totalAmount),0) from OrderEntity o where o.status in ('CONFIRMED','FULFILLING','SHIPPED','DELIVERED','COD_PENDING')")
-    java.math.BigDecimal totalRevenue();
+    @EntityGraph(attributePaths = "items")
+    List<OrderEntity> findByUserEmailOrderByIdDesc(String userEmail);
+
+    @EntityGraph(attributePaths = "items")
+    List<OrderEntity> findByStatusInOrderByIdDesc(Collection<String> statuses);
 
-    @Query("select count(o) from OrderEntity o where o.status in ('PENDING','COD_PENDING','PENDING_PAYMENT','CONFIRMED','FULFILLING','SHIPPED')")
-    long totalInProcess();
+    @EntityGraph(attributePaths = "items")
+    List<OrderEntity> findAllByOrderByIdDesc();
 }
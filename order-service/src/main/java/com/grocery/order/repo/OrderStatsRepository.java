@@ -0,0 +1,85 @@
+package com.grocery.order.repo;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class OrderStatsRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Applies the deltas of one order change in (status, slot) order, so opposite transitions running
+     * concurrently lock the counter rows in the same order.
+     */
+    public void add(List<Delta> deltas) {
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO order_status_totals(status, slot, order_count, item_count, revenue) VALUES (?, ?, ?, ?, ?)
+                        ON CONFLICT (status, slot) DO UPDATE SET
+                          order_count = order_status_totals.order_count + EXCLUDED.order_count,
+                          item_count = order_status_totals.item_count + EXCLUDED.item_count,
+                          revenue = order_status_totals.revenue + EXCLUDED.revenue
+                        """,
+                deltas.stream()
+                        .sorted(Comparator.comparing(Delta::status).thenComparingInt(Delta::slot))
+                        .map(d -> new Object[]{d.status(), d.slot(), d.orders(), d.items(), d.revenue()})
+                        .toList());
+    }
+
+    public Map<String, StatusTotals> totalsByStatus() {
+        Map<String, StatusTotals> totals = new HashMap<>();
+        jdbcTemplate.query("""
+                        SELECT status, SUM(order_count) AS order_count, SUM(item_count) AS item_count, SUM(revenue) AS revenue
+                        FROM order_status_totals GROUP BY status
+                        """,
+                rs -> {
+                    totals.put(rs.getString("status"),
+                            new StatusTotals(rs.getLong("order_count"), rs.getLong("item_count"), rs.getBigDecimal("revenue")));
+                });
+        return totals;
+    }
+
+    /**
+     * Per-status difference between the totals recomputed from {@code orders} and the counters. Both sides are
+     * read by one statement, so they come from the same snapshot: every committed order change is in both and
+     * an in-flight one is in neither. No locks are taken, so checkouts and transitions are never blocked.
+     */
+    public List<Delta> drift() {
+        return jdbcTemplate.query("""
+                        SELECT COALESCE(a.status, t.status) AS status,
+                               COALESCE(a.order_count, 0) - COALESCE(t.order_count, 0) AS order_count,
+                               COALESCE(a.item_count, 0) - COALESCE(t.item_count, 0) AS item_count,
+                               COALESCE(a.revenue, 0) - COALESCE(t.revenue, 0) AS revenue
+                        FROM (SELECT o.status, COUNT(*) AS order_count, COALESCE(SUM(i.qty), 0) AS item_count,
+                                     COALESCE(SUM(o.total_amount), 0) AS revenue
+                              FROM orders o
+                              LEFT JOIN (SELECT order_id, SUM(quantity) AS qty FROM order_items GROUP BY order_id) i
+                                ON i.order_id = o.id
+                              GROUP BY o.status) a
+                        FULL OUTER JOIN (SELECT status, SUM(order_count) AS order_count, SUM(item_count) AS item_count,
+                                                SUM(revenue) AS revenue
+                                         FROM order_status_totals GROUP BY status) t
+                          ON t.status = a.status
+                        """,
+                (rs, i) -> new Delta(rs.getString("status"), 0, rs.getLong("order_count"), rs.getLong("item_count"),
+                        rs.getBigDecimal("revenue")))
+                .stream()
+                .filter(d -> d.orders() != 0 || d.items() != 0 || d.revenue().signum() != 0)
+                .toList();
+    }
+
+    public record StatusTotals(long orders, long items, BigDecimal revenue) {
+    }
+
+    public record Delta(String status, int slot, long orders, long items, BigDecimal revenue) {
+    }
+}
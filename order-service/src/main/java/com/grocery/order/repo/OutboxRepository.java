@@ -0,0 +1,91 @@
+package com.grocery.order.repo;
+
+import com.grocery.order.domain.OutboxMessage;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class OutboxRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(String orderRef, String eventType, String payload) {
+        jdbcTemplate.update("INSERT INTO order_outbox(order_ref, event_type, payload) VALUES (?, ?, ?)",
+                orderRef, eventType, payload);
+    }
+
+    /**
+     * Claims the oldest due message of each order reference, so messages of one order are delivered in
+     * insertion order, and leases them until {@code leaseUntil} so other relays skip them meanwhile. An
+     * earlier message parked as FAILED keeps holding back the rest of its order until it is requeued or
+     * discarded.
+     */
+    public List<OutboxMessage> claimDue(Instant now, Instant leaseUntil, int limit) {
+        List<OutboxMessage> claimed = jdbcTemplate.query("""
+                        SELECT o.id, o.order_ref, o.event_type, o.payload, o.attempts
+                        FROM order_outbox o
+                        WHERE o.status = 'PENDING' AND o.next_attempt_at <= ?
+                          AND NOT EXISTS (SELECT 1 FROM order_outbox p
+                                          WHERE p.order_ref = o.order_ref AND p.id < o.id)
+                        ORDER BY o.id
+                        LIMIT ?
+                        FOR UPDATE SKIP LOCKED
+                        """,
+                (rs, i) -> new OutboxMessage(rs.getLong("id"), rs.getString("order_ref"), rs.getString("event_type"),
+                        rs.getString("payload"), rs.getInt("attempts")),
+                Timestamp.from(now), limit);
+        if (!claimed.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE order_outbox SET next_attempt_at = ?, attempts = attempts + 1 WHERE id = ?",
+                    claimed.stream().map(m -> new Object[]{Timestamp.from(leaseUntil), m.id()}).toList());
+        }
+        return claimed;
+    }
+
+    public void delete(List<Long> ids) {
+        if (!ids.isEmpty()) {
+            jdbcTemplate.batchUpdate("DELETE FROM order_outbox WHERE id = ?", ids.stream().map(id -> new Object[]{id}).toList());
+        }
+    }
+
+    public void retryAt(long id, Instant nextAttemptAt, String error) {
+        jdbcTemplate.update("UPDATE order_outbox SET next_attempt_at = ?, last_error = ? WHERE id = ?",
+                Timestamp.from(nextAttemptAt), truncate(error), id);
+    }
+
+    public void markFailed(long id, String error) {
+        jdbcTemplate.update("UPDATE order_outbox SET status = 'FAILED', last_error = ? WHERE id = ?", truncate(error), id);
+    }
+
+    public List<Map<String, Object>> findFailed(int limit) {
+        return jdbcTemplate.queryForList("""
+                SELECT id, order_ref, event_type, attempts, last_error, created_at
+                FROM order_outbox
+                WHERE status = 'FAILED'
+                ORDER BY id
+                LIMIT ?
+                """, limit);
+    }
+
+    public boolean requeueFailed(long id) {
+        return jdbcTemplate.update("""
+                UPDATE order_outbox SET status = 'PENDING', attempts = 0, next_attempt_at = NOW()
+                WHERE id = ? AND status = 'FAILED'
+                """, id) > 0;
+    }
+
+    public boolean discardFailed(long id) {
+        return jdbcTemplate.update("DELETE FROM order_outbox WHERE id = ? AND status = 'FAILED'", id) > 0;
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= 500 ? error : error.substring(0, 500);
+    }
+}
@@ -0,0 +1,131 @@
+package com.grocery.order.repo;
+
+import com.grocery.order.domain.RollupGranularity;
+import com.grocery.order.dto.SalesRollupRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+@Repository
+public class SalesRollupRepository {
+    private static final Comparator<Delta> KEY_ORDER = Comparator.comparing(Delta::granularity)
+            .thenComparing(Delta::bucketStart)
+            .thenComparing(Delta::sku)
+            .thenComparing(Delta::status)
+            .thenComparing(Delta::paymentMethod)
+            .thenComparingInt(Delta::slot);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public SalesRollupRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    /**
+     * Applies the deltas in key order. Callers pass every delta of one order change in a single call so
+     * concurrent transactions touching overlapping buckets lock rows in the same order and cannot deadlock.
+     */
+    public void add(List<Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO order_sales_rollup(granularity, bucket_start, sku, status, payment_method, slot, order_lines, units, revenue)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                        ON CONFLICT (granularity, bucket_start, sku, status, payment_method, slot) DO UPDATE SET
+                          order_lines = order_sales_rollup.order_lines + EXCLUDED.order_lines,
+                          units = order_sales_rollup.units + EXCLUDED.units,
+                          revenue = order_sales_rollup.revenue + EXCLUDED.revenue
+                        """,
+                deltas.stream().sorted(KEY_ORDER).map(d -> new Object[]{
+                        d.granularity().name(), Timestamp.from(d.bucketStart()), d.sku(), d.status(), d.paymentMethod(),
+                        d.slot(), d.orderLines(), d.units(), d.revenue()}).toList());
+    }
+
+    public List<SalesRollupRow> query(RollupGranularity granularity, Instant from, Instant to, String groupColumn,
+                                      String sku, String status, String paymentMethod) {
+        String key = groupColumn == null ? "''" : groupColumn;
+        StringBuilder sql = new StringBuilder("SELECT bucket_start, " + key + " AS rollup_key,"
+                + " SUM(order_lines) AS order_lines, SUM(units) AS units, SUM(revenue) AS revenue"
+                + " FROM order_sales_rollup"
+                + " WHERE granularity = :granularity AND bucket_start >= :from AND bucket_start < :to");
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("granularity", granularity.name())
+                .addValue("from", Timestamp.from(from))
+                .addValue("to", Timestamp.from(to));
+        if (sku != null) {
+            sql.append(" AND sku = :sku");
+            params.addValue("sku", sku);
+        }
+        if (status != null) {
+            sql.append(" AND status = :status");
+            params.addValue("status", status);
+        }
+        if (paymentMethod != null) {
+            sql.append(" AND payment_method = :paymentMethod");
+            params.addValue("paymentMethod", paymentMethod);
+        }
+        sql.append(" GROUP BY bucket_start, rollup_key ORDER BY bucket_start, rollup_key");
+        return namedJdbcTemplate.query(sql.toString(), params, (rs, i) -> new SalesRollupRow(
+                rs.getTimestamp("bucket_start").toInstant(),
+                groupColumn == null ? null : rs.getString("rollup_key"),
+                rs.getLong("order_lines"),
+                rs.getLong("units"),
+                rs.getBigDecimal("revenue")));
+    }
+
+    /**
+     * Difference between the buckets recomputed from orders created in {@code [from, to)} and the rollup rows of
+     * those buckets; both bounds must be day-aligned. One statement reads both sides from the same snapshot and
+     * takes no locks, so the result can be added with {@link #add} while orders keep changing.
+     */
+    public List<Delta> drift(Instant from, Instant to) {
+        return jdbcTemplate.query("""
+                        SELECT COALESCE(a.granularity, r.granularity) AS granularity,
+                               COALESCE(a.bucket_start, r.bucket_start) AS bucket_start,
+                               COALESCE(a.sku, r.sku) AS sku,
+                               COALESCE(a.status, r.status) AS status,
+                               COALESCE(a.payment_method, r.payment_method) AS payment_method,
+                               COALESCE(a.order_lines, 0) - COALESCE(r.order_lines, 0) AS order_lines,
+                               COALESCE(a.units, 0) - COALESCE(r.units, 0) AS units,
+                               COALESCE(a.revenue, 0) - COALESCE(r.revenue, 0) AS revenue
+                        FROM (SELECT g.granularity,
+                                     date_trunc(CASE g.granularity WHEN 'HOUR' THEN 'hour' ELSE 'day' END, o.created_at AT TIME ZONE 'UTC') AT TIME ZONE 'UTC' AS bucket_start,
+                                     i.sku, o.status, o.payment_method, COUNT(*) AS order_lines, SUM(i.quantity) AS units,
+                                     SUM(i.quantity * i.unit_price) AS revenue
+                              FROM orders o
+                              JOIN order_items i ON i.order_id = o.id
+                              CROSS JOIN (VALUES ('HOUR'), ('DAY')) AS g(granularity)
+                              WHERE o.created_at >= ? AND o.created_at < ?
+                              GROUP BY 1, 2, 3, 4, 5) a
+                        FULL OUTER JOIN (SELECT granularity, bucket_start, sku, status, payment_method,
+                                                SUM(order_lines) AS order_lines, SUM(units) AS units, SUM(revenue) AS revenue
+                                         FROM order_sales_rollup
+                                         WHERE bucket_start >= ? AND bucket_start < ?
+                                         GROUP BY granularity, bucket_start, sku, status, payment_method) r
+                          ON r.granularity = a.granularity AND r.bucket_start = a.bucket_start AND r.sku = a.sku
+                         AND r.status = a.status AND r.payment_method = a.payment_method
+                        """,
+                (rs, i) -> new Delta(RollupGranularity.valueOf(rs.getString("granularity")),
+                        rs.getTimestamp("bucket_start").toInstant(), rs.getString("sku"), rs.getString("status"),
+                        rs.getString("payment_method"), 0, rs.getLong("order_lines"), rs.getLong("units"),
+                        rs.getBigDecimal("revenue")),
+                Timestamp.from(from), Timestamp.from(to), Timestamp.from(from), Timestamp.from(to))
+                .stream()
+                .filter(d -> d.orderLines() != 0 || d.units() != 0 || d.revenue().signum() != 0)
+                .toList();
+    }
+
+    public record Delta(RollupGranularity granularity, Instant bucketStart, String sku, String status, String paymentMethod,
+                        int slot, long orderLines, long units, BigDecimal revenue) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.grocery.order.resilience;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "dependencies")
+public class DependenciesEndpoint {
+    private final DependencyGuards guards;
+
+    public DependenciesEndpoint(DependencyGuards guards) {
+        this.guards = guards;
+    }
+
+    @ReadOperation
+    public Map<String, Object> dependencies() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (DependencyGuard guard : guards.all()) {
+            result.put(guard.name(), Map.of(
+                    "state", guard.state(),
+                    "inFlight", guard.inFlight(),
+                    "failureRate", guard.failureRate(),
+                    "rejectedCalls", guard.rejectedCalls()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,174 @@
+package com.grocery.order.resilience;
+
+import com.grocery.common.api.DomainException;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead plus count-based circuit breaker for one remote dependency. The breaker opens when the failure
+ * rate over the last {@code windowSize} calls reaches the threshold, rejects calls while open, then lets
+ * {@code halfOpenProbes} calls through; if they all succeed it closes again, otherwise it reopens.
+ * 4xx responses are treated as successful calls since they say nothing about the dependency's health.
+ */
+public class DependencyGuard {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final Semaphore bulkhead;
+    private final int maxConcurrent;
+    private final long maxWaitMs;
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationMs;
+    private final int halfOpenProbes;
+
+    private State state = State.CLOSED;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+    private long rejectedCalls;
+
+    public DependencyGuard(String name, int maxConcurrent, long maxWaitMs, int windowSize, int minimumCalls,
+                           double failureRateThreshold, long openDurationMs, int halfOpenProbes) {
+        this.name = name;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitMs = maxWaitMs;
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMs = openDurationMs;
+        this.halfOpenProbes = halfOpenProbes;
+    }
+
+    public <T> T call(Supplier<T> remoteCall) {
+        if (!tryEnter()) {
+            throw new DomainException("DEPENDENCY_UNAVAILABLE", name + " is temporarily unavailable");
+        }
+        boolean permit;
+        try {
+            permit = bulkhead.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            permit = false;
+        }
+        if (!permit) {
+            release(false, true);
+            throw new DomainException("DEPENDENCY_BUSY", name + " has too many calls in flight");
+        }
+        try {
+            T result = remoteCall.get();
+            release(true, false);
+            return result;
+        } catch (HttpClientErrorException ex) {
+            release(true, false);
+            throw ex;
+        } catch (RuntimeException ex) {
+            release(false, false);
+            throw ex;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public void run(Runnable remoteCall) {
+        call(() -> {
+            remoteCall.run();
+            return null;
+        });
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public synchronized State state() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openDurationMs) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public int inFlight() {
+        return maxConcurrent - bulkhead.availablePermits();
+    }
+
+    public synchronized double failureRate() {
+        return windowCount == 0 ? 0 : (double) windowFailures / windowCount;
+    }
+
+    public synchronized long rejectedCalls() {
+        return rejectedCalls;
+    }
+
+    private synchronized boolean tryEnter() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openDurationMs) {
+                rejectedCalls++;
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesStarted = 0;
+            probesSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesStarted >= halfOpenProbes) {
+                rejectedCalls++;
+                return false;
+            }
+            probesStarted++;
+        }
+        return true;
+    }
+
+    private synchronized void release(boolean success, boolean bulkheadRejected) {
+        if (bulkheadRejected) {
+            rejectedCalls++;
+            if (state == State.HALF_OPEN) {
+                probesStarted--;
+            }
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (!success) {
+                open();
+            } else if (++probesSucceeded >= halfOpenProbes) {
+                state = State.CLOSED;
+                windowIndex = 0;
+                windowCount = 0;
+                windowFailures = 0;
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = !success;
+        if (!success) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+        if (windowCount >= minimumCalls && (double) windowFailures / windowCount >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+    }
+}
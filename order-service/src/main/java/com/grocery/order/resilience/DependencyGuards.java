@@ -0,0 +1,55 @@
+package com.grocery.order.resilience;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+public class DependencyGuards {
+    public static final String IDENTITY = "identity";
+    public static final String INVENTORY = "inventory";
+    public static final String PAYMENT = "payment";
+
+    private final Map<String, DependencyGuard> guards = new LinkedHashMap<>();
+
+    public DependencyGuards(Environment env, MeterRegistry meterRegistry) {
+        for (String name : new String[]{IDENTITY, INVENTORY, PAYMENT}) {
+            String prefix = "app.resilience." + name + ".";
+            DependencyGuard guard = new DependencyGuard(name,
+                    env.getProperty(prefix + "max-concurrent", Integer.class, 32),
+                    env.getProperty(prefix + "max-wait-ms", Long.class, 200L),
+                    env.getProperty(prefix + "window-size", Integer.class, 50),
+                    env.getProperty(prefix + "minimum-calls", Integer.class, 20),
+                    env.getProperty(prefix + "failure-rate-threshold", Double.class, 0.5),
+                    env.getProperty(prefix + "open-duration-ms", Long.class, 30000L),
+                    env.getProperty(prefix + "half-open-probes", Integer.class, 3));
+            guards.put(name, guard);
+            Gauge.builder("dependency.circuit.state", guard, g -> g.state().ordinal())
+                    .description("0 = closed, 1 = open, 2 = half-open")
+                    .tag("dependency", name)
+                    .register(meterRegistry);
+            Gauge.builder("dependency.bulkhead.in.flight", guard, DependencyGuard::inFlight)
+                    .tag("dependency", name)
+                    .register(meterRegistry);
+            Gauge.builder("dependency.failure.rate", guard, DependencyGuard::failureRate)
+                    .tag("dependency", name)
+                    .register(meterRegistry);
+            Gauge.builder("dependency.rejected.calls", guard, DependencyGuard::rejectedCalls)
+                    .tag("dependency", name)
+                    .register(meterRegistry);
+        }
+    }
+
+    public DependencyGuard get(String name) {
+        return guards.get(name);
+    }
+
+    public Collection<DependencyGuard> all() {
+        return guards.values();
+    }
+}
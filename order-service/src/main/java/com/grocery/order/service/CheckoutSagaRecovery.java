@@ -0,0 +1,69 @@
+package com.grocery.order.service;
+
+import com.grocery.order.domain.CheckoutSagaStep;
+import com.grocery.order.repo.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+
+/**
+ * Finishes checkouts whose saga stopped mid-way: paid orders left in COMMITTING are committed, and
+ * orders that died between the inventory reservation and the payment call are compensated.
+ */
+@Component
+public class CheckoutSagaRecovery {
+    private static final Logger log = LoggerFactory.getLogger(CheckoutSagaRecovery.class);
+    private static final EnumSet<CheckoutSagaStep> COMPENSABLE = EnumSet.of(
+            CheckoutSagaStep.STARTED, CheckoutSagaStep.INVENTORY_RESERVED, CheckoutSagaStep.COMPENSATING);
+    private static final EnumSet<CheckoutSagaStep> COMMITTING = EnumSet.of(CheckoutSagaStep.COMMITTING);
+
+    private final OrderRepository orderRepository;
+    private final CheckoutService checkoutService;
+    private final Duration staleAfter;
+    private final int batchSize;
+
+    public CheckoutSagaRecovery(OrderRepository orderRepository,
+                                CheckoutService checkoutService,
+                                @Value("${app.checkout.saga.stale-after-ms:120000}") long staleAfterMs,
+                                @Value("${app.checkout.saga.recovery-batch-size:100}") int batchSize) {
+        this.orderRepository = orderRepository;
+        this.checkoutService = checkoutService;
+        this.staleAfter = Duration.ofMillis(staleAfterMs);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.checkout.saga.recovery-interval-ms:60000}")
+    public void recover() {
+        Instant cutoff = Instant.now().minus(staleAfter);
+        var committing = orderRepository.findStaleSagas(COMMITTING, cutoff, PageRequest.of(0, batchSize));
+        for (String orderRef : committing) {
+            try {
+                checkoutService.finishCommit(orderRef);
+            } catch (RuntimeException ex) {
+                log.warn("Checkout commit recovery for {} failed, will retry: {}", orderRef, ex.getMessage());
+            }
+        }
+        if (!committing.isEmpty()) {
+            log.info("Committed {} stalled paid checkouts", committing.size());
+        }
+
+        var stale = orderRepository.findStaleSagas(COMPENSABLE, cutoff, PageRequest.of(0, batchSize));
+        for (String orderRef : stale) {
+            try {
+                checkoutService.compensate(orderRef, "FAILED");
+            } catch (RuntimeException ex) {
+                log.warn("Checkout saga recovery for {} failed, will retry: {}", orderRef, ex.getMessage());
+            }
+        }
+        if (!stale.isEmpty()) {
+            log.info("Compensated {} stalled checkout sagas", stale.size());
+        }
+    }
+}
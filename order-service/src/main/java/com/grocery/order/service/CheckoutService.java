@@ -1,8 +1,10 @@
 package com.grocery.order.service;
 
+import com.grocery.order.client.CartClient;
 import com.grocery.order.client.InventoryClient;
 import com.grocery.order.client.IdentityClient;
 import com.grocery.order.client.PaymentClient;
+import com.grocery.order.domain.CheckoutSagaStep;
 import com.grocery.order.domain.OrderDeliveryAddressEntity;
 import com.grocery.order.domain.OrderEntity;
 import com.grocery.order.domain.OrderItemEntity;
@@ -12,112 +14,267 @@ import com.grocery.common.api.DomainException;
 import com.grocery.order.repo.OrderDeliveryAddressRepository;
 import com.grocery.order.repo.OrderRepository;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class CheckoutService {
+    private static final Set<String> LEGACY_COMPENSABLE_STATUSES = Set.of("PENDING", "PENDING_PAYMENT");
+
     private final OrderRepository orderRepository;
     private final OrderDeliveryAddressRepository orderDeliveryAddressRepository;
     private final InventoryClient inventoryClient;
     private final PaymentClient paymentClient;
     private final IdentityClient identityClient;
+    private final CartClient cartClient;
+    private final ParallelCalls parallelCalls;
+    private final OrderStatusStats orderStatusStats;
+    private final TransactionTemplate transactionTemplate;
 
     public CheckoutService(OrderRepository orderRepository,
                            OrderDeliveryAddressRepository orderDeliveryAddressRepository,
                            InventoryClient inventoryClient,
                            PaymentClient paymentClient,
-                           IdentityClient identityClient) {
+                           IdentityClient identityClient,
+                           CartClient cartClient,
+                           ParallelCalls parallelCalls,
+                           OrderStatusStats orderStatusStats,
+                           PlatformTransactionManager transactionManager) {
         this.orderRepository = orderRepository;
         this.orderDeliveryAddressRepository = orderDeliveryAddressRepository;
         this.inventoryClient = inventoryClient;
         this.paymentClient = paymentClient;
         this.identityClient = identityClient;
+        this.cartClient = cartClient;
+        this.parallelCalls = parallelCalls;
+        this.orderStatusStats = orderStatusStats;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    @Transactional
     public CheckoutResponse checkout(CheckoutRequest request, String authenticatedEmail) {
-        DeliveryAddressSnapshot deliveryAddress = resolveAddress(authenticatedEmail, request);
+        var profileCall = parallelCalls.submit(() -> identityClient.getProfile(authenticatedEmail));
+        var addressCall = parallelCalls.submit(() -> resolveAddress(authenticatedEmail, request));
+        var cartFlush = parallelCalls.submit(() -> {
+            cartClient.flushReservations(authenticatedEmail);
+            return null;
+        });
+        parallelCalls.awaitAll(profileCall, addressCall, cartFlush);
+        DeliveryAddressSnapshot deliveryAddress = addressCall.join();
         String orderRef = "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
 
-        OrderEntity order = new OrderEntity();
-        order.setOrderRef(orderRef);
-        order.setUserEmail(authenticatedEmail);
-        order.setUserPhone(identityClient.getProfile(authenticatedEmail).phone());
-        order.setPaymentMethod(request.paymentMethod());
-        order.setStatus("PENDING");
-
-        BigDecimal total = BigDecimal.ZERO;
-        for (CheckoutRequest.Item item : request.items()) {
-            OrderItemEntity e = new OrderItemEntity();
-            e.setOrder(order);
-            e.setSku(item.sku());
-            e.setItemName(item.name());
-            e.setQuantity(item.qty());
-            e.setUnitPrice(item.unitPrice());
-            order.getItems().add(e);
-            total = total.add(item.unitPrice().multiply(BigDecimal.valueOf(item.qty())));
-        }
-        order.setTotalAmount(total);
-        orderRepository.save(order);
-        saveDeliveryAddress(order, deliveryAddress);
-
-        inventoryClient.reserve(orderRef, request.items());
+        BigDecimal total = transactionTemplate.execute(status -> {
+            if (hasText(request.resubmittedOrderRef())) {
+                lockResubmittable(request.resubmittedOrderRef(), authenticatedEmail);
+            }
+            OrderEntity order = new OrderEntity();
+            order.setOrderRef(orderRef);
+            order.setUserEmail(authenticatedEmail);
+            order.setUserPhone(profileCall.join().phone());
+            order.setPaymentMethod(request.paymentMethod());
+            order.setStatus("PENDING");
+            order.setSagaStep(CheckoutSagaStep.STARTED);
+
+            BigDecimal sum = BigDecimal.ZERO;
+            for (CheckoutRequest.Item item : request.items()) {
+                OrderItemEntity e = new OrderItemEntity();
+                e.setOrder(order);
+                e.setSku(item.sku());
+                e.setItemName(item.name());
+                e.setQuantity(item.qty());
+                e.setUnitPrice(item.unitPrice());
+                order.getItems().add(e);
+                sum = sum.add(item.unitPrice().multiply(BigDecimal.valueOf(item.qty())));
+            }
+            order.setTotalAmount(sum);
+            orderRepository.save(order);
+            orderStatusStats.created(order);
+            saveDeliveryAddress(order, deliveryAddress);
+            return sum;
+        });
+
+        try {
+            inventoryClient.reserve(orderRef, request.items(), sagaKey(orderRef, CheckoutSagaStep.INVENTORY_RESERVED));
+        } catch (RuntimeException ex) {
+            compensate(orderRef, "FAILED");
+            throw ex;
+        }
+        advanceOrCompensate(orderRef, CheckoutSagaStep.INVENTORY_RESERVED, null, null);
 
         if ("COD".equalsIgnoreCase(request.paymentMethod())) {
-            markPriorRejectedOrderResubmitted(request.resubmittedOrderRef(), authenticatedEmail, orderRef);
-            order.setStatus("COD_PENDING");
-            return new CheckoutResponse(orderRef, order.getStatus(), "NOT_REQUIRED", null);
+            advanceOrCompensate(orderRef, CheckoutSagaStep.COMPLETED, "COD_PENDING", request.resubmittedOrderRef());
+            return new CheckoutResponse(orderRef, "COD_PENDING", "NOT_REQUIRED", null);
         }
 
-        var paymentIntent = paymentClient.pay(orderRef, total, request.paymentMethod());
+        PaymentClient.PaymentIntent paymentIntent;
+        try {
+            paymentIntent = paymentClient.pay(orderRef, total, request.paymentMethod());
+        } catch (RuntimeException ex) {
+            compensate(orderRef, "PAYMENT_FAILED");
+            throw ex;
+        }
         if ("REQUIRES_ACTION".equalsIgnoreCase(paymentIntent.status())) {
-            markPriorRejectedOrderResubmitted(request.resubmittedOrderRef(), authenticatedEmail, orderRef);
-            order.setStatus("PENDING_PAYMENT");
-            return new CheckoutResponse(orderRef, order.getStatus(), paymentIntent.status(), paymentIntent.redirectUrl());
+            advanceOrCompensate(orderRef, CheckoutSagaStep.AWAITING_PAYMENT, "PENDING_PAYMENT", request.resubmittedOrderRef());
+            return new CheckoutResponse(orderRef, "PENDING_PAYMENT", paymentIntent.status(), paymentIntent.redirectUrl());
         }
 
-        inventoryClient.release(orderRef);
-        order.setStatus("PAYMENT_FAILED");
-        return new CheckoutResponse(orderRef, order.getStatus(), paymentIntent.status(), null);
+        compensate(orderRef, "PAYMENT_FAILED");
+        return new CheckoutResponse(orderRef, "PAYMENT_FAILED", paymentIntent.status(), null);
     }
 
-    @Transactional
     public CheckoutResponse confirmPayment(String orderRef, String providerRef, String authenticatedEmail) {
-        OrderEntity order = orderRepository.findByOrderRef(orderRef)
-                .orElseThrow(() -> new DomainException("ORDER_NOT_FOUND", "Order not found"));
-        if (!order.getUserEmail().equalsIgnoreCase(authenticatedEmail)) {
-            throw new DomainException("UNAUTHORIZED", "Order does not belong to authenticated user");
-        }
+        OrderEntity order = transactionTemplate.execute(status -> ownedOrder(orderRef, authenticatedEmail));
         if ("CONFIRMED".equalsIgnoreCase(order.getStatus())) {
             return new CheckoutResponse(orderRef, order.getStatus(), "SUCCESS", null);
         }
+        requirePayable(order);
 
         var paymentStatus = paymentClient.verify(providerRef);
         if (!paymentStatus.paid()) {
             throw new DomainException("PAYMENT_NOT_COMPLETED", "Payment is not completed yet");
         }
 
-        inventoryClient.commit(orderRef);
-        order.setStatus("CONFIRMED");
-        return new CheckoutResponse(orderRef, order.getStatus(), paymentStatus.paymentStatus(), null);
+        // Claim the order under the row lock before touching inventory, so a concurrent cancel or
+        // recovery run sees COMMITTING and leaves the hold alone.
+        boolean alreadyCompleted = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            OrderEntity locked = lockOrder(orderRef);
+            if (locked.getSagaStep() == CheckoutSagaStep.COMPLETED && "CONFIRMED".equalsIgnoreCase(locked.getStatus())) {
+                return true;
+            }
+            requirePayable(locked);
+            if (locked.getSagaStep() != CheckoutSagaStep.COMMITTING) {
+                locked.setSagaStep(CheckoutSagaStep.COMMITTING);
+            }
+            return false;
+        }));
+        if (!alreadyCompleted) {
+            finishCommit(orderRef);
+        }
+        return new CheckoutResponse(orderRef, "CONFIRMED", paymentStatus.paymentStatus(), null);
+    }
+
+    /**
+     * Commits the inventory hold of a paid order in the COMMITTING step and marks it confirmed. Safe to repeat;
+     * {@link CheckoutSagaRecovery} calls it for orders left in COMMITTING by an interrupted confirmation.
+     */
+    public void finishCommit(String orderRef) {
+        inventoryClient.commit(orderRef, sagaKey(orderRef, CheckoutSagaStep.COMMITTING));
+        transactionTemplate.executeWithoutResult(status -> {
+            OrderEntity locked = lockOrder(orderRef);
+            if (locked.getSagaStep() == CheckoutSagaStep.COMMITTING) {
+                locked.setSagaStep(CheckoutSagaStep.COMPLETED);
+                orderStatusStats.transition(locked, "CONFIRMED");
+            }
+        });
     }
 
-    @Transactional
     public CheckoutResponse cancelPayment(String orderRef, String authenticatedEmail) {
+        OrderEntity order = transactionTemplate.execute(status -> ownedOrder(orderRef, authenticatedEmail));
+        if ("CONFIRMED".equalsIgnoreCase(order.getStatus())) {
+            return new CheckoutResponse(orderRef, order.getStatus(), "SUCCESS", null);
+        }
+        if (!compensate(orderRef, "PAYMENT_CANCELLED")) {
+            OrderEntity current = transactionTemplate.execute(status -> ownedOrder(orderRef, authenticatedEmail));
+            throw new DomainException("ORDER_NOT_CANCELLABLE", "Order " + orderRef + " is " + current.getStatus());
+        }
+        return new CheckoutResponse(orderRef, "PAYMENT_CANCELLED", "CANCELLED", null);
+    }
+
+    /**
+     * Releases the inventory hold of a checkout that did not complete and records the final order status.
+     * The COMPENSATING step is persisted before the remote call so an interrupted compensation is retried
+     * by {@link CheckoutSagaRecovery}. Orders that are committing or completed are left untouched.
+     *
+     * @return whether the order was compensated
+     */
+    public boolean compensate(String orderRef, String finalStatus) {
+        boolean claimed = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            OrderEntity order = lockOrder(orderRef);
+            CheckoutSagaStep step = order.getSagaStep();
+            if (step == CheckoutSagaStep.COMPENSATING) {
+                return true;
+            }
+            boolean compensable = step == null
+                    ? LEGACY_COMPENSABLE_STATUSES.contains(order.getStatus())
+                    : step.canMoveTo(CheckoutSagaStep.COMPENSATING);
+            if (!compensable) {
+                return false;
+            }
+            order.setSagaStep(CheckoutSagaStep.COMPENSATING);
+            return true;
+        }));
+        if (!claimed) {
+            return false;
+        }
+        inventoryClient.release(orderRef, sagaKey(orderRef, CheckoutSagaStep.COMPENSATING));
+        transactionTemplate.executeWithoutResult(status -> {
+            OrderEntity order = lockOrder(orderRef);
+            if (order.getSagaStep() == CheckoutSagaStep.COMPENSATING) {
+                order.setSagaStep(CheckoutSagaStep.COMPENSATED);
+            }
+            orderStatusStats.transition(order, finalStatus);
+        });
+        return true;
+    }
+
+    /**
+     * Each saga step runs at most once per order, so the step names the inventory call; retries of the step,
+     * including those by {@link CheckoutSagaRecovery}, reuse the key.
+     */
+    private static String sagaKey(String orderRef, CheckoutSagaStep step) {
+        return orderRef + ":saga:" + step.name();
+    }
+
+    private static void requirePayable(OrderEntity order) {
+        CheckoutSagaStep step = order.getSagaStep();
+        if (step != null && step != CheckoutSagaStep.AWAITING_PAYMENT && step != CheckoutSagaStep.COMMITTING) {
+            throw new DomainException("ORDER_NOT_PAYABLE", "Order " + order.getOrderRef() + " is " + order.getStatus());
+        }
+    }
+
+    /**
+     * Advances a checkout whose inventory is already held. If the step cannot be recorded (for instance the
+     * resubmitted order was taken by a concurrent resubmit) the hold is released straight away instead of
+     * waiting for {@link CheckoutSagaRecovery}. An unpaid payment intent is left to expire, as on PAYMENT_FAILED.
+     */
+    private void advanceOrCompensate(String orderRef, CheckoutSagaStep next, String orderStatus, String resubmittedOrderRef) {
+        try {
+            advance(orderRef, next, orderStatus, resubmittedOrderRef);
+        } catch (RuntimeException ex) {
+            compensate(orderRef, "FAILED");
+            throw ex;
+        }
+    }
+
+    private void advance(String orderRef, CheckoutSagaStep next, String orderStatus, String resubmittedOrderRef) {
+        transactionTemplate.executeWithoutResult(status -> {
+            OrderEntity order = lockOrder(orderRef);
+            if (!order.getSagaStep().canMoveTo(next)) {
+                throw new DomainException("CHECKOUT_CONFLICT", "Order " + orderRef + " cannot move from " + order.getSagaStep() + " to " + next);
+            }
+            order.setSagaStep(next);
+            if (orderStatus != null) {
+                orderStatusStats.transition(order, orderStatus);
+                markPriorRejectedOrderResubmitted(resubmittedOrderRef, order.getUserEmail(), orderRef);
+            }
+        });
+    }
+
+    private OrderEntity ownedOrder(String orderRef, String authenticatedEmail) {
         OrderEntity order = orderRepository.findByOrderRef(orderRef)
                 .orElseThrow(() -> new DomainException("ORDER_NOT_FOUND", "Order not found"));
         if (!order.getUserEmail().equalsIgnoreCase(authenticatedEmail)) {
             throw new DomainException("UNAUTHORIZED", "Order does not belong to authenticated user");
         }
-        if ("CONFIRMED".equalsIgnoreCase(order.getStatus())) {
-            return new CheckoutResponse(orderRef, order.getStatus(), "SUCCESS", null);
-        }
-        inventoryClient.release(orderRef);
-        order.setStatus("PAYMENT_CANCELLED");
-        return new CheckoutResponse(orderRef, order.getStatus(), "CANCELLED", null);
+        return order;
+    }
+
+    private OrderEntity lockOrder(String orderRef) {
+        return orderRepository.lockByOrderRef(orderRef)
+                .orElseThrow(() -> new DomainException("ORDER_NOT_FOUND", "Order not found"));
     }
 
     private DeliveryAddressSnapshot resolveAddress(String authenticatedEmail, CheckoutRequest request) {
@@ -167,12 +324,9 @@ public class CheckoutService {
         orderDeliveryAddressRepository.save(entity);
     }
 
-    private void markPriorRejectedOrderResubmitted(String rejectedOrderRef, String authenticatedEmail, String newOrderRef) {
-        if (rejectedOrderRef == null || rejectedOrderRef.isBlank()) {
-            return;
-        }
-
-        OrderEntity priorOrder = orderRepository.findByOrderRef(rejectedOrderRef.trim())
+    // Checked under the row lock so two concurrent resubmits of one order cannot both see it REJECTED.
+    private OrderEntity lockResubmittable(String rejectedOrderRef, String authenticatedEmail) {
+        OrderEntity priorOrder = orderRepository.lockByOrderRef(rejectedOrderRef.trim())
                 .orElseThrow(() -> new DomainException("ORDER_NOT_FOUND", "Original rejected order not found"));
         if (!priorOrder.getUserEmail().equalsIgnoreCase(authenticatedEmail)) {
             throw new DomainException("UNAUTHORIZED", "Original order does not belong to authenticated user");
@@ -180,10 +334,21 @@ public class CheckoutService {
         if (!"REJECTED".equalsIgnoreCase(priorOrder.getStatus())) {
             throw new DomainException("ORDER_NOT_REJECTED", "Only rejected orders can be resubmitted");
         }
+        return priorOrder;
+    }
 
-        priorOrder.setStatus("CANCELED");
+    private void markPriorRejectedOrderResubmitted(String rejectedOrderRef, String authenticatedEmail, String newOrderRef) {
+        if (!hasText(rejectedOrderRef)) {
+            return;
+        }
+        OrderEntity priorOrder = lockResubmittable(rejectedOrderRef, authenticatedEmail);
+        orderStatusStats.transition(priorOrder, "CANCELED");
         priorOrder.setRejectionComment("Resubmitted as " + newOrderRef);
     }
 
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
     private record DeliveryAddressSnapshot(String label, String line1, String line2, String city, String postcode, String country) {}
 }
@@ -0,0 +1,93 @@
+package com.grocery.order.service;
+
+import com.grocery.order.client.IdentityClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of customer phone numbers keyed by normalized email. Misses are resolved with a single
+ * bulk identity-service call, and unknown or phoneless customers are cached too so they are not re-asked
+ * on every listing. Lookups degrade to whatever is cached when identity-service is unavailable.
+ */
+@Component
+public class CustomerPhoneDirectory {
+    private static final Logger log = LoggerFactory.getLogger(CustomerPhoneDirectory.class);
+
+    private final IdentityClient identityClient;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public CustomerPhoneDirectory(IdentityClient identityClient,
+                                  @Value("${app.orders.phone-cache.ttl-ms:60000}") long ttlMs,
+                                  @Value("${app.orders.phone-cache.max-entries:20000}") int maxEntries) {
+        this.identityClient = identityClient;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    public Map<String, String> phonesFor(Collection<String> emails) {
+        long now = System.currentTimeMillis();
+        Map<String, String> phones = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String raw : emails) {
+            String email = normalize(raw);
+            if (email.isEmpty()) {
+                continue;
+            }
+            Entry entry = entries.get(email);
+            if (entry != null && now - entry.loadedAt() <= ttlMs) {
+                phones.put(email, entry.phone());
+            } else {
+                missing.add(email);
+            }
+        }
+        if (missing.isEmpty()) {
+            return phones;
+        }
+        try {
+            Map<String, String> loaded = new HashMap<>();
+            for (IdentityClient.UserContact contact : identityClient.findContacts(missing)) {
+                loaded.put(normalize(contact.email()), blankToNull(contact.phone()));
+            }
+            if (entries.size() + missing.size() > maxEntries) {
+                entries.values().removeIf(entry -> now - entry.loadedAt() > ttlMs);
+                if (entries.size() + missing.size() > maxEntries) {
+                    entries.clear();
+                }
+            }
+            for (String email : missing) {
+                String phone = loaded.get(email);
+                entries.put(email, new Entry(phone, now));
+                phones.put(email, phone);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Phone lookup for {} customers failed, using cached values: {}", missing.size(), ex.getMessage());
+            for (String email : missing) {
+                Entry stale = entries.get(email);
+                phones.put(email, stale == null ? null : stale.phone());
+            }
+        }
+        return phones;
+    }
+
+    public static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private record Entry(String phone, long loadedAt) {
+    }
+}
@@ -1,7 +1,6 @@
 package com.grocery.order.service;
 
 import com.grocery.common.api.DomainException;
-import com.grocery.order.client.InventoryClient;
 import com.grocery.order.domain.OrderEntity;
 import com.grocery.order.dto.AdminSummaryResponse;
 import com.grocery.order.repo.OrderRepository;
@@ -9,6 +8,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Service
@@ -22,15 +22,13 @@ public class OrderAdminService {
     );
 
     private final OrderRepository orderRepository;
-    private final InventoryClient inventoryClient;
-    private final OrderNotificationService orderNotificationService;
+    private final OrderOutbox orderOutbox;
+    private final OrderStatusStats orderStatusStats;
 
-    public OrderAdminService(OrderRepository orderRepository,
-                             InventoryClient inventoryClient,
-                             OrderNotificationService orderNotificationService) {
+    public OrderAdminService(OrderRepository orderRepository, OrderOutbox orderOutbox, OrderStatusStats orderStatusStats) {
         this.orderRepository = orderRepository;
-        this.inventoryClient = inventoryClient;
-        this.orderNotificationService = orderNotificationService;
+        this.orderOutbox = orderOutbox;
+        this.orderStatusStats = orderStatusStats;
     }
 
     @Transactional(readOnly = true)
@@ -40,13 +38,7 @@ public class OrderAdminService {
 
     @Transactional(readOnly = true)
     public AdminSummaryResponse summary() {
-        long itemsSold = orderRepository.totalItemsSold();
-        var revenue = orderRepository.totalRevenue();
-        if (revenue == null) {
-            revenue = java.math.BigDecimal.ZERO;
-        }
-        long inProcess = orderRepository.totalInProcess();
-        return new AdminSummaryResponse(itemsSold, revenue, inProcess);
+        return orderStatusStats.summary();
     }
 
     @Transactional
@@ -61,23 +53,24 @@ public class OrderAdminService {
         String current = order.getStatus().toUpperCase();
 
         if (!current.equals("DELIVERED") && targetStatus.equals("DELIVERED")) {
-            inventoryClient.commit(orderRef);
+            orderOutbox.enqueue(orderRef, OrderOutbox.INVENTORY_COMMIT);
             order.setRejectionComment(null);
         } else if (!current.equals("CANCELED") && targetStatus.equals("CANCELED")) {
-            inventoryClient.release(orderRef);
+            orderOutbox.enqueue(orderRef, OrderOutbox.INVENTORY_RELEASE);
             order.setRejectionComment(null);
         } else if (targetStatus.equals("REJECTED")) {
             if (comment == null || comment.isBlank()) {
                 throw new DomainException("REJECTION_COMMENT_REQUIRED", "Comment is required when rejecting an order");
             }
-            inventoryClient.release(orderRef);
+            orderOutbox.enqueue(orderRef, OrderOutbox.INVENTORY_RELEASE);
             order.setRejectionComment(comment.trim());
-            orderNotificationService.sendOrderRejectedEmail(order);
+            orderOutbox.enqueue(orderRef, OrderOutbox.ORDER_REJECTED_EMAIL,
+                    Map.of("userEmail", order.getUserEmail(), "reason", order.getRejectionComment()));
         } else {
             order.setRejectionComment(null);
         }
 
-        order.setStatus(targetStatus);
+        orderStatusStats.transition(order, targetStatus);
         return orderRepository.save(order);
     }
 }
@@ -1,8 +1,9 @@
 package com.grocery.order.service;
 
-import com.grocery.order.domain.OrderEntity;
+import com.grocery.common.mail.MailDispatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -12,36 +13,44 @@ import org.springframework.stereotype.Service;
 public class OrderNotificationService {
     private static final Logger log = LoggerFactory.getLogger(OrderNotificationService.class);
 
+    private final MailDispatcher mailDispatcher;
     private final JavaMailSender mailSender;
     private final String from;
 
-    public OrderNotificationService(JavaMailSender mailSender,
+    public OrderNotificationService(ObjectProvider<MailDispatcher> mailDispatcher,
+                                    ObjectProvider<JavaMailSender> mailSender,
                                     @Value("${app.mail.from:no-reply@grocery.local}") String from) {
-        this.mailSender = mailSender;
+        this.mailDispatcher = mailDispatcher.getIfAvailable();
+        this.mailSender = mailSender.getIfAvailable();
         this.from = from;
     }
 
-    public void sendOrderRejectedEmail(OrderEntity order) {
-        if (order.getUserEmail() == null || order.getUserEmail().isBlank()) {
+    public void sendOrderRejectedEmail(String orderRef, String userEmail, String reason) {
+        if (userEmail == null || userEmail.isBlank()) {
             return;
         }
 
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(from);
-            message.setTo(order.getUserEmail());
-            message.setSubject("Grocery Shop - Order rejected");
-            message.setText("""
-                    Your order %s was rejected.
-
-                    Reason: %s
-
-                    Please review the order in your account, adjust it, and resubmit if needed.
-                    """.formatted(order.getOrderRef(), safeReason(order.getRejectionComment())));
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(userEmail);
+        message.setSubject("Grocery Shop - Order rejected");
+        message.setText("""
+                Your order %s was rejected.
+
+                Reason: %s
+
+                Please review the order in your account, adjust it, and resubmit if needed.
+                """.formatted(orderRef, safeReason(reason)));
+        if (mailDispatcher != null) {
+            if (!mailDispatcher.submit(message)) {
+                throw new IllegalStateException("Mail queue is full, rejected order email for " + orderRef + " not queued");
+            }
+            log.info("Rejected order email queued for {}", orderRef);
+        } else if (mailSender != null) {
             mailSender.send(message);
-            log.info("Rejected order email sent for {}", order.getOrderRef());
-        } catch (Exception ex) {
-            log.warn("Failed to send rejected order email for {}: {}", order.getOrderRef(), ex.getMessage());
+            log.info("Rejected order email sent for {}", orderRef);
+        } else {
+            log.warn("No mail sender configured, rejected order email for {} not sent", orderRef);
         }
     }
 
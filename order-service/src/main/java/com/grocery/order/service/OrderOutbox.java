@@ -0,0 +1,64 @@
+package com.grocery.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grocery.common.api.DomainException;
+import com.grocery.order.repo.OutboxRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records side effects of order state changes in the caller's transaction; {@link OutboxRelay} delivers them.
+ */
+@Service
+public class OrderOutbox {
+    public static final String INVENTORY_COMMIT = "INVENTORY_COMMIT";
+    public static final String INVENTORY_RELEASE = "INVENTORY_RELEASE";
+    public static final String ORDER_REJECTED_EMAIL = "ORDER_REJECTED_EMAIL";
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public OrderOutbox(OutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String orderRef, String eventType) {
+        outboxRepository.insert(orderRef, eventType, null);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String orderRef, String eventType, Map<String, String> payload) {
+        try {
+            outboxRepository.insert(orderRef, eventType, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Cannot serialise outbox payload for " + orderRef, ex);
+        }
+    }
+
+    public List<Map<String, Object>> failed(int limit) {
+        return outboxRepository.findFailed(limit);
+    }
+
+    /**
+     * Delivers a parked message again from a fresh attempt count; like {@link #discard}, this unblocks the
+     * later messages of its order.
+     */
+    public void requeue(long messageId) {
+        if (!outboxRepository.requeueFailed(messageId)) {
+            throw new DomainException("OUTBOX_MESSAGE_NOT_FAILED", "Outbox message " + messageId + " is not parked");
+        }
+    }
+
+    public void discard(long messageId) {
+        if (!outboxRepository.discardFailed(messageId)) {
+            throw new DomainException("OUTBOX_MESSAGE_NOT_FAILED", "Outbox message " + messageId + " is not parked");
+        }
+    }
+}
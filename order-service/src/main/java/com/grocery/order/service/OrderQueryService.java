@@ -0,0 +1,100 @@
+package com.grocery.order.service;
+
+import com.grocery.common.api.DomainException;
+import com.grocery.order.domain.OrderEntity;
+import com.grocery.order.dto.KeysetPage;
+import com.grocery.order.dto.OrderListFilter;
+import com.grocery.order.dto.OrderSummaryResponse;
+import com.grocery.order.repo.OrderListingRepository;
+import com.grocery.order.repo.OrderRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class OrderQueryService {
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final OrderListingRepository listingRepository;
+    private final OrderRepository orderRepository;
+    private final CustomerPhoneDirectory phoneDirectory;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public OrderQueryService(OrderListingRepository listingRepository,
+                             OrderRepository orderRepository,
+                             CustomerPhoneDirectory phoneDirectory,
+                             PlatformTransactionManager transactionManager) {
+        this.listingRepository = listingRepository;
+        this.orderRepository = orderRepository;
+        this.phoneDirectory = phoneDirectory;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Only the keyset query runs in the read-only transaction; missing phones are looked up in identity after
+     * it ends so the HTTP call never holds a database connection.
+     */
+    public KeysetPage<OrderSummaryResponse> page(OrderListFilter filter, String cursor, int limit) {
+        if (filter.from() != null && filter.to() != null && !filter.from().isBefore(filter.to())) {
+            throw new DomainException("INVALID_DATE_RANGE", "from must be before to");
+        }
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Instant afterCreatedAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+                afterCreatedAt = Instant.parse(parts[0]);
+                afterId = Long.parseLong(parts[1]);
+            } catch (RuntimeException ex) {
+                throw new DomainException("INVALID_CURSOR", "Malformed page cursor");
+            }
+        }
+        Instant pageAfterCreatedAt = afterCreatedAt;
+        Long pageAfterId = afterId;
+        List<OrderSummaryResponse> page = readOnlyTransaction.execute(
+                status -> listingRepository.findPage(filter, pageAfterCreatedAt, pageAfterId, size));
+        List<OrderSummaryResponse> orders = withPhoneFallback(page);
+        String nextCursor = null;
+        if (orders.size() == size) {
+            OrderSummaryResponse last = orders.get(orders.size() - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((last.createdAt() + "|" + last.id()).getBytes(StandardCharsets.UTF_8));
+        }
+        return new KeysetPage<>(orders, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderEntity getWithItems(String orderRef, String ownerEmail) {
+        OrderEntity order = orderRepository.findWithItemsByOrderRef(orderRef)
+                .orElseThrow(() -> new DomainException("ORDER_NOT_FOUND", "Order not found"));
+        if (ownerEmail != null && !ownerEmail.equalsIgnoreCase(order.getUserEmail())) {
+            throw new DomainException("ORDER_NOT_FOUND", "Order not found");
+        }
+        return order;
+    }
+
+    private List<OrderSummaryResponse> withPhoneFallback(List<OrderSummaryResponse> orders) {
+        var emails = orders.stream()
+                .filter(o -> o.userPhone() == null || o.userPhone().isBlank())
+                .map(OrderSummaryResponse::userEmail)
+                .toList();
+        if (emails.isEmpty()) {
+            return orders;
+        }
+        Map<String, String> phones = phoneDirectory.phonesFor(emails);
+        return orders.stream()
+                .map(o -> o.userPhone() != null && !o.userPhone().isBlank() ? o : new OrderSummaryResponse(
+                        o.id(), o.orderRef(), o.userEmail(), phones.get(CustomerPhoneDirectory.normalize(o.userEmail())),
+                        o.paymentMethod(), o.status(), o.rejectionComment(), o.totalAmount(), o.createdAt()))
+                .toList();
+    }
+}
@@ -0,0 +1,122 @@
+package com.grocery.order.service;
+
+import com.grocery.common.api.DomainException;
+import com.grocery.order.domain.OrderEntity;
+import com.grocery.order.domain.OrderItemEntity;
+import com.grocery.order.domain.RollupGranularity;
+import com.grocery.order.dto.SalesRollupRow;
+import com.grocery.order.repo.SalesRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hourly and daily sales aggregates per SKU, status and payment method, bucketed by order creation time
+ * (UTC). Deltas are applied with each order status change through {@link OrderStatusStats}, so reports read
+ * rollup rows instead of scanning orders; the trailing days are periodically compared with source and the
+ * difference is added back. Like the status totals, each bucket is spread over {@code slots} rows so
+ * concurrent orders for a popular SKU do not queue on one row lock.
+ */
+@Component
+public class OrderSalesRollups {
+    private static final Logger log = LoggerFactory.getLogger(OrderSalesRollups.class);
+    private static final Map<String, String> GROUP_COLUMNS = Map.of(
+            "sku", "sku",
+            "status", "status",
+            "paymentmethod", "payment_method");
+
+    private final SalesRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int reconcileDays;
+    private final int slots;
+
+    public OrderSalesRollups(SalesRollupRepository rollupRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.orders.rollups.reconcile-days:2}") int reconcileDays,
+                             @Value("${app.orders.rollups.slots:8}") int slots) {
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reconcileDays = reconcileDays;
+        this.slots = slots;
+    }
+
+    void addDeltas(List<SalesRollupRepository.Delta> deltas, OrderEntity order, String status, int sign) {
+        int slot = (int) Math.floorMod(order.getId(), (long) slots);
+        for (OrderItemEntity item : order.getItems()) {
+            BigDecimal revenue = item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity()));
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                deltas.add(new SalesRollupRepository.Delta(granularity, granularity.bucketOf(order.getCreatedAt()),
+                        item.getSku(), status, order.getPaymentMethod(), slot,
+                        sign, (long) sign * item.getQuantity(), sign < 0 ? revenue.negate() : revenue));
+            }
+        }
+    }
+
+    void apply(List<SalesRollupRepository.Delta> deltas) {
+        rollupRepository.add(deltas);
+    }
+
+    public List<SalesRollupRow> query(String granularityRaw, Instant from, Instant to, String groupBy,
+                                      String sku, String status, String paymentMethod) {
+        RollupGranularity granularity;
+        try {
+            granularity = RollupGranularity.valueOf(granularityRaw.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new DomainException("INVALID_GRANULARITY", "granularity must be HOUR or DAY");
+        }
+        if (!from.isBefore(to)) {
+            throw new DomainException("INVALID_DATE_RANGE", "from must be before to");
+        }
+        if (Duration.between(from, to).compareTo(granularity.maxRange()) > 0) {
+            throw new DomainException("RANGE_TOO_LARGE", granularity + " rollups cover at most "
+                    + granularity.maxRange().toDays() + " days per request");
+        }
+        String groupColumn = null;
+        if (groupBy != null && !groupBy.isBlank()) {
+            groupColumn = GROUP_COLUMNS.get(groupBy.trim().toLowerCase());
+            if (groupColumn == null) {
+                throw new DomainException("INVALID_GROUP_BY", "groupBy must be sku, status or paymentMethod");
+            }
+        }
+        return rollupRepository.query(granularity, granularity.bucketOf(from), to, groupColumn,
+                blankToNull(sku), upperOrNull(status), upperOrNull(paymentMethod));
+    }
+
+    @Scheduled(initialDelayString = "${app.orders.rollups.reconcile-interval-ms:3600000}",
+            fixedDelayString = "${app.orders.rollups.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        Instant to = Instant.now().truncatedTo(ChronoUnit.DAYS).plus(1, ChronoUnit.DAYS);
+        Instant from = to.minus(reconcileDays, ChronoUnit.DAYS);
+        int corrected = 0;
+        // One day bucket (and its hour buckets) at a time, so each correction is a short transaction of its own.
+        for (Instant day = from; day.isBefore(to); day = day.plus(1, ChronoUnit.DAYS)) {
+            List<SalesRollupRepository.Delta> drift = rollupRepository.drift(day, day.plus(1, ChronoUnit.DAYS));
+            if (!drift.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> rollupRepository.add(drift));
+                corrected += drift.size();
+            }
+        }
+        if (corrected > 0) {
+            log.warn("Sales rollups for [{}, {}) drifted, corrected {} rows", from, to, corrected);
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String upperOrNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toUpperCase();
+    }
+}
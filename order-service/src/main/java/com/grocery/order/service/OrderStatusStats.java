@@ -0,0 +1,116 @@
+package com.grocery.order.service;
+
+import com.grocery.order.domain.OrderEntity;
+import com.grocery.order.domain.OrderItemEntity;
+import com.grocery.order.dto.AdminSummaryResponse;
+import com.grocery.order.repo.OrderStatsRepository;
+import com.grocery.order.repo.SalesRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Per-status order, item and revenue counters kept in {@code order_status_totals}. Every status change
+ * applies its delta in the transaction that changes the order, spread over {@code slots} rows per status
+ * so concurrent checkouts do not queue on a single counter row. A scheduled job compares the counters with
+ * totals recomputed from {@code orders} and adds the difference to repair any drift. The same deltas feed {@link OrderSalesRollups}.
+ */
+@Component
+public class OrderStatusStats {
+    private static final Logger log = LoggerFactory.getLogger(OrderStatusStats.class);
+    private static final Set<String> SOLD = Set.of("CONFIRMED", "FULFILLING", "SHIPPED", "DELIVERED", "COD_PENDING");
+    private static final Set<String> IN_PROCESS = Set.of("PENDING", "COD_PENDING", "PENDING_PAYMENT", "CONFIRMED", "FULFILLING", "SHIPPED");
+
+    private final OrderStatsRepository statsRepository;
+    private final OrderSalesRollups salesRollups;
+    private final TransactionTemplate transactionTemplate;
+    private final int slots;
+
+    public OrderStatusStats(OrderStatsRepository statsRepository,
+                            OrderSalesRollups salesRollups,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.orders.stats.slots:16}") int slots) {
+        this.statsRepository = statsRepository;
+        this.salesRollups = salesRollups;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.slots = slots;
+    }
+
+    public void created(OrderEntity order) {
+        apply(order, null, order.getStatus());
+    }
+
+    /**
+     * Moves the order to {@code status} and shifts its counts from the old status to the new one.
+     * Must run in the transaction that persists the order.
+     */
+    public void transition(OrderEntity order, String status) {
+        String previous = order.getStatus();
+        order.setStatus(status);
+        if (previous.equals(status)) {
+            return;
+        }
+        apply(order, previous, status);
+    }
+
+    public AdminSummaryResponse summary() {
+        long itemsSold = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        long inProcess = 0;
+        for (var entry : statsRepository.totalsByStatus().entrySet()) {
+            var totals = entry.getValue();
+            if (SOLD.contains(entry.getKey())) {
+                itemsSold += totals.items();
+                revenue = revenue.add(totals.revenue());
+            }
+            if (IN_PROCESS.contains(entry.getKey())) {
+                inProcess += totals.orders();
+            }
+        }
+        return new AdminSummaryResponse(itemsSold, revenue, inProcess);
+    }
+
+    @Scheduled(initialDelayString = "${app.orders.stats.reconcile-interval-ms:3600000}",
+            fixedDelayString = "${app.orders.stats.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        List<OrderStatsRepository.Delta> drift = statsRepository.drift();
+        if (drift.isEmpty()) {
+            return;
+        }
+        // Added like any other delta, so it commutes with transitions that commit in the meantime.
+        transactionTemplate.executeWithoutResult(status -> statsRepository.add(drift));
+        log.warn("Order status totals drifted for {} statuses and were corrected: {}", drift.size(), drift);
+    }
+
+    /**
+     * Moves the order's counts from {@code from} (nothing, for a new order) to {@code to}. Both sides go to the
+     * repositories in one call each, so every transaction takes the row locks in one sorted order.
+     */
+    private void apply(OrderEntity order, String from, String to) {
+        long items = 0;
+        for (OrderItemEntity item : order.getItems()) {
+            items += item.getQuantity();
+        }
+        BigDecimal revenue = order.getTotalAmount() == null ? BigDecimal.ZERO : order.getTotalAmount();
+        int slot = (int) Math.floorMod(order.getId(), (long) slots);
+        List<OrderStatsRepository.Delta> totals = new ArrayList<>(2);
+        List<SalesRollupRepository.Delta> rollups = new ArrayList<>();
+        if (from != null) {
+            totals.add(new OrderStatsRepository.Delta(from, slot, -1, -items, revenue.negate()));
+            salesRollups.addDeltas(rollups, order, from, -1);
+        }
+        totals.add(new OrderStatsRepository.Delta(to, slot, 1, items, revenue));
+        salesRollups.addDeltas(rollups, order, to, 1);
+        statsRepository.add(totals);
+        salesRollups.apply(rollups);
+    }
+}
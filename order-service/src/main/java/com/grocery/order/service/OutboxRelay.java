@@ -0,0 +1,130 @@
+package com.grocery.order.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grocery.order.client.InventoryClient;
+import com.grocery.order.domain.OutboxMessage;
+import com.grocery.order.repo.OutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers outbox messages in batches. Messages of one order are delivered one at a time in insertion
+ * order; a failed message is retried with exponential backoff and blocks later messages of the same
+ * order until it succeeds. After {@code max-attempts} it is parked as FAILED and still blocks them until an
+ * admin requeues or discards it through {@link OrderOutbox}.
+ */
+@Component
+public class OutboxRelay {
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxRepository outboxRepository;
+    private final InventoryClient inventoryClient;
+    private final OrderNotificationService notificationService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatches;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       InventoryClient inventoryClient,
+                       OrderNotificationService notificationService,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${app.outbox.batch-size:100}") int batchSize,
+                       @Value("${app.outbox.max-batches:10}") int maxBatches,
+                       @Value("${app.outbox.max-attempts:12}") int maxAttempts,
+                       @Value("${app.outbox.lease-ms:60000}") long leaseMs,
+                       @Value("${app.outbox.initial-backoff-ms:1000}") long initialBackoffMs,
+                       @Value("${app.outbox.max-backoff-ms:300000}") long maxBackoffMs) {
+        this.outboxRepository = outboxRepository;
+        this.inventoryClient = inventoryClient;
+        this.notificationService = notificationService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.maxAttempts = maxAttempts;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.initialBackoff = Duration.ofMillis(initialBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-ms:500}")
+    public void relay() {
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Instant now = Instant.now();
+            List<OutboxMessage> claimed = transactionTemplate.execute(
+                    status -> outboxRepository.claimDue(now, now.plus(lease), batchSize));
+            if (claimed.isEmpty()) {
+                return;
+            }
+            List<Long> delivered = new ArrayList<>();
+            for (OutboxMessage message : claimed) {
+                try {
+                    deliver(message);
+                    delivered.add(message.id());
+                } catch (RuntimeException ex) {
+                    failed(message, ex);
+                }
+            }
+            outboxRepository.delete(delivered);
+            if (claimed.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private void deliver(OutboxMessage message) {
+        switch (message.eventType()) {
+            case OrderOutbox.INVENTORY_COMMIT -> inventoryClient.commit(message.orderRef(), outboxKey(message));
+            case OrderOutbox.INVENTORY_RELEASE -> inventoryClient.release(message.orderRef(), outboxKey(message));
+            case OrderOutbox.ORDER_REJECTED_EMAIL -> {
+                Map<String, String> payload = readPayload(message);
+                notificationService.sendOrderRejectedEmail(message.orderRef(), payload.get("userEmail"), payload.get("reason"));
+            }
+            default -> throw new IllegalStateException("Unknown outbox event type " + message.eventType());
+        }
+    }
+
+    private void failed(OutboxMessage message, RuntimeException ex) {
+        int attempts = message.attempts() + 1;
+        if (attempts >= maxAttempts) {
+            log.error("Outbox message {} ({} for {}) failed after {} attempts, parking it: {}",
+                    message.id(), message.eventType(), message.orderRef(), attempts, ex.getMessage());
+            outboxRepository.markFailed(message.id(), ex.getMessage());
+            return;
+        }
+        long backoffMs = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempts - 1, 20));
+        log.warn("Outbox message {} ({} for {}) failed, attempt {}, retrying in {} ms: {}",
+                message.id(), message.eventType(), message.orderRef(), attempts, backoffMs, ex.getMessage());
+        outboxRepository.retryAt(message.id(), Instant.now().plusMillis(backoffMs), ex.getMessage());
+    }
+
+    private static String outboxKey(OutboxMessage message) {
+        return message.orderRef() + ":outbox:" + message.id();
+    }
+
+    private Map<String, String> readPayload(OutboxMessage message) {
+        try {
+            return objectMapper.readValue(message.payload(), new TypeReference<>() {});
+        } catch (Exception ex) {
+            throw new IllegalStateException("Unreadable payload for outbox message " + message.id(), ex);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.grocery.order.service;
+
+import com.grocery.common.api.DomainException;
+import com.grocery.common.http.RequestDeadline;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent remote calls concurrently under a shared deadline. The first failure (or the
+ * deadline) cancels the remaining calls, interrupting any that are still running. Each call's HTTP
+ * requests also time out at the deadline, so a call that misses the interrupt still stops waiting.
+ */
+@Component
+public class ParallelCalls {
+    private final AsyncTaskExecutor executor;
+    private final long deadlineMs;
+
+    public ParallelCalls(@Qualifier("checkoutFanOutExecutor") AsyncTaskExecutor executor,
+                         @Value("${app.checkout.fan-out.deadline-ms:5000}") long deadlineMs) {
+        this.executor = executor;
+        this.deadlineMs = deadlineMs;
+    }
+
+    /**
+     * Runs the call on the fan-out pool with the deadline applied to its outbound HTTP requests. A full
+     * pool yields an already failed call, so {@link #awaitAll} cancels the siblings instead of leaving
+     * them running unobserved.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    result.complete(RequestDeadline.callWithin(deadlineNanos, call));
+                } catch (Throwable ex) {
+                    result.completeExceptionally(ex);
+                }
+            });
+        } catch (TaskRejectedException ex) {
+            result.completeExceptionally(new DomainException("DEPENDENCY_BUSY", "Checkout fan-out pool is saturated"));
+            return result;
+        }
+        result.whenComplete((value, ex) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    public void awaitAll(CompletableFuture<?>... calls) {
+        CompletableFuture<Void> outcome = new CompletableFuture<>();
+        for (CompletableFuture<?> call : calls) {
+            call.whenComplete((value, ex) -> {
+                if (ex != null) {
+                    outcome.completeExceptionally(ex);
+                }
+            });
+        }
+        CompletableFuture.allOf(calls).thenRun(() -> outcome.complete(null));
+        try {
+            outcome.get(deadlineMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            cancelAll(calls);
+            throw new DomainException("UPSTREAM_TIMEOUT", "Dependent services did not respond within " + deadlineMs + " ms");
+        } catch (InterruptedException ex) {
+            cancelAll(calls);
+            Thread.currentThread().interrupt();
+            throw new DomainException("UPSTREAM_INTERRUPTED", "Interrupted while waiting for dependent services");
+        } catch (ExecutionException ex) {
+            cancelAll(calls);
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private static void cancelAll(CompletableFuture<?>... calls) {
+        for (CompletableFuture<?> call : calls) {
+            call.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+DROP INDEX IF EXISTS idx_orders_saga_step_updated;
+
+CREATE INDEX IF NOT EXISTS idx_orders_saga_step_updated ON orders(saga_step, saga_updated_at)
+    WHERE saga_step IN ('STARTED', 'INVENTORY_RESERVED', 'COMMITTING', 'COMPENSATING');
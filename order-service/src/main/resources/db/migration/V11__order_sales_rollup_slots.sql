@@ -0,0 +1,4 @@
+ALTER TABLE order_sales_rollup ADD COLUMN IF NOT EXISTS slot SMALLINT NOT NULL DEFAULT 0;
+
+ALTER TABLE order_sales_rollup DROP CONSTRAINT IF EXISTS order_sales_rollup_pkey;
+ALTER TABLE order_sales_rollup ADD PRIMARY KEY (granularity, bucket_start, sku, status, payment_method, slot);
@@ -0,0 +1,3 @@
+DROP INDEX IF EXISTS idx_order_outbox_order_ref;
+
+CREATE INDEX IF NOT EXISTS idx_order_outbox_order_ref ON order_outbox(order_ref, id);
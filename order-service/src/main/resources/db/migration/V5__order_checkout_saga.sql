@@ -0,0 +1,6 @@
+ALTER TABLE orders
+    ADD COLUMN IF NOT EXISTS saga_step VARCHAR(32),
+    ADD COLUMN IF NOT EXISTS saga_updated_at TIMESTAMPTZ;
+
+CREATE INDEX IF NOT EXISTS idx_orders_saga_step_updated ON orders(saga_step, saga_updated_at)
+    WHERE saga_step IN ('STARTED', 'INVENTORY_RESERVED', 'COMPENSATING');
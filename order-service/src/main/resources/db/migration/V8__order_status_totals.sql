@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS order_status_totals (
+  status VARCHAR(32) NOT NULL,
+  slot SMALLINT NOT NULL,
+  order_count BIGINT NOT NULL DEFAULT 0,
+  item_count BIGINT NOT NULL DEFAULT 0,
+  revenue NUMERIC(14,2) NOT NULL DEFAULT 0,
+  PRIMARY KEY (status, slot)
+);
+
+INSERT INTO order_status_totals(status, slot, order_count, item_count, revenue)
+SELECT o.status, 0, COUNT(*), COALESCE(SUM(i.qty), 0), COALESCE(SUM(o.total_amount), 0)
+FROM orders o
+LEFT JOIN (SELECT order_id, SUM(quantity) AS qty FROM order_items GROUP BY order_id) i ON i.order_id = o.id
+GROUP BY o.status
+ON CONFLICT (status, slot) DO NOTHING;
@@ -0,0 +1,21 @@
+CREATE TABLE IF NOT EXISTS order_sales_rollup (
+  granularity VARCHAR(8) NOT NULL,
+  bucket_start TIMESTAMPTZ NOT NULL,
+  sku VARCHAR(128) NOT NULL,
+  status VARCHAR(32) NOT NULL,
+  payment_method VARCHAR(32) NOT NULL,
+  order_lines BIGINT NOT NULL DEFAULT 0,
+  units BIGINT NOT NULL DEFAULT 0,
+  revenue NUMERIC(14,2) NOT NULL DEFAULT 0,
+  PRIMARY KEY (granularity, bucket_start, sku, status, payment_method)
+);
+
+INSERT INTO order_sales_rollup(granularity, bucket_start, sku, status, payment_method, order_lines, units, revenue)
+SELECT g.granularity,
+       date_trunc(CASE g.granularity WHEN 'HOUR' THEN 'hour' ELSE 'day' END, o.created_at AT TIME ZONE 'UTC') AT TIME ZONE 'UTC',
+       i.sku, o.status, o.payment_method, COUNT(*), SUM(i.quantity), SUM(i.quantity * i.unit_price)
+FROM orders o
+JOIN order_items i ON i.order_id = o.id
+CROSS JOIN (VALUES ('HOUR'), ('DAY')) AS g(granularity)
+GROUP BY 1, 2, 3, 4, 5
+ON CONFLICT DO NOTHING;
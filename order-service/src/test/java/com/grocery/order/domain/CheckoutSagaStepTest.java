@@ -0,0 +1,55 @@
+package com.grocery.order.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static com.grocery.order.domain.CheckoutSagaStep.AWAITING_PAYMENT;
+import static com.grocery.order.domain.CheckoutSagaStep.COMMITTING;
+import static com.grocery.order.domain.CheckoutSagaStep.COMPENSATED;
+import static com.grocery.order.domain.CheckoutSagaStep.COMPENSATING;
+import static com.grocery.order.domain.CheckoutSagaStep.COMPLETED;
+import static com.grocery.order.domain.CheckoutSagaStep.INVENTORY_RESERVED;
+import static com.grocery.order.domain.CheckoutSagaStep.STARTED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckoutSagaStepTest {
+
+    @Test
+    void followsTheCashOnDeliveryPath() {
+        assertThat(STARTED.canMoveTo(INVENTORY_RESERVED)).isTrue();
+        assertThat(INVENTORY_RESERVED.canMoveTo(COMPLETED)).isTrue();
+    }
+
+    @Test
+    void followsTheOnlinePaymentPath() {
+        assertThat(INVENTORY_RESERVED.canMoveTo(AWAITING_PAYMENT)).isTrue();
+        assertThat(AWAITING_PAYMENT.canMoveTo(COMMITTING)).isTrue();
+        assertThat(COMMITTING.canMoveTo(COMPLETED)).isTrue();
+    }
+
+    @Test
+    void compensatesOnlyBeforeStockIsCommitted() {
+        assertThat(STARTED.canMoveTo(COMPENSATING)).isTrue();
+        assertThat(INVENTORY_RESERVED.canMoveTo(COMPENSATING)).isTrue();
+        assertThat(AWAITING_PAYMENT.canMoveTo(COMPENSATING)).isTrue();
+        assertThat(COMMITTING.canMoveTo(COMPENSATING)).isFalse();
+        assertThat(COMPENSATING.canMoveTo(COMPENSATED)).isTrue();
+    }
+
+    @Test
+    void neverSkipsAheadOrMovesBack() {
+        assertThat(STARTED.canMoveTo(COMPLETED)).isFalse();
+        assertThat(STARTED.canMoveTo(AWAITING_PAYMENT)).isFalse();
+        assertThat(AWAITING_PAYMENT.canMoveTo(COMPLETED)).isFalse();
+        assertThat(AWAITING_PAYMENT.canMoveTo(INVENTORY_RESERVED)).isFalse();
+        assertThat(COMPENSATING.canMoveTo(COMPLETED)).isFalse();
+    }
+
+    @Test
+    void terminalStepsAndSelfTransitionsAreRejected() {
+        for (CheckoutSagaStep step : CheckoutSagaStep.values()) {
+            assertThat(step.canMoveTo(step)).isFalse();
+            assertThat(COMPLETED.canMoveTo(step)).isFalse();
+            assertThat(COMPENSATED.canMoveTo(step)).isFalse();
+        }
+    }
+}
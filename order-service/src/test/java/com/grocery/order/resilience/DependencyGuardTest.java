@@ -0,0 +1,137 @@
+package com.grocery.order.resilience;
+
+import com.grocery.common.api.DomainException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DependencyGuardTest {
+
+    @Test
+    void opensOnceTheFailureRateReachesTheThreshold() {
+        DependencyGuard guard = guard(60_000, 2);
+        succeed(guard);
+        succeed(guard);
+        fail(guard);
+        assertThat(guard.state()).isEqualTo(DependencyGuard.State.CLOSED);
+
+        fail(guard);
+
+        assertThat(guard.state()).isEqualTo(DependencyGuard.State.OPEN);
+        AtomicInteger calls = new AtomicInteger();
+        assertThatThrownBy(() -> guard.call(calls::incrementAndGet))
+                .isInstanceOf(DomainException.class)
+                .extracting("code").isEqualTo("DEPENDENCY_UNAVAILABLE");
+        assertThat(calls).hasValue(0);
+        assertThat(guard.rejectedCalls()).isEqualTo(1L);
+    }
+
+    @Test
+    void staysClosedUntilTheMinimumNumberOfCalls() {
+        DependencyGuard guard = guard(60_000, 2);
+        fail(guard);
+        fail(guard);
+        fail(guard);
+
+        assertThat(guard.state()).isEqualTo(DependencyGuard.State.CLOSED);
+        assertThat(guard.failureRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    void clientErrorsDoNotCountAsFailures() {
+        DependencyGuard guard = guard(60_000, 2);
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> guard.call(() -> {
+                throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+            })).isInstanceOf(HttpClientErrorException.class);
+        }
+
+        assertThat(guard.state()).isEqualTo(DependencyGuard.State.CLOSED);
+        assertThat(guard.failureRate()).isEqualTo(0.0);
+    }
+
+    @Test
+    void closesWhenEveryHalfOpenProbeSucceeds() throws InterruptedException {
+        DependencyGuard guard = openGuard(2);
+        Thread.sleep(150);
+        assertThat(guard.state()).isEqualTo(DependencyGuard.State.HALF_OPEN);
+
+        succeed(guard);
+        assertThat(guard.state()).isEqualTo(DependencyGuard.State.HALF_OPEN);
+        succeed(guard);
+
+        assertThat(guard.state()).isEqualTo(DependencyGuard.State.CLOSED);
+        assertThat(guard.failureRate()).isEqualTo(0.0);
+    }
+
+    @Test
+    void reopensWhenAHalfOpenProbeFails() throws InterruptedException {
+        DependencyGuard guard = openGuard(2);
+        Thread.sleep(150);
+
+        succeed(guard);
+        fail(guard);
+
+        assertThat(guard.state()).isEqualTo(DependencyGuard.State.OPEN);
+    }
+
+    @Test
+    void letsOnlyTheConfiguredNumberOfProbesThrough() throws InterruptedException {
+        DependencyGuard guard = openGuard(1);
+        Thread.sleep(150);
+
+        String result = guard.call(() -> {
+            assertThatThrownBy(() -> guard.call(() -> "second probe"))
+                    .isInstanceOf(DomainException.class)
+                    .extracting("code").isEqualTo("DEPENDENCY_UNAVAILABLE");
+            return "first probe";
+        });
+
+        assertThat(result).isEqualTo("first probe");
+        assertThat(guard.state()).isEqualTo(DependencyGuard.State.CLOSED);
+    }
+
+    @Test
+    void bulkheadRejectionsAreNotCountedAsFailures() {
+        DependencyGuard guard = new DependencyGuard("identity", 1, 0, 4, 4, 0.5, 60_000, 2);
+
+        guard.call(() -> {
+            assertThatThrownBy(() -> guard.call(() -> "nested"))
+                    .isInstanceOf(DomainException.class)
+                    .extracting("code").isEqualTo("DEPENDENCY_BUSY");
+            return null;
+        });
+
+        assertThat(guard.rejectedCalls()).isEqualTo(1L);
+        assertThat(guard.failureRate()).isEqualTo(0.0);
+        assertThat(guard.inFlight()).isZero();
+    }
+
+    private static DependencyGuard guard(long openDurationMs, int halfOpenProbes) {
+        return new DependencyGuard("identity", 4, 100, 4, 4, 0.5, openDurationMs, halfOpenProbes);
+    }
+
+    private static DependencyGuard openGuard(int halfOpenProbes) {
+        DependencyGuard guard = guard(100, halfOpenProbes);
+        for (int i = 0; i < 4; i++) {
+            fail(guard);
+        }
+        assertThat(guard.state()).isEqualTo(DependencyGuard.State.OPEN);
+        return guard;
+    }
+
+    private static void succeed(DependencyGuard guard) {
+        guard.call(() -> "ok");
+    }
+
+    private static void fail(DependencyGuard guard) {
+        assertThatThrownBy(() -> guard.call(() -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+    }
+}
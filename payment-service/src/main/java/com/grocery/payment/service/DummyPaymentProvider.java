@@ -22,12 +22,14 @@ import java.util.Base64;
 
 @Component
 public class DummyPaymentProvider implements PaymentProvider {
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
     private final String stripeSecretKey;
     private final String publicBaseUrl;
 
-    public DummyPaymentProvider(@Value("${STRIPE_SECRET_KEY:}") String stripeSecretKey,
+    public DummyPaymentProvider(RestTemplate restTemplate,
+                                @Value("${STRIPE_SECRET_KEY:}") String stripeSecretKey,
                                 @Value("${FRONTEND_URL:http://localhost:8080}") String publicBaseUrl) {
+        this.restTemplate = restTemplate;
         this.stripeSecretKey = stripeSecretKey == null ? "" : stripeSecretKey.trim();
         this.publicBaseUrl = publicBaseUrl == null || publicBaseUrl.isBlank() ? "http://localhost:8080" : publicBaseUrl.trim();
     }
@@ -75,10 +77,11 @@ public class DummyPaymentProvider implements PaymentProvider {
             throw new DomainException("PAYMENT_PROVIDER_NOT_CONFIGURED", "Stripe secret key is not configured");
         }
         JsonNode response = restTemplate.exchange(
-                "https://api.stripe.com/v1/checkout/sessions/" + providerRef,
+                "https://api.stripe.com/v1/checkout/sessions/{providerRef}",
                 HttpMethod.GET,
                 new HttpEntity<>(authHeaders()),
-                JsonNode.class).getBody();
+                JsonNode.class,
+                providerRef).getBody();
 
         if (response == null) {
             throw new DomainException("PAYMENT_PROVIDER_ERROR", "Stripe session lookup failed");
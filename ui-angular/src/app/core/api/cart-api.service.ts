@@ -19,6 +19,10 @@ export class CartApiService {
     return this.http.get<CartItem[]>(`${environment.apiBaseUrl}/cart/cart/${encodeURIComponent(userEmail)}`);
   }
 
+  flush(userEmail: string): Observable<CartItem[]> {
+    return this.http.post<CartItem[]>(`${environment.apiBaseUrl}/cart/cart/${encodeURIComponent(userEmail)}/flush`, {});
+  }
+
   upsert(request: {userEmail: string; sku: string; itemName: string; quantity: number}): Observable<CartItem | null> {
     return this.http.post<CartItem | null>(`${environment.apiBaseUrl}/cart/cart/items`, request);
   }
@@ -20,6 +20,34 @@ export interface Product {
   reviewCount?: number;
 }
 
+export interface Suggestion {
+  text: string;
+  type: 'PRODUCT' | 'CATEGORY' | 'SUBCATEGORY';
+  productId?: number | null;
+}
+
+export interface FacetCount {
+  value: string;
+  count: number;
+}
+
+export interface ProductBrowsePage {
+  items: Product[];
+  nextCursor: string | null;
+  total: number;
+  facets: Record<'category' | 'subcategory' | 'price' | 'discount', FacetCount[]>;
+}
+
+export interface ProductBrowseQuery {
+  category?: string[];
+  subcategory?: string[];
+  price?: string[];
+  discount?: string[];
+  sort?: 'name' | 'price_asc' | 'price_desc' | 'rating';
+  after?: string | null;
+  limit?: number;
+}
+
 export interface ProductReview {
   id: number;
   userDisplayName: string;
@@ -87,6 +115,17 @@ export interface BulkUploadResult {
   errors: BulkUploadRowError[];
 }
 
+export interface BulkUploadJob {
+  jobId: string;
+  status: 'QUEUED' | 'RUNNING' | 'COMPLETED' | 'FAILED';
+  rowsRead: number;
+  successRows: number;
+  failedRows: number;
+  errors: BulkUploadRowError[];
+  startedAt: string | null;
+  finishedAt: string | null;
+}
+
 @Injectable({providedIn: 'root'})
 export class CatalogApiService {
   private readonly http = inject(HttpClient);
@@ -95,6 +134,21 @@ export class CatalogApiService {
     return this.http.get<Product[]>(`${environment.apiBaseUrl}/catalog/catalog/products`);
   }
 
+  suggest(q: string, limit = 8): Observable<Suggestion[]> {
+    return this.http.get<Suggestion[]>(`${environment.apiBaseUrl}/catalog/catalog/suggest`, {params: {q, limit}});
+  }
+
+  browseProducts(query: ProductBrowseQuery = {}): Observable<ProductBrowsePage> {
+    let params = new HttpParams();
+    Object.entries(query).forEach(([key, value]) => {
+      if (value === undefined || value === null || value === '') {
+        return;
+      }
+      (Array.isArray(value) ? value : [value]).forEach(v => params = params.append(key, String(v)));
+    });
+    return this.http.get<ProductBrowsePage>(`${environment.apiBaseUrl}/catalog/catalog/products/browse`, {params});
+  }
+
   getCatalogMetadata(): Observable<{products: Product[]; categories: CatalogCategoryOption[]; subcategories: CatalogSubcategoryOption[]}> {
     return this.listProducts().pipe(
       map(products => {
@@ -212,6 +266,16 @@ export class CatalogApiService {
     return this.http.post<BulkUploadResult>(`${environment.apiBaseUrl}/catalog/catalog/admin/upload`, form);
   }
 
+  startExcelImport(file: File): Observable<BulkUploadJob> {
+    const form = new FormData();
+    form.append('file', file);
+    return this.http.post<BulkUploadJob>(`${environment.apiBaseUrl}/catalog/catalog/admin/upload/stream`, form);
+  }
+
+  getExcelImport(jobId: string): Observable<BulkUploadJob> {
+    return this.http.get<BulkUploadJob>(`${environment.apiBaseUrl}/catalog/catalog/admin/upload/jobs/${jobId}`);
+  }
+
   listReviews(productId: number): Observable<ProductReview[]> {
     return this.http.get<ProductReview[]>(`${environment.apiBaseUrl}/catalog/catalog/products/${productId}/reviews`);
   }
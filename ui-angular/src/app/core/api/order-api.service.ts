@@ -1,5 +1,5 @@
 import {inject, Injectable} from '@angular/core';
-import {HttpClient} from '@angular/common/http';
+import {HttpClient, HttpParams} from '@angular/common/http';
 import {Observable} from 'rxjs';
 import {environment} from '../../../environments/environment';
 
@@ -54,6 +54,23 @@ export interface Order {
   items: OrderItem[];
 }
 
+export type OrderSummary = Omit<Order, 'items'>;
+
+export interface KeysetPage<T> {
+  items: T[];
+  nextCursor: string | null;
+}
+
+export interface OrderPageQuery {
+  email?: string;
+  status?: string[];
+  paymentMethod?: string;
+  from?: string;
+  to?: string;
+  after?: string | null;
+  limit?: number;
+}
+
 export interface AdminSummary {
   itemsSold: number;
   revenue: number;
@@ -84,6 +101,22 @@ export class OrderApiService {
     return this.http.get<Order[]>(`${environment.apiBaseUrl}/orders/orders/admin/all`);
   }
 
+  pageMyOrders(query: OrderPageQuery = {}): Observable<KeysetPage<OrderSummary>> {
+    return this.http.get<KeysetPage<OrderSummary>>(`${environment.apiBaseUrl}/orders/orders/me/page`, {params: this.pageParams(query)});
+  }
+
+  getMyOrder(orderRef: string): Observable<Order> {
+    return this.http.get<Order>(`${environment.apiBaseUrl}/orders/orders/me/${encodeURIComponent(orderRef)}`);
+  }
+
+  pageAdminOrders(query: OrderPageQuery = {}): Observable<KeysetPage<OrderSummary>> {
+    return this.http.get<KeysetPage<OrderSummary>>(`${environment.apiBaseUrl}/orders/orders/admin/page`, {params: this.pageParams(query)});
+  }
+
+  getAdminOrder(orderRef: string): Observable<Order> {
+    return this.http.get<Order>(`${environment.apiBaseUrl}/orders/orders/admin/orders/${encodeURIComponent(orderRef)}`);
+  }
+
   listActiveOrders(): Observable<Order[]> {
     return this.http.get<Order[]>(`${environment.apiBaseUrl}/orders/orders/active`);
   }
@@ -95,4 +128,16 @@ export class OrderApiService {
   adminSummary(): Observable<AdminSummary> {
     return this.http.get<AdminSummary>(`${environment.apiBaseUrl}/orders/orders/admin/summary`);
   }
+
+  private pageParams(query: OrderPageQuery): HttpParams {
+    let params = new HttpParams();
+    for (const [key, value] of Object.entries(query)) {
+      if (Array.isArray(value)) {
+        value.forEach(v => params = params.append(key, v));
+      } else if (value !== undefined && value !== null && value !== '') {
+        params = params.set(key, String(value));
+      }
+    }
+    return params;
+  }
 }
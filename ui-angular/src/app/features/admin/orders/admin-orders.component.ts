@@ -3,29 +3,45 @@ import {CommonModule} from '@angular/common';
 import {FormsModule} from '@angular/forms';
 import {MatButtonModule} from '@angular/material/button';
 import {MatCardModule} from '@angular/material/card';
-import {MatPaginatorModule, PageEvent} from '@angular/material/paginator';
 import {MatTabChangeEvent, MatTabsModule} from '@angular/material/tabs';
-import {Order, OrderApiService} from '../../../core/api/order-api.service';
+import {Subscription} from 'rxjs';
+import {OrderApiService, OrderItem, OrderSummary} from '../../../core/api/order-api.service';
+
+type OrderTab = 'active' | 'rejected' | 'history';
+
+interface OrderTabState {
+  orders: OrderSummary[];
+  cursor: string | null;
+  loading: boolean;
+  request?: Subscription;
+}
+
+const TAB_STATUSES: Record<OrderTab, string[]> = {
+  active: ['PENDING', 'COD_PENDING', 'PENDING_PAYMENT', 'CONFIRMED', 'FULFILLING', 'SHIPPED'],
+  rejected: ['REJECTED'],
+  history: ['DELIVERED', 'CANCELED', 'PAYMENT_CANCELLED', 'PAYMENT_FAILED']
+};
+const PAGE_SIZE = 20;
 
 @Component({
   selector: 'app-admin-orders',
   standalone: true,
-  imports: [CommonModule, FormsModule, MatButtonModule, MatCardModule, MatPaginatorModule, MatTabsModule],
+  imports: [CommonModule, FormsModule, MatButtonModule, MatCardModule, MatTabsModule],
   template: `
     <h3>Orders Management</h3>
     <p class="muted">Keep live orders separate from rejected items and completed history so tracking is faster.</p>
 
     <div class="summary">
       <button type="button" class="summary-card" [class.active]="selectedTabIndex === 0" (click)="selectTab(0)">
-        <strong>{{activeOrders().length}}</strong>
+        <strong>{{countLabel('active')}}</strong>
         <span>Active Orders</span>
       </button>
       <button type="button" class="summary-card" [class.active]="selectedTabIndex === 1" (click)="selectTab(1)">
-        <strong>{{rejectedOrders().length}}</strong>
+        <strong>{{countLabel('rejected')}}</strong>
         <span>Rejected Orders</span>
       </button>
       <button type="button" class="summary-card" [class.active]="selectedTabIndex === 2" (click)="selectTab(2)">
-        <strong>{{historyOrders().length}}</strong>
+        <strong>{{countLabel('history')}}</strong>
         <span>Order History</span>
       </button>
     </div>
@@ -38,7 +54,7 @@ import {Order, OrderApiService} from '../../../core/api/order-api.service';
             <div class="inline-filters">
               <label>
                 Sort
-                <select [(ngModel)]="activeSort" (ngModelChange)="resetActivePage()">
+                <select [(ngModel)]="activeSort">
                   <option value="price-desc">Highest price</option>
                   <option value="price-asc">Lowest price</option>
                   <option value="date-desc">Newest first</option>
@@ -50,10 +66,9 @@ import {Order, OrderApiService} from '../../../core/api/order-api.service';
               <button mat-stroked-button (click)="reload()">Refresh</button>
             </div>
           </div>
-          <p *ngIf="loading">Loading orders...</p>
-          <p *ngIf="!loading && activeOrders().length === 0">No active orders found.</p>
-          <div class="page-note" *ngIf="!loading && activeOrders().length > 0">{{pageLabel('active', activeOrders().length)}}</div>
-          <mat-card class="order" *ngFor="let order of pagedActiveOrders()" [class.delayed]="isDelayed(order)">
+          <p *ngIf="!tabs.active.loading && activeOrders().length === 0">No active orders found.</p>
+          <div class="page-note" *ngIf="activeOrders().length > 0">{{pageLabel('active')}}</div>
+          <mat-card class="order" *ngFor="let order of activeOrders()" [class.delayed]="isDelayed(order)">
             <div class="head">
               <div>
                 <strong>{{order.orderRef}}</strong>
@@ -66,7 +81,10 @@ import {Order, OrderApiService} from '../../../core/api/order-api.service';
             <div class="alert" *ngIf="isDelayed(order)">Delayed more than 1 day</div>
 
             <div class="items">
-              <div class="line" *ngFor="let item of order.items">
+              <button mat-button *ngIf="!itemsByRef[order.orderRef]" (click)="loadItems(order)" [disabled]="itemsRef === order.orderRef">
+                {{itemsRef === order.orderRef ? 'Loading items...' : 'Show items'}}
+              </button>
+              <div class="line" *ngFor="let item of itemsByRef[order.orderRef]">
                 <span>{{item.itemName}} ({{item.sku}}) x {{item.quantity}}</span>
                 <span>{{item.unitPrice * item.quantity | currency:'EUR'}}</span>
               </div>
@@ -86,21 +104,16 @@ import {Order, OrderApiService} from '../../../core/api/order-api.service';
               </button>
             </div>
           </mat-card>
-          <mat-paginator *ngIf="!loading && activeOrders().length > 0"
-                         [length]="activeOrders().length"
-                         [pageIndex]="pagination.active.pageIndex"
-                         [pageSize]="pagination.active.pageSize"
-                         [pageSizeOptions]="[4, 6, 10]"
-                         (page)="onOrdersPage('active', $event)">
-          </mat-paginator>
+          <p *ngIf="tabs.active.loading">Loading orders...</p>
+          <button mat-stroked-button class="load-more" *ngIf="!tabs.active.loading && tabs.active.cursor" (click)="loadMore('active')">Load more</button>
         </div>
       </mat-tab>
 
       <mat-tab [label]="'Rejected Orders (' + rejectedOrders().length + ')'">
         <div class="tab-pane">
-          <p *ngIf="!loading && rejectedOrders().length === 0">No rejected orders found.</p>
-          <div class="page-note" *ngIf="!loading && rejectedOrders().length > 0">{{pageLabel('rejected', rejectedOrders().length)}}</div>
-          <mat-card class="order rejected" *ngFor="let order of pagedRejectedOrders()">
+          <p *ngIf="!tabs.rejected.loading && rejectedOrders().length === 0">No rejected orders found.</p>
+          <div class="page-note" *ngIf="rejectedOrders().length > 0">{{pageLabel('rejected')}}</div>
+          <mat-card class="order rejected" *ngFor="let order of rejectedOrders()">
             <div class="head">
               <div>
                 <strong>{{order.orderRef}}</strong>
@@ -112,7 +125,10 @@ import {Order, OrderApiService} from '../../../core/api/order-api.service';
             </div>
 
             <div class="items">
-              <div class="line" *ngFor="let item of order.items">
+              <button mat-button *ngIf="!itemsByRef[order.orderRef]" (click)="loadItems(order)" [disabled]="itemsRef === order.orderRef">
+                {{itemsRef === order.orderRef ? 'Loading items...' : 'Show items'}}
+              </button>
+              <div class="line" *ngFor="let item of itemsByRef[order.orderRef]">
                 <span>{{item.itemName}} ({{item.sku}}) x {{item.quantity}}</span>
                 <span>{{item.unitPrice * item.quantity | currency:'EUR'}}</span>
               </div>
@@ -135,13 +151,8 @@ import {Order, OrderApiService} from '../../../core/api/order-api.service';
               </button>
             </div>
           </mat-card>
-          <mat-paginator *ngIf="!loading && rejectedOrders().length > 0"
-                         [length]="rejectedOrders().length"
-                         [pageIndex]="pagination.rejected.pageIndex"
-                         [pageSize]="pagination.rejected.pageSize"
-                         [pageSizeOptions]="[4, 6, 10]"
-                         (page)="onOrdersPage('rejected', $event)">
-          </mat-paginator>
+          <p *ngIf="tabs.rejected.loading">Loading orders...</p>
+          <button mat-stroked-button class="load-more" *ngIf="!tabs.rejected.loading && tabs.rejected.cursor" (click)="loadMore('rejected')">Load more</button>
         </div>
       </mat-tab>
 
@@ -151,11 +162,11 @@ import {Order, OrderApiService} from '../../../core/api/order-api.service';
             <div class="inline-filters">
               <label>
                 From
-                <input type="date" [(ngModel)]="historyFromDate" (ngModelChange)="resetHistoryPage()" />
+                <input type="date" [(ngModel)]="historyFromDate" (ngModelChange)="reloadTab('history')" />
               </label>
               <label>
                 To
-                <input type="date" [(ngModel)]="historyToDate" (ngModelChange)="resetHistoryPage()" />
+                <input type="date" [(ngModel)]="historyToDate" (ngModelChange)="reloadTab('history')" />
               </label>
             </div>
             <div class="tool-actions">
@@ -163,9 +174,9 @@ import {Order, OrderApiService} from '../../../core/api/order-api.service';
               <button mat-button (click)="clearHistoryFilters()">Clear</button>
             </div>
           </div>
-          <p *ngIf="!loading && historyOrders().length === 0">No history orders found.</p>
-          <div class="page-note" *ngIf="!loading && historyOrders().length > 0">{{pageLabel('history', historyOrders().length)}}</div>
-          <mat-card class="order history" *ngFor="let order of pagedHistoryOrders()">
+          <p *ngIf="!tabs.history.loading && historyOrders().length === 0">No history orders found.</p>
+          <div class="page-note" *ngIf="historyOrders().length > 0">{{pageLabel('history')}}</div>
+          <mat-card class="order history" *ngFor="let order of historyOrders()">
             <div class="head">
               <div>
                 <strong>{{order.orderRef}}</strong>
@@ -175,19 +186,17 @@ import {Order, OrderApiService} from '../../../core/api/order-api.service';
               <strong>{{order.totalAmount | currency:'EUR'}}</strong>
             </div>
             <div class="items">
-              <div class="line" *ngFor="let item of order.items">
+              <button mat-button *ngIf="!itemsByRef[order.orderRef]" (click)="loadItems(order)" [disabled]="itemsRef === order.orderRef">
+                {{itemsRef === order.orderRef ? 'Loading items...' : 'Show items'}}
+              </button>
+              <div class="line" *ngFor="let item of itemsByRef[order.orderRef]">
                 <span>{{item.itemName}} ({{item.sku}}) x {{item.quantity}}</span>
                 <span>{{item.unitPrice * item.quantity | currency:'EUR'}}</span>
               </div>
             </div>
           </mat-card>
-          <mat-paginator *ngIf="!loading && historyOrders().length > 0"
-                         [length]="historyOrders().length"
-                         [pageIndex]="pagination.history.pageIndex"
-                         [pageSize]="pagination.history.pageSize"
-                         [pageSizeOptions]="[4, 6, 10]"
-                         (page)="onOrdersPage('history', $event)">
-          </mat-paginator>
+          <p *ngIf="tabs.history.loading">Loading orders...</p>
+          <button mat-stroked-button class="load-more" *ngIf="!tabs.history.loading && tabs.history.cursor" (click)="loadMore('history')">Load more</button>
         </div>
       </mat-tab>
     </mat-tab-group>
@@ -231,7 +240,7 @@ import {Order, OrderApiService} from '../../../core/api/order-api.service';
     .line { display: flex; justify-content: space-between; margin: .3rem 0; gap: 1rem; }
     .status-row { margin-top: .7rem; display: grid; grid-template-columns: 180px 1fr auto; gap: .5rem; align-items: center; }
     .status-select, .comment-input { padding: .45rem .55rem; border: 1px solid #cbd8d2; border-radius: 8px; }
-    mat-paginator { margin-top: .5rem; border: 1px solid #dde7e1; border-radius: 12px; background: #fbfdfc; }
+    .load-more { display: block; margin: .5rem auto 0; }
     .error { color: #b42318; margin-top: .75rem; }
     @media (max-width: 860px) {
       .summary { grid-template-columns: 1fr; }
@@ -241,7 +250,6 @@ import {Order, OrderApiService} from '../../../core/api/order-api.service';
       .inline-filters label { flex: 1 1 160px; }
       .status-row { grid-template-columns: 1fr; }
       .head, .line { flex-direction: column; align-items: flex-start; }
-      mat-paginator { margin-top: .75rem; }
     }
   `]
 })
@@ -249,8 +257,13 @@ export class AdminOrdersComponent {
   private orderApi = inject(OrderApiService);
   @ViewChild('tabAnchor') private tabAnchor?: ElementRef<HTMLDivElement>;
 
-  orders: Order[] = [];
-  loading = true;
+  tabs: Record<OrderTab, OrderTabState> = {
+    active: {orders: [], cursor: null, loading: false},
+    rejected: {orders: [], cursor: null, loading: false},
+    history: {orders: [], cursor: null, loading: false}
+  };
+  itemsByRef: Record<string, OrderItem[]> = {};
+  itemsRef = '';
   error = '';
   busyRef = '';
   historyFromDate = '';
@@ -259,36 +272,31 @@ export class AdminOrdersComponent {
   selectedTabIndex = 0;
   nextStatusByRef: Record<string, string> = {};
   commentByRef: Record<string, string> = {};
-  pagination = {
-    active: {pageIndex: 0, pageSize: 6},
-    rejected: {pageIndex: 0, pageSize: 6},
-    history: {pageIndex: 0, pageSize: 6}
-  };
 
   constructor() {
     this.reload();
   }
 
   reload(): void {
-    this.loading = true;
     this.error = '';
-    this.orderApi.listAdminOrders().subscribe({
-      next: (orders) => {
-        this.orders = orders;
-        this.loading = false;
-        this.nextStatusByRef = {};
-        this.commentByRef = {};
-        for (const order of orders) {
-          this.nextStatusByRef[order.orderRef] = order.status;
-          this.commentByRef[order.orderRef] = order.rejectionComment || '';
-        }
-        this.ensureValidPages();
-      },
-      error: (err) => {
-        this.loading = false;
-        this.error = err?.error?.message || 'Unable to load orders.';
-      }
-    });
+    this.itemsByRef = {};
+    this.reloadTab('active');
+    this.reloadTab('rejected');
+    this.reloadTab('history');
+  }
+
+  reloadTab(tab: OrderTab): void {
+    const state = this.tabs[tab];
+    state.request?.unsubscribe();
+    state.orders = [];
+    state.cursor = null;
+    this.fetchPage(tab);
+  }
+
+  loadMore(tab: OrderTab): void {
+    if (this.tabs[tab].cursor && !this.tabs[tab].loading) {
+      this.fetchPage(tab);
+    }
   }
 
   clearFilters(): void {
@@ -297,88 +305,61 @@ export class AdminOrdersComponent {
 
   clearActiveFilters(): void {
     this.activeSort = 'price-desc';
-    this.resetActivePage();
-  }
-
-  clearRejectedFilters(): void {
-    this.resetRejectedPage();
   }
 
   clearHistoryFilters(): void {
     this.historyFromDate = '';
     this.historyToDate = '';
-    this.resetHistoryPage();
-  }
-
-  activeOrders(): Order[] {
-    return this.sortActive(this.orders.filter(order =>
-      ['PENDING', 'COD_PENDING', 'PENDING_PAYMENT', 'CONFIRMED', 'FULFILLING', 'SHIPPED'].includes(order.status)
-    ));
-  }
-
-  rejectedOrders(): Order[] {
-    return this.orders.filter(order => order.status === 'REJECTED')
-      .sort((a, b) => new Date(b.createdAt).getTime() - new Date(a.createdAt).getTime());
-  }
-
-  historyOrders(): Order[] {
-    return this.orders.filter(order =>
-      ['DELIVERED', 'CANCELED', 'PAYMENT_CANCELLED', 'PAYMENT_FAILED'].includes(order.status)
-    ).filter(order => this.matchesHistoryRange(order))
-      .sort((a, b) => new Date(b.createdAt).getTime() - new Date(a.createdAt).getTime());
+    this.reloadTab('history');
   }
 
-  pagedActiveOrders(): Order[] {
-    return this.slicePage(this.activeOrders(), this.pagination.active);
+  activeOrders(): OrderSummary[] {
+    return this.sortActive(this.tabs.active.orders);
   }
 
-  pagedRejectedOrders(): Order[] {
-    return this.slicePage(this.rejectedOrders(), this.pagination.rejected);
+  rejectedOrders(): OrderSummary[] {
+    return this.tabs.rejected.orders;
   }
 
-  pagedHistoryOrders(): Order[] {
-    return this.slicePage(this.historyOrders(), this.pagination.history);
+  historyOrders(): OrderSummary[] {
+    return this.tabs.history.orders;
   }
 
-  resetOrderPages(): void {
-    this.pagination.active.pageIndex = 0;
-    this.pagination.rejected.pageIndex = 0;
-    this.pagination.history.pageIndex = 0;
+  countLabel(tab: OrderTab): string {
+    const state = this.tabs[tab];
+    return `${state.orders.length}${state.cursor ? '+' : ''}`;
   }
 
-  resetActivePage(): void {
-    this.pagination.active.pageIndex = 0;
+  pageLabel(tab: OrderTab): string {
+    const state = this.tabs[tab];
+    return state.cursor
+      ? `Showing the latest ${state.orders.length} orders`
+      : `Showing all ${state.orders.length} orders`;
   }
 
-  resetRejectedPage(): void {
-    this.pagination.rejected.pageIndex = 0;
-  }
-
-  resetHistoryPage(): void {
-    this.pagination.history.pageIndex = 0;
-  }
-
-  onOrdersPage(tab: 'active' | 'rejected' | 'history', event: PageEvent): void {
-    this.pagination[tab].pageIndex = event.pageIndex;
-    this.pagination[tab].pageSize = event.pageSize;
-  }
-
-  pageLabel(tab: 'active' | 'rejected' | 'history', total: number): string {
-    const state = this.pagination[tab];
-    const start = total === 0 ? 0 : state.pageIndex * state.pageSize + 1;
-    const end = Math.min(total, (state.pageIndex + 1) * state.pageSize);
-    return `Showing ${start}-${end} of ${total}`;
+  loadItems(order: OrderSummary): void {
+    this.itemsRef = order.orderRef;
+    this.orderApi.getAdminOrder(order.orderRef).subscribe({
+      next: (detail) => {
+        this.itemsRef = '';
+        this.itemsByRef[order.orderRef] = detail.items;
+      },
+      error: (err) => {
+        this.itemsRef = '';
+        this.error = err?.error?.message || 'Unable to load order items.';
+      }
+    });
   }
 
-  isDelayed(order: Order): boolean {
-    if (!['PENDING', 'COD_PENDING', 'PENDING_PAYMENT', 'CONFIRMED', 'FULFILLING', 'SHIPPED'].includes(order.status)) {
+  isDelayed(order: OrderSummary): boolean {
+    if (!TAB_STATUSES.active.includes(order.status)) {
       return false;
     }
     const createdAt = new Date(order.createdAt).getTime();
     return (Date.now() - createdAt) > 24 * 60 * 60 * 1000;
   }
 
-  statusOptionsFor(order: Order): Array<{value: string; label: string}> {
+  statusOptionsFor(order: OrderSummary): Array<{value: string; label: string}> {
     if (order.paymentMethod === 'COD') {
       return [
         {value: 'COD_PENDING', label: 'Cash on Delivery'},
@@ -392,7 +373,7 @@ export class AdminOrdersComponent {
     ];
   }
 
-  saveStatus(order: Order): void {
+  saveStatus(order: OrderSummary): void {
     this.error = '';
     const nextStatus = this.nextStatusByRef[order.orderRef] || order.status;
     const comment = this.commentByRef[order.orderRef] || '';
@@ -428,7 +409,33 @@ export class AdminOrdersComponent {
     }, 0);
   }
 
-  private sortActive(orders: Order[]): Order[] {
+  private fetchPage(tab: OrderTab): void {
+    const state = this.tabs[tab];
+    state.loading = true;
+    state.request = this.orderApi.pageAdminOrders({
+      status: TAB_STATUSES[tab],
+      from: tab === 'history' ? this.startOfDay(this.historyFromDate) : undefined,
+      to: tab === 'history' ? this.startOfDay(this.historyToDate, 1) : undefined,
+      after: state.cursor,
+      limit: PAGE_SIZE
+    }).subscribe({
+      next: (page) => {
+        state.loading = false;
+        state.orders = [...state.orders, ...page.items];
+        state.cursor = page.nextCursor;
+        for (const order of page.items) {
+          this.nextStatusByRef[order.orderRef] = order.status;
+          this.commentByRef[order.orderRef] = order.rejectionComment || '';
+        }
+      },
+      error: (err) => {
+        state.loading = false;
+        this.error = err?.error?.message || 'Unable to load orders.';
+      }
+    });
+  }
+
+  private sortActive(orders: OrderSummary[]): OrderSummary[] {
     const sorted = [...orders];
     switch (this.activeSort) {
       case 'price-asc':
@@ -447,39 +454,12 @@ export class AdminOrdersComponent {
     return sorted;
   }
 
-  private slicePage<T>(items: T[], state: {pageIndex: number; pageSize: number}): T[] {
-    const totalPages = Math.max(1, Math.ceil(items.length / state.pageSize));
-    if (state.pageIndex >= totalPages) {
-      state.pageIndex = 0;
-    }
-    const start = state.pageIndex * state.pageSize;
-    return items.slice(start, start + state.pageSize);
-  }
-
-  private ensureValidPages(): void {
-    this.slicePage(this.activeOrders(), this.pagination.active);
-    this.slicePage(this.rejectedOrders(), this.pagination.rejected);
-    this.slicePage(this.historyOrders(), this.pagination.history);
-  }
-
-  private matchesHistoryRange(order: Order): boolean {
-    return this.matchesRange(order, this.historyFromDate, this.historyToDate);
-  }
-
-  private matchesRange(order: Order, fromDate: string, toDate: string): boolean {
-    const created = new Date(order.createdAt);
-    if (fromDate) {
-      const from = new Date(`${fromDate}T00:00:00`);
-      if (created < from) {
-        return false;
-      }
-    }
-    if (toDate) {
-      const to = new Date(`${toDate}T23:59:59`);
-      if (created > to) {
-        return false;
-      }
+  private startOfDay(date: string, plusDays = 0): string | undefined {
+    if (!date) {
+      return undefined;
     }
-    return true;
+    const day = new Date(`${date}T00:00:00`);
+    day.setDate(day.getDate() + plusDays);
+    return day.toISOString();
   }
 }
@@ -4,7 +4,9 @@ import {FormGroup, ReactiveFormsModule} from '@angular/forms';
 import {MatCheckboxModule} from '@angular/material/checkbox';
 import {MatButtonModule} from '@angular/material/button';
 import {MatExpansionModule} from '@angular/material/expansion';
-import {CatalogCategoryOption, CatalogSubcategoryOption} from '../../../core/api/catalog-api.service';
+import {FacetCount, ProductBrowsePage} from '../../../core/api/catalog-api.service';
+
+export type FacetKey = 'category' | 'subcategory' | 'price' | 'discount';
 
 @Component({
   selector: 'app-product-filters',
@@ -37,30 +39,15 @@ import {CatalogCategoryOption, CatalogSubcategoryOption} from '../../../core/api
     </ng-template>
 
     <ng-template #content>
-      <div class="section">
-        <h4>Category</h4>
-        <mat-checkbox *ngFor="let c of categories"
-                      [checked]="isCategorySelected(c.id)"
-                      (change)="toggleCategory(c.id, $event.checked)">
-          {{c.name}}
-        </mat-checkbox>
-      </div>
-
-      <div class="section">
-        <h4>Subcategory</h4>
-        <mat-checkbox *ngFor="let s of visibleSubcategories"
-                      [checked]="isSubcategorySelected(s.id)"
-                      (change)="toggleSubcategory(s.id, $event.checked)">
-          {{s.name}}
+      <div class="section" *ngFor="let section of sections">
+        <h4>{{section.title}}</h4>
+        <mat-checkbox *ngFor="let f of visibleValues(section.key)"
+                      [checked]="isSelected(section.key, f.value)"
+                      (change)="toggle(section.key, f.value, $event.checked)">
+          {{label(section.key, f.value)}} ({{f.count}})
         </mat-checkbox>
       </div>
 
-      <div class="section price-row">
-        <h4>Price (EUR)</h4>
-        <input class="range" type="range" min="0" [max]="priceCeiling" [value]="selectedMaxPrice" (input)="onPriceDrag($event)" />
-        <p class="price-value">Up to {{selectedMaxPrice | currency:'EUR':'symbol':'1.0-0'}}</p>
-      </div>
-
       <div class="section">
         <h4>Availability</h4>
         <mat-checkbox formControlName="stock">In stock only</mat-checkbox>
@@ -74,71 +61,50 @@ import {CatalogCategoryOption, CatalogSubcategoryOption} from '../../../core/api
     .sticky { position: sticky; top: 82px; }
     .section { display: flex; flex-direction: column; gap: .4rem; padding-bottom: .7rem; border-bottom: 1px solid #e5ece7; }
     .section h4 { margin: 0; font-size: .95rem; color: #27453c; }
-    .range { width: 100%; accent-color: #0f766e; }
-    .price-value { margin: 0; color: #1f3f35; font-weight: 600; }
   `]
 })
 export class ProductFiltersComponent {
   @Input({required: true}) form!: FormGroup;
-  @Input() categories: CatalogCategoryOption[] = [];
-  @Input() subcategories: CatalogSubcategoryOption[] = [];
+  @Input() facets: ProductBrowsePage['facets'] | null = null;
   @Input() mobile = false;
-  @Input() priceCeiling = 100;
   @Output() clear = new EventEmitter<void>();
 
-  get visibleSubcategories(): CatalogSubcategoryOption[] {
-    const selectedCategories = this.selectedCategoryIds;
-    if (!selectedCategories.length) {
-      return this.subcategories;
-    }
-    return this.subcategories.filter(s => selectedCategories.includes(s.categoryId));
-  }
+  readonly sections: Array<{key: FacetKey; title: string}> = [
+    {key: 'category', title: 'Category'},
+    {key: 'subcategory', title: 'Subcategory'},
+    {key: 'price', title: 'Price (EUR)'},
+    {key: 'discount', title: 'Discount'}
+  ];
 
-  get selectedMaxPrice(): number {
-    const val = this.form.get('max')?.value;
-    if (val === null || val === undefined || Number.isNaN(Number(val))) {
-      return this.priceCeiling;
-    }
-    return Number(val);
+  visibleValues(key: FacetKey): FacetCount[] {
+    return (this.facets?.[key] ?? []).filter(f => f.count > 0 || this.isSelected(key, f.value));
   }
 
-  get selectedCategoryIds(): number[] {
-    return this.form.get('categories')?.value ?? [];
+  isSelected(key: FacetKey, value: string): boolean {
+    return this.selected(key).includes(value);
   }
 
-  private get selectedSubcategoryIds(): number[] {
-    return this.form.get('subcategories')?.value ?? [];
+  toggle(key: FacetKey, value: string, checked: boolean): void {
+    const current = this.selected(key);
+    const next = checked ? [...new Set([...current, value])] : current.filter(v => v !== value);
+    this.form.patchValue({[key]: next});
   }
 
-  isCategorySelected(id: number): boolean {
-    return this.selectedCategoryIds.includes(id);
+  label(key: FacetKey, value: string): string {
+    return facetLabel(key, value);
   }
 
-  isSubcategorySelected(id: number): boolean {
-    return this.selectedSubcategoryIds.includes(id);
+  private selected(key: FacetKey): string[] {
+    return this.form.get(key)?.value ?? [];
   }
+}
 
-  toggleCategory(id: number, checked: boolean): void {
-    const next = checked
-      ? [...this.selectedCategoryIds, id]
-      : this.selectedCategoryIds.filter((v: number) => v !== id);
-    this.form.patchValue({categories: dedupe(next)});
+export function facetLabel(key: FacetKey, value: string): string {
+  if (key === 'price') {
+    return `EUR ${value}`;
   }
-
-  toggleSubcategory(id: number, checked: boolean): void {
-    const next = checked
-      ? [...this.selectedSubcategoryIds, id]
-      : this.selectedSubcategoryIds.filter((v: number) => v !== id);
-    this.form.patchValue({subcategories: dedupe(next)});
+  if (key === 'discount') {
+    return `${value.replace('+', '')}%+ off`;
   }
-
-  onPriceDrag(event: Event): void {
-    const target = event.target as HTMLInputElement;
-    const max = Number(target.value);
-    this.form.patchValue({max});
-  }
-}
-
-function dedupe(values: number[]): number[] {
-  return [...new Set(values)];
+  return value;
 }
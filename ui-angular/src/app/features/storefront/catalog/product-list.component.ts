@@ -1,28 +1,29 @@
 import {Component, inject, OnDestroy} from '@angular/core';
 import {CommonModule} from '@angular/common';
 import {ActivatedRoute, Router} from '@angular/router';
-import {FormBuilder, ReactiveFormsModule} from '@angular/forms';
-import {forkJoin, Subject} from 'rxjs';
-import {debounceTime, take, takeUntil} from 'rxjs/operators';
+import {FormBuilder, FormControl, ReactiveFormsModule} from '@angular/forms';
+import {EMPTY, of, Subject} from 'rxjs';
+import {catchError, debounceTime, distinctUntilChanged, map, switchMap, take, takeUntil} from 'rxjs/operators';
+import {MatAutocompleteModule} from '@angular/material/autocomplete';
 import {MatButtonModule} from '@angular/material/button';
 import {MatCardModule} from '@angular/material/card';
 import {MatChipsModule} from '@angular/material/chips';
 import {MatFormFieldModule} from '@angular/material/form-field';
 import {MatInputModule} from '@angular/material/input';
-import {MatPaginatorModule, PageEvent} from '@angular/material/paginator';
 import {MatProgressSpinnerModule} from '@angular/material/progress-spinner';
 import {MatSelectModule} from '@angular/material/select';
 import {MatSnackBar, MatSnackBarModule} from '@angular/material/snack-bar';
 import {Store} from '@ngrx/store';
 import {
   CatalogApiService,
-  CatalogCategoryOption,
-  CatalogSubcategoryOption,
-  Product
+  Product,
+  ProductBrowsePage,
+  ProductBrowseQuery,
+  Suggestion
 } from '../../../core/api/catalog-api.service';
 import {InventoryApiService} from '../../../core/api/inventory-api.service';
 import {CartApiService} from '../../../core/api/cart-api.service';
-import {ProductFiltersComponent} from './product-filters.component';
+import {FacetKey, facetLabel, ProductFiltersComponent} from './product-filters.component';
 import {ProductCardComponent} from './product-card.component';
 
 @Component({
@@ -31,12 +32,12 @@ import {ProductCardComponent} from './product-card.component';
   imports: [
     CommonModule,
     ReactiveFormsModule,
+    MatAutocompleteModule,
     MatButtonModule,
     MatCardModule,
     MatChipsModule,
     MatFormFieldModule,
     MatInputModule,
-    MatPaginatorModule,
     MatProgressSpinnerModule,
     MatSelectModule,
     MatSnackBarModule,
@@ -49,6 +50,16 @@ import {ProductCardComponent} from './product-card.component';
         <h2>Shop Products</h2>
         <p class="muted">Apply multiple filters to quickly find what you need.</p>
       </div>
+      <mat-form-field appearance="outline" class="search">
+        <mat-label>Search products</mat-label>
+        <input matInput [formControl]="searchControl" [matAutocomplete]="suggestBox" />
+        <mat-autocomplete #suggestBox="matAutocomplete" [displayWith]="suggestionText" (optionSelected)="onSuggestion($event.option.value)">
+          <mat-option *ngFor="let s of suggestions$ | async" [value]="s">
+            {{s.text}}
+            <span class="suggest-type" *ngIf="s.type !== 'PRODUCT'">{{s.type === 'CATEGORY' ? 'Category' : 'Subcategory'}}</span>
+          </mat-option>
+        </mat-autocomplete>
+      </mat-form-field>
       <button mat-stroked-button (click)="reload()">Refresh</button>
     </div>
 
@@ -56,9 +67,7 @@ import {ProductCardComponent} from './product-card.component';
       <aside class="filters">
         <app-product-filters
           [form]="filterForm"
-          [categories]="categories"
-          [subcategories]="subcategories"
-          [priceCeiling]="priceCeiling"
+          [facets]="facets"
           [mobile]="false"
           (clear)="clearAll()"
         />
@@ -68,16 +77,14 @@ import {ProductCardComponent} from './product-card.component';
         <div class="mobile-filters">
           <app-product-filters
             [form]="filterForm"
-            [categories]="categories"
-            [subcategories]="subcategories"
-            [priceCeiling]="priceCeiling"
+            [facets]="facets"
             [mobile]="true"
             (clear)="clearAll()"
           />
         </div>
 
         <div class="toolbar">
-          <div class="result-note" *ngIf="!loading && totalElements > 0">{{pageSummary()}}</div>
+          <div class="result-note" *ngIf="totalElements > 0">{{pageSummary()}}</div>
           <mat-chip-set *ngIf="activeChips.length > 0">
             <mat-chip *ngFor="let chip of activeChips" [removable]="true" (removed)="removeChip(chip)">
               {{chip.label}}
@@ -88,26 +95,26 @@ import {ProductCardComponent} from './product-card.component';
           <mat-form-field appearance="outline" class="sort">
             <mat-label>Sort by</mat-label>
             <mat-select [value]="sort" (valueChange)="onSortChanged($event)">
-              <mat-option value="NEWEST">Newest</mat-option>
-              <mat-option value="PRICE_ASC">Price low-high</mat-option>
-              <mat-option value="PRICE_DESC">Price high-low</mat-option>
-              <mat-option value="NAME_ASC">Name A-Z</mat-option>
+              <mat-option value="name">Name A-Z</mat-option>
+              <mat-option value="price_asc">Price low-high</mat-option>
+              <mat-option value="price_desc">Price high-low</mat-option>
+              <mat-option value="rating">Top rated</mat-option>
             </mat-select>
           </mat-form-field>
         </div>
 
-        <div class="loader" *ngIf="loading">
+        <div class="loader" *ngIf="loading && items.length === 0">
           <mat-spinner diameter="36"></mat-spinner>
         </div>
 
-        <ng-container *ngIf="!loading">
-          <div class="empty" *ngIf="pagedItems.length === 0">
+        <ng-container *ngIf="!loading || items.length > 0">
+          <div class="empty" *ngIf="!loading && visibleItems().length === 0">
             <h3>No products match your filters</h3>
             <button mat-stroked-button (click)="clearAll()">Clear all filters</button>
           </div>
 
-          <div class="grid" *ngIf="pagedItems.length > 0">
-            <app-product-card *ngFor="let p of pagedItems"
+          <div class="grid" *ngIf="visibleItems().length > 0">
+            <app-product-card *ngFor="let p of visibleItems()"
                               [product]="p"
                               [quantity]="getQty(p.id)"
                               (quantityChange)="setQty(p.id, $event)"
@@ -115,18 +122,17 @@ import {ProductCardComponent} from './product-card.component';
           </div>
         </ng-container>
 
-        <mat-paginator [length]="totalElements"
-                       [pageIndex]="pageIndex"
-                       [pageSize]="pageSize"
-                       [pageSizeOptions]="[8,12,24]"
-                       (page)="onPage($event)">
-        </mat-paginator>
+        <button mat-stroked-button class="load-more" *ngIf="cursor" [disabled]="loading" (click)="loadMore()">
+          {{loading ? 'Loading...' : 'Load more'}}
+        </button>
       </section>
     </div>
   `,
   styles: [`
     .header { display: flex; justify-content: space-between; align-items: flex-start; margin-bottom: .7rem; }
     .header h2 { margin: 0; }
+    .search { flex: 1; max-width: 360px; margin-left: auto; margin-right: .6rem; }
+    .suggest-type { margin-left: .4rem; color: #6e8379; font-size: .8rem; }
     .muted { margin: .2rem 0 0; color: #5a7067; }
     .layout { display: grid; grid-template-columns: 300px 1fr; gap: 1rem; align-items: start; }
     .filters { background: #fff; border: 1px solid #e3ece7; border-radius: 12px; padding: .8rem; }
@@ -138,10 +144,11 @@ import {ProductCardComponent} from './product-card.component';
     .loader { min-height: 180px; display: grid; place-items: center; }
     .empty { border: 1px dashed #cddcd4; border-radius: 12px; padding: 1.4rem; text-align: center; color: #4c665b; }
     .grid { display: grid; grid-template-columns: repeat(3, minmax(0, 1fr)); gap: .9rem; }
-    mat-paginator { margin-top: .7rem; border: 1px solid #e3ece7; border-radius: 10px; background: #fbfdfc; }
+    .load-more { display: block; margin: .9rem auto 0; }
     @media (max-width: 1080px) { .grid { grid-template-columns: repeat(2, minmax(0, 1fr)); } }
     @media (max-width: 860px) {
       .header { flex-direction: column; gap: .7rem; }
+      .search { width: 100%; max-width: none; margin: 0; }
       .layout { grid-template-columns: 1fr; }
       .filters { display: none; }
       .mobile-filters { display: block; }
@@ -162,77 +169,135 @@ export class ProductListComponent implements OnDestroy {
   private router = inject(Router);
   private snackBar = inject(MatSnackBar);
   private readonly destroy$ = new Subject<void>();
+  private readonly fetch$ = new Subject<{append: boolean}>();
   private suppressQuerySync = false;
 
-  categories: CatalogCategoryOption[] = [];
-  subcategories: CatalogSubcategoryOption[] = [];
-  allItems: Product[] = [];
-  filteredItems: Product[] = [];
-  pagedItems: Product[] = [];
+  items: Product[] = [];
+  facets: ProductBrowsePage['facets'] | null = null;
+  cursor: string | null = null;
   quantityByProductId: Record<number, number> = {};
   loading = false;
 
-  sort: 'NEWEST' | 'PRICE_ASC' | 'PRICE_DESC' | 'NAME_ASC' = 'NEWEST';
-  pageIndex = 0;
-  pageSize = 12;
+  sort: Sort = 'name';
+  pageSize = 24;
   totalElements = 0;
-  priceCeiling = 100;
 
   filterForm = this.fb.group({
-    categories: this.fb.nonNullable.control<number[]>([]),
-    subcategories: this.fb.nonNullable.control<number[]>([]),
-    max: this.fb.control<number | null>(null),
+    category: this.fb.nonNullable.control<string[]>([]),
+    subcategory: this.fb.nonNullable.control<string[]>([]),
+    price: this.fb.nonNullable.control<string[]>([]),
+    discount: this.fb.nonNullable.control<string[]>([]),
     stock: this.fb.nonNullable.control(false)
   });
 
   activeChips: Array<{key: string; label: string}> = [];
 
+  searchControl = new FormControl<string | Suggestion>('', {nonNullable: true});
+  suggestions$ = this.searchControl.valueChanges.pipe(
+    debounceTime(150),
+    map(value => typeof value === 'string' ? value.trim() : ''),
+    distinctUntilChanged(),
+    switchMap(q => q.length < 2 ? of([]) : this.catalogApi.suggest(q).pipe(catchError(() => of([]))))
+  );
+
   constructor() {
+    this.listenFetches();
     this.hydrateFromQueryParams();
     this.listenFilterChanges();
-    this.reload();
   }
 
   reload(): void {
-    forkJoin({
-      catalog: this.catalogApi.getCatalogMetadata(),
-      inventory: this.inventoryApi.listItems()
-    }).subscribe(({catalog, inventory}) => {
-      this.loading = true;
-      const bySku = new Map(inventory.map(i => [i.sku, i.availableQty ?? 0]));
-      this.categories = catalog.categories;
-      this.subcategories = catalog.subcategories;
-      this.allItems = catalog.products.map(p => ({...p, availableQty: bySku.get(p.sku) ?? 0}));
-      this.priceCeiling = Math.max(1, ...this.allItems.map(p => Math.ceil(Number(p.price || 0))));
-      if (this.filterForm.controls.max.value === null) {
-        this.filterForm.patchValue({max: this.priceCeiling}, {emitEvent: false});
-      }
-      this.applyFiltersAndPaging();
+    this.fetch$.next({append: false});
+  }
+
+  loadMore(): void {
+    if (this.cursor && !this.loading) {
+      this.fetch$.next({append: true});
+    }
+  }
+
+  suggestionText(value: Suggestion | string | null): string {
+    return typeof value === 'string' ? value : value?.text ?? '';
+  }
+
+  onSuggestion(suggestion: Suggestion): void {
+    this.searchControl.setValue('', {emitEvent: false});
+    if (suggestion.type === 'PRODUCT' && suggestion.productId) {
+      this.router.navigate(['/app/products', suggestion.productId]);
+      return;
+    }
+    if (suggestion.type === 'CATEGORY') {
+      this.filterForm.patchValue({category: [suggestion.text], subcategory: []});
+      return;
+    }
+    this.filterForm.patchValue({subcategory: [suggestion.text]});
+  }
+
+  visibleItems(): Product[] {
+    return this.filterForm.controls.stock.value
+      ? this.items.filter(p => Number(p.availableQty ?? 0) > 0)
+      : this.items;
+  }
+
+  private listenFetches(): void {
+    this.fetch$.pipe(
+      switchMap(({append}) => {
+        this.loading = true;
+        return this.catalogApi.browseProducts(this.browseQuery(append ? this.cursor : null)).pipe(
+          switchMap(page => this.withAvailability(page.items).pipe(map(items => ({page, items, append})))),
+          catchError(err => {
+            this.loading = false;
+            this.snackBar.open(err?.error?.message || 'Unable to load products.', 'Close', {duration: 3000});
+            return EMPTY;
+          })
+        );
+      }),
+      takeUntil(this.destroy$)
+    ).subscribe(({page, items, append}) => {
+      this.items = append ? [...this.items, ...items] : items;
+      this.facets = page.facets;
+      this.cursor = page.nextCursor;
+      this.totalElements = page.total;
+      this.activeChips = this.buildChips();
       this.loading = false;
     });
   }
 
+  private withAvailability(products: Product[]) {
+    if (products.length === 0) {
+      return of(products);
+    }
+    return this.inventoryApi.availability(products.map(p => p.sku)).pipe(
+      map(stock => products.map(p => ({...p, availableQty: stock[p.sku] ?? 0}))),
+      catchError(() => of(products))
+    );
+  }
+
+  private browseQuery(after: string | null): ProductBrowseQuery {
+    const values = this.filterForm.getRawValue();
+    return {
+      category: values.category,
+      subcategory: values.subcategory,
+      price: values.price,
+      discount: values.discount,
+      sort: this.sort,
+      after,
+      limit: this.pageSize
+    };
+  }
+
   private hydrateFromQueryParams(): void {
     this.route.queryParamMap.pipe(takeUntil(this.destroy$)).subscribe(params => {
       this.suppressQuerySync = true;
-      const categories = parseCsvNumbers(params.get('categories'));
-      const subcategories = parseCsvNumbers(params.get('subcategories'));
-      const max = parseNumber(params.get('max'));
-      const stock = params.get('stock') === '1';
-      const sort = parseSort(params.get('sort'));
-      const page = Math.max(0, Number(params.get('page') || 0));
-      const size = Number(params.get('size') || 12);
-
-      this.sort = sort;
-      this.pageIndex = Number.isFinite(page) ? page : 0;
-      this.pageSize = Number.isFinite(size) && size > 0 ? size : 12;
+      this.sort = parseSort(params.get('sort'));
       this.filterForm.patchValue({
-        categories,
-        subcategories,
-        max,
-        stock
+        category: parseCsv(params.get('category')),
+        subcategory: parseCsv(params.get('subcategory')),
+        price: parseCsv(params.get('price')),
+        discount: parseCsv(params.get('discount')),
+        stock: params.get('stock') === '1'
       }, {emitEvent: false});
-      this.applyFiltersAndPaging();
+      this.reload();
       this.suppressQuerySync = false;
     });
   }
@@ -241,56 +306,34 @@ export class ProductListComponent implements OnDestroy {
     this.filterForm.valueChanges
       .pipe(debounceTime(300), takeUntil(this.destroy$))
       .subscribe(() => {
-        this.sanitizeSubcategorySelection();
-        this.pageIndex = 0;
-        this.applyFiltersAndPaging();
+        this.activeChips = this.buildChips();
         this.syncQueryParams();
       });
   }
 
-  onSortChanged(sort: 'NEWEST' | 'PRICE_ASC' | 'PRICE_DESC' | 'NAME_ASC'): void {
+  onSortChanged(sort: Sort): void {
     this.sort = sort;
-    this.pageIndex = 0;
-    this.applyFiltersAndPaging();
-    this.syncQueryParams();
-  }
-
-  onPage(event: PageEvent): void {
-    this.pageIndex = event.pageIndex;
-    this.pageSize = event.pageSize;
-    this.applyFiltersAndPaging();
     this.syncQueryParams();
   }
 
   clearAll(): void {
     this.filterForm.patchValue({
-      categories: [],
-      subcategories: [],
-      max: null,
+      category: [],
+      subcategory: [],
+      price: [],
+      discount: [],
       stock: false
     });
   }
 
   removeChip(chip: {key: string; label: string}): void {
-    if (chip.key.startsWith('cat:')) {
-      const id = Number(chip.key.split(':')[1]);
-      const current = this.filterForm.controls.categories.value;
-      this.filterForm.patchValue({categories: current.filter(c => c !== id)});
-      return;
-    }
-    if (chip.key.startsWith('sub:')) {
-      const id = Number(chip.key.split(':')[1]);
-      const current = this.filterForm.controls.subcategories.value;
-      this.filterForm.patchValue({subcategories: current.filter(s => s !== id)});
-      return;
-    }
     if (chip.key === 'stock') {
       this.filterForm.patchValue({stock: false});
       return;
     }
-    if (chip.key === 'max') {
-      this.filterForm.patchValue({max: null});
-    }
+    const [facet, value] = splitChipKey(chip.key);
+    const control = this.filterForm.controls[facet];
+    control.setValue(control.value.filter(v => v !== value));
   }
 
   getQty(productId: number): number {
@@ -350,76 +393,16 @@ export class ProductListComponent implements OnDestroy {
   }
 
   private updateAvailableQty(sku: string, nextAvailable: number): void {
-    this.allItems = this.allItems.map(p => p.sku === sku ? {...p, availableQty: Math.max(0, nextAvailable)} : p);
-    this.applyFiltersAndPaging();
-  }
-
-  private applyFiltersAndPaging(): void {
-    let items = [...this.allItems];
-    const selectedCategoryIds = this.filterForm.controls.categories.value;
-    const selectedSubcategoryIds = this.filterForm.controls.subcategories.value;
-    const priceMax = this.filterForm.controls.max.value;
-    const inStockOnly = this.filterForm.controls.stock.value;
-
-    const categoryNameById = new Map(this.categories.map(c => [c.id, c.name]));
-    const subcategoryById = new Map(this.subcategories.map(s => [s.id, s]));
-    const selectedCategoryNames = selectedCategoryIds.map(id => categoryNameById.get(id)).filter(Boolean) as string[];
-    const selectedSubcategoryNames = selectedSubcategoryIds.map(id => subcategoryById.get(id)?.name).filter(Boolean) as string[];
-
-    if (selectedCategoryNames.length > 0) {
-      items = items.filter(p => selectedCategoryNames.includes(p.category));
-    }
-    if (selectedSubcategoryNames.length > 0) {
-      items = items.filter(p => selectedSubcategoryNames.includes(p.subcategory));
-    }
-    if (priceMax !== null && priceMax !== undefined) {
-      items = items.filter(p => Number(p.price) <= Number(priceMax));
-    }
-    if (inStockOnly) {
-      items = items.filter(p => Number(p.availableQty ?? 0) > 0);
-    }
-
-    items = sortProducts(items, this.sort);
-    this.filteredItems = items;
-    this.totalElements = items.length;
-
-    const from = this.pageIndex * this.pageSize;
-    const to = from + this.pageSize;
-    this.pagedItems = items.slice(from, to);
-
-    this.activeChips = this.buildChips(categoryNameById, subcategoryById);
+    this.items = this.items.map(p => p.sku === sku ? {...p, availableQty: Math.max(0, nextAvailable)} : p);
   }
 
-  private sanitizeSubcategorySelection(): void {
-    const selectedCategories = this.filterForm.controls.categories.value;
-    if (!selectedCategories.length) {
-      return;
-    }
-    const allowedSubcategoryIds = new Set(
-      this.subcategories.filter(s => selectedCategories.includes(s.categoryId)).map(s => s.id)
-    );
-    const current = this.filterForm.controls.subcategories.value;
-    const next = current.filter(id => allowedSubcategoryIds.has(id));
-    if (next.length !== current.length) {
-      this.filterForm.patchValue({subcategories: next}, {emitEvent: false});
-    }
-  }
-
-  private buildChips(categoryNameById: Map<number, string>, subcategoryById: Map<number, CatalogSubcategoryOption>):
-    Array<{key: string; label: string}> {
+  private buildChips(): Array<{key: string; label: string}> {
     const chips: Array<{key: string; label: string}> = [];
-    this.filterForm.controls.categories.value.forEach(id => {
-      const name = categoryNameById.get(id);
-      if (name) chips.push({key: `cat:${id}`, label: name});
-    });
-    this.filterForm.controls.subcategories.value.forEach(id => {
-      const entry = subcategoryById.get(id);
-      if (entry) chips.push({key: `sub:${id}`, label: entry.name});
-    });
-    if (this.filterForm.controls.max.value !== null) {
-      chips.push({key: 'max', label: `Up to EUR ${this.filterForm.controls.max.value}`});
+    const values = this.filterForm.getRawValue();
+    for (const facet of FACETS) {
+      values[facet].forEach(value => chips.push({key: `${facet}:${value}`, label: facetLabel(facet, value)}));
     }
-    if (this.filterForm.controls.stock.value) {
+    if (values.stock) {
       chips.push({key: 'stock', label: 'In stock only'});
     }
     return chips;
@@ -433,13 +416,12 @@ export class ProductListComponent implements OnDestroy {
     this.router.navigate([], {
       relativeTo: this.route,
       queryParams: {
-        categories: values.categories.length ? values.categories.join(',') : null,
-        subcategories: values.subcategories.length ? values.subcategories.join(',') : null,
-        max: values.max,
+        category: values.category.length ? values.category.join(',') : null,
+        subcategory: values.subcategory.length ? values.subcategory.join(',') : null,
+        price: values.price.length ? values.price.join(',') : null,
+        discount: values.discount.length ? values.discount.join(',') : null,
         stock: values.stock ? 1 : null,
-        sort: this.sort,
-        page: this.pageIndex,
-        size: this.pageSize
+        sort: this.sort
       },
       queryParamsHandling: 'merge'
     });
@@ -451,41 +433,27 @@ export class ProductListComponent implements OnDestroy {
   }
 
   pageSummary(): string {
-    const start = this.totalElements === 0 ? 0 : this.pageIndex * this.pageSize + 1;
-    const end = Math.min(this.totalElements, (this.pageIndex + 1) * this.pageSize);
-    return `Showing ${start}-${end} of ${this.totalElements} products`;
+    return `Showing ${this.items.length} of ${this.totalElements} products`;
   }
 }
 
-function parseCsvNumbers(value: string | null): number[] {
-  if (!value) return [];
-  return value.split(',').map(v => Number(v.trim())).filter(v => Number.isFinite(v) && v > 0);
-}
+type Sort = 'name' | 'price_asc' | 'price_desc' | 'rating';
 
-function parseNumber(value: string | null): number | null {
-  if (!value) return null;
-  const parsed = Number(value);
-  return Number.isFinite(parsed) ? parsed : null;
+const FACETS: FacetKey[] = ['category', 'subcategory', 'price', 'discount'];
+
+function parseCsv(value: string | null): string[] {
+  if (!value) return [];
+  return value.split(',').map(v => v.trim()).filter(v => v.length > 0);
 }
 
-function parseSort(value: string | null): 'NEWEST' | 'PRICE_ASC' | 'PRICE_DESC' | 'NAME_ASC' {
-  if (value === 'PRICE_ASC' || value === 'PRICE_DESC' || value === 'NAME_ASC' || value === 'NEWEST') {
+function parseSort(value: string | null): Sort {
+  if (value === 'name' || value === 'price_asc' || value === 'price_desc' || value === 'rating') {
     return value;
   }
-  return 'NEWEST';
+  return 'name';
 }
 
-function sortProducts(items: Product[], sort: 'NEWEST' | 'PRICE_ASC' | 'PRICE_DESC' | 'NAME_ASC'): Product[] {
-  const copy = [...items];
-  switch (sort) {
-    case 'PRICE_ASC':
-      return copy.sort((a, b) => Number(a.price) - Number(b.price));
-    case 'PRICE_DESC':
-      return copy.sort((a, b) => Number(b.price) - Number(a.price));
-    case 'NAME_ASC':
-      return copy.sort((a, b) => (a.name || '').localeCompare(b.name || ''));
-    case 'NEWEST':
-    default:
-      return copy.sort((a, b) => Number(b.id) - Number(a.id));
-  }
+function splitChipKey(key: string): [FacetKey, string] {
+  const separator = key.indexOf(':');
+  return [key.slice(0, separator) as FacetKey, key.slice(separator + 1)];
 }
@@ -155,7 +155,7 @@ export class CheckoutComponent {
       this.email = auth.email;
       this.retryOrderRef = this.route.snapshot.queryParamMap.get('retryOrderRef') || '';
       forkJoin({
-        cart: this.cartApi.list(this.email),
+        cart: this.cartApi.flush(this.email),
         products: this.catalogApi.listProducts(),
         addresses: this.addressApi.list()
       }).subscribe({
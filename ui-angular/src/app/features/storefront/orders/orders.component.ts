@@ -2,33 +2,48 @@ import {Component, inject} from '@angular/core';
 import {CommonModule} from '@angular/common';
 import {FormsModule} from '@angular/forms';
 import {Store} from '@ngrx/store';
-import {take} from 'rxjs/operators';
-import {forkJoin} from 'rxjs';
-import {Order, OrderApiService} from '../../../core/api/order-api.service';
+import {switchMap, take} from 'rxjs/operators';
+import {Subscription, forkJoin, of} from 'rxjs';
+import {OrderApiService, OrderItem, OrderSummary} from '../../../core/api/order-api.service';
 import {MatCardModule} from '@angular/material/card';
 import {MatButtonModule} from '@angular/material/button';
-import {MatPaginatorModule, PageEvent} from '@angular/material/paginator';
 import {MatTabsModule} from '@angular/material/tabs';
 import {CartApiService} from '../../../core/api/cart-api.service';
 import {Router} from '@angular/router';
 
+type OrderTab = 'active' | 'rejected' | 'history';
+
+interface OrderTabState {
+  orders: OrderSummary[];
+  cursor: string | null;
+  loading: boolean;
+  request?: Subscription;
+}
+
+const TAB_STATUSES: Record<OrderTab, string[]> = {
+  active: ['PENDING', 'COD_PENDING', 'PENDING_PAYMENT', 'CONFIRMED', 'FULFILLING', 'SHIPPED'],
+  rejected: ['REJECTED'],
+  history: ['DELIVERED', 'CANCELED', 'PAYMENT_CANCELLED', 'PAYMENT_FAILED']
+};
+const PAGE_SIZE = 20;
+
 @Component({
   selector: 'app-orders',
   standalone: true,
-  imports: [CommonModule, FormsModule, MatCardModule, MatButtonModule, MatPaginatorModule, MatTabsModule],
+  imports: [CommonModule, FormsModule, MatCardModule, MatButtonModule, MatTabsModule],
   template: `
     <h3>My Orders</h3>
     <p class="muted">Keep active, rejected, and completed orders separate so changes are easier to track.</p>
 
     <p *ngIf="loading">Loading orders...</p>
-    <p *ngIf="!loading && orders.length === 0">No orders yet.</p>
+    <p *ngIf="!loading && !hasOrders()">No orders yet.</p>
 
-    <mat-tab-group *ngIf="!loading && orders.length > 0">
+    <mat-tab-group *ngIf="!loading && hasOrders()">
       <mat-tab [label]="'Active Orders (' + activeOrders().length + ')'">
         <div class="tab-pane">
-          <p *ngIf="activeOrders().length === 0">No active orders right now.</p>
-          <div class="page-note" *ngIf="activeOrders().length > 0">{{pageLabel('active', activeOrders().length)}}</div>
-          <mat-card class="order" *ngFor="let order of pagedActiveOrders()">
+          <p *ngIf="!tabs.active.loading && activeOrders().length === 0">No active orders right now.</p>
+          <div class="page-note" *ngIf="activeOrders().length > 0">{{pageLabel('active')}}</div>
+          <mat-card class="order" *ngFor="let order of activeOrders()">
             <div class="head">
               <div>
                 <strong>{{order.orderRef}}</strong>
@@ -39,27 +54,25 @@ import {Router} from '@angular/router';
               <strong>{{order.totalAmount | currency:'EUR'}}</strong>
             </div>
             <div class="items">
-              <div class="line" *ngFor="let item of order.items">
+              <button mat-button *ngIf="!itemsByRef[order.orderRef]" (click)="loadItems(order)" [disabled]="itemsRef === order.orderRef">
+                {{itemsRef === order.orderRef ? 'Loading items...' : 'Show items'}}
+              </button>
+              <div class="line" *ngFor="let item of itemsByRef[order.orderRef]">
                 <span>{{item.itemName}} x {{item.quantity}}</span>
                 <span>{{item.unitPrice * item.quantity | currency:'EUR'}}</span>
               </div>
             </div>
           </mat-card>
-          <mat-paginator *ngIf="activeOrders().length > 0"
-                         [length]="activeOrders().length"
-                         [pageIndex]="pagination.active.pageIndex"
-                         [pageSize]="pagination.active.pageSize"
-                         [pageSizeOptions]="[4, 6, 10]"
-                         (page)="onOrdersPage('active', $event)">
-          </mat-paginator>
+          <p *ngIf="tabs.active.loading">Loading orders...</p>
+          <button mat-stroked-button class="load-more" *ngIf="!tabs.active.loading && tabs.active.cursor" (click)="loadMore('active')">Load more</button>
         </div>
       </mat-tab>
 
       <mat-tab [label]="'Rejected Orders (' + rejectedOrders().length + ')'">
         <div class="tab-pane">
-          <p *ngIf="rejectedOrders().length === 0">No rejected orders.</p>
-          <div class="page-note" *ngIf="rejectedOrders().length > 0">{{pageLabel('rejected', rejectedOrders().length)}}</div>
-          <mat-card class="order rejected-card" *ngFor="let order of pagedRejectedOrders()">
+          <p *ngIf="!tabs.rejected.loading && rejectedOrders().length === 0">No rejected orders.</p>
+          <div class="page-note" *ngIf="rejectedOrders().length > 0">{{pageLabel('rejected')}}</div>
+          <mat-card class="order rejected-card" *ngFor="let order of rejectedOrders()">
             <div class="head">
               <div>
                 <strong>{{order.orderRef}}</strong>
@@ -71,7 +84,10 @@ import {Router} from '@angular/router';
               <strong>{{order.totalAmount | currency:'EUR'}}</strong>
             </div>
             <div class="items">
-              <div class="line" *ngFor="let item of order.items">
+              <button mat-button *ngIf="!itemsByRef[order.orderRef]" (click)="loadItems(order)" [disabled]="itemsRef === order.orderRef">
+                {{itemsRef === order.orderRef ? 'Loading items...' : 'Show items'}}
+              </button>
+              <div class="line" *ngFor="let item of itemsByRef[order.orderRef]">
                 <span>{{item.itemName}} x {{item.quantity}}</span>
                 <span>{{item.unitPrice * item.quantity | currency:'EUR'}}</span>
               </div>
@@ -80,13 +96,8 @@ import {Router} from '@angular/router';
               <button mat-raised-button color="warn" (click)="modifyOrder(order)">Modify Order</button>
             </div>
           </mat-card>
-          <mat-paginator *ngIf="rejectedOrders().length > 0"
-                         [length]="rejectedOrders().length"
-                         [pageIndex]="pagination.rejected.pageIndex"
-                         [pageSize]="pagination.rejected.pageSize"
-                         [pageSizeOptions]="[4, 6, 10]"
-                         (page)="onOrdersPage('rejected', $event)">
-          </mat-paginator>
+          <p *ngIf="tabs.rejected.loading">Loading orders...</p>
+          <button mat-stroked-button class="load-more" *ngIf="!tabs.rejected.loading && tabs.rejected.cursor" (click)="loadMore('rejected')">Load more</button>
         </div>
       </mat-tab>
 
@@ -95,17 +106,17 @@ import {Router} from '@angular/router';
           <div class="filters">
             <label>
               From
-              <input type="date" [(ngModel)]="historyFromDate" (ngModelChange)="resetHistoryPage()" />
+              <input type="date" [(ngModel)]="historyFromDate" (ngModelChange)="reloadTab('history')" />
             </label>
             <label>
               To
-              <input type="date" [(ngModel)]="historyToDate" (ngModelChange)="resetHistoryPage()" />
+              <input type="date" [(ngModel)]="historyToDate" (ngModelChange)="reloadTab('history')" />
             </label>
             <button mat-stroked-button (click)="clearHistoryFilters()">Clear</button>
           </div>
-          <p *ngIf="historyOrders().length === 0">No completed order history yet.</p>
-          <div class="page-note" *ngIf="historyOrders().length > 0">{{pageLabel('history', historyOrders().length)}}</div>
-          <mat-card class="order history-card" *ngFor="let order of pagedHistoryOrders()">
+          <p *ngIf="!tabs.history.loading && historyOrders().length === 0">No completed order history yet.</p>
+          <div class="page-note" *ngIf="historyOrders().length > 0">{{pageLabel('history')}}</div>
+          <mat-card class="order history-card" *ngFor="let order of historyOrders()">
             <div class="head">
               <div>
                 <strong>{{order.orderRef}}</strong>
@@ -116,19 +127,17 @@ import {Router} from '@angular/router';
               <strong>{{order.totalAmount | currency:'EUR'}}</strong>
             </div>
             <div class="items">
-              <div class="line" *ngFor="let item of order.items">
+              <button mat-button *ngIf="!itemsByRef[order.orderRef]" (click)="loadItems(order)" [disabled]="itemsRef === order.orderRef">
+                {{itemsRef === order.orderRef ? 'Loading items...' : 'Show items'}}
+              </button>
+              <div class="line" *ngFor="let item of itemsByRef[order.orderRef]">
                 <span>{{item.itemName}} x {{item.quantity}}</span>
                 <span>{{item.unitPrice * item.quantity | currency:'EUR'}}</span>
               </div>
             </div>
           </mat-card>
-          <mat-paginator *ngIf="historyOrders().length > 0"
-                         [length]="historyOrders().length"
-                         [pageIndex]="pagination.history.pageIndex"
-                         [pageSize]="pagination.history.pageSize"
-                         [pageSizeOptions]="[4, 6, 10]"
-                         (page)="onOrdersPage('history', $event)">
-          </mat-paginator>
+          <p *ngIf="tabs.history.loading">Loading orders...</p>
+          <button mat-stroked-button class="load-more" *ngIf="!tabs.history.loading && tabs.history.cursor" (click)="loadMore('history')">Load more</button>
         </div>
       </mat-tab>
     </mat-tab-group>
@@ -151,11 +160,10 @@ import {Router} from '@angular/router';
     .items { margin-top: .5rem; border-top: 1px solid #d8e3dd; padding-top: .5rem; }
     .line { display: flex; justify-content: space-between; margin: .35rem 0; }
     .actions { margin-top: .5rem; }
-    mat-paginator { margin-top: .5rem; border: 1px solid #dde7e1; border-radius: 12px; background: #fbfdfc; }
+    .load-more { display: block; margin: .5rem auto 0; }
     .error { color: #b42318; }
     @media (max-width: 720px) {
       .head, .line { flex-direction: column; align-items: flex-start; gap: .35rem; }
-      mat-paginator { margin-top: .75rem; }
     }
   `]
 })
@@ -165,17 +173,18 @@ export class OrdersComponent {
   private cartApi = inject(CartApiService);
   private router = inject(Router);
 
-  orders: Order[] = [];
+  tabs: Record<OrderTab, OrderTabState> = {
+    active: {orders: [], cursor: null, loading: false},
+    rejected: {orders: [], cursor: null, loading: false},
+    history: {orders: [], cursor: null, loading: false}
+  };
+  itemsByRef: Record<string, OrderItem[]> = {};
+  itemsRef = '';
   loading = true;
   email = '';
   error = '';
   historyFromDate = '';
   historyToDate = '';
-  pagination = {
-    active: {pageIndex: 0, pageSize: 6},
-    rejected: {pageIndex: 0, pageSize: 6},
-    history: {pageIndex: 0, pageSize: 6}
-  };
 
   constructor() {
     this.store.select('auth').pipe(take(1)).subscribe(auth => {
@@ -185,108 +194,128 @@ export class OrdersComponent {
         return;
       }
       this.email = email;
-      this.orderApi.listMyOrders().subscribe({
-        next: (mine) => {
-          this.orders = mine;
-          this.loading = false;
-        },
-        error: () => {
-          this.loading = false;
-        }
-      });
+      this.reloadTab('active');
+      this.reloadTab('rejected');
+      this.reloadTab('history');
     });
   }
 
-  modifyOrder(order: Order): void {
-    this.error = '';
-    if (!this.email || order.items.length === 0) {
-      return;
-    }
-    const requests = order.items.map(item => this.cartApi.upsert({
-      userEmail: this.email,
-      sku: item.sku,
-      itemName: item.itemName,
-      quantity: item.quantity
-    }));
-    forkJoin(requests).subscribe({
-      next: () => this.router.navigate(['/app/cart'], {queryParams: {retryOrderRef: order.orderRef}}),
-      error: (err) => this.error = err?.error?.message || 'Unable to move rejected order items to cart.'
-    });
+  hasOrders(): boolean {
+    return this.activeOrders().length + this.rejectedOrders().length + this.historyOrders().length > 0
+      || this.historyFromDate !== '' || this.historyToDate !== '';
   }
 
-  activeOrders(): Order[] {
-    return this.orders.filter(order =>
-      ['PENDING', 'COD_PENDING', 'PENDING_PAYMENT', 'CONFIRMED', 'FULFILLING', 'SHIPPED'].includes(order.status)
-    );
+  reloadTab(tab: OrderTab): void {
+    const state = this.tabs[tab];
+    state.request?.unsubscribe();
+    state.orders = [];
+    state.cursor = null;
+    this.fetchPage(tab);
   }
 
-  rejectedOrders(): Order[] {
-    return this.orders.filter(order => order.status === 'REJECTED');
+  loadMore(tab: OrderTab): void {
+    if (this.tabs[tab].cursor && !this.tabs[tab].loading) {
+      this.fetchPage(tab);
+    }
   }
 
-  historyOrders(): Order[] {
-    return this.orders.filter(order =>
-      ['DELIVERED', 'CANCELED', 'PAYMENT_CANCELLED', 'PAYMENT_FAILED'].includes(order.status)
-    ).filter(order => this.matchesHistoryRange(order));
+  loadItems(order: OrderSummary): void {
+    this.itemsRef = order.orderRef;
+    this.orderApi.getMyOrder(order.orderRef).subscribe({
+      next: (detail) => {
+        this.itemsRef = '';
+        this.itemsByRef[order.orderRef] = detail.items;
+      },
+      error: (err) => {
+        this.itemsRef = '';
+        this.error = err?.error?.message || 'Unable to load order items.';
+      }
+    });
   }
 
-  pagedActiveOrders(): Order[] {
-    return this.slicePage(this.activeOrders(), this.pagination.active);
+  modifyOrder(order: OrderSummary): void {
+    this.error = '';
+    if (!this.email) {
+      return;
+    }
+    this.orderApi.getMyOrder(order.orderRef).pipe(
+      switchMap(detail => detail.items.length === 0
+        ? of([])
+        : forkJoin(detail.items.map(item => this.cartApi.upsert({
+          userEmail: this.email,
+          sku: item.sku,
+          itemName: item.itemName,
+          quantity: item.quantity
+        }))))
+    ).subscribe({
+      next: (added) => {
+        if (added.length > 0) {
+          this.router.navigate(['/app/cart'], {queryParams: {retryOrderRef: order.orderRef}});
+        }
+      },
+      error: (err) => this.error = err?.error?.message || 'Unable to move rejected order items to cart.'
+    });
+  }
+
+  activeOrders(): OrderSummary[] {
+    return this.tabs.active.orders;
   }
 
-  pagedRejectedOrders(): Order[] {
-    return this.slicePage(this.rejectedOrders(), this.pagination.rejected);
+  rejectedOrders(): OrderSummary[] {
+    return this.tabs.rejected.orders;
   }
 
-  pagedHistoryOrders(): Order[] {
-    return this.slicePage(this.historyOrders(), this.pagination.history);
+  historyOrders(): OrderSummary[] {
+    return this.tabs.history.orders;
   }
 
   clearHistoryFilters(): void {
     this.historyFromDate = '';
     this.historyToDate = '';
-    this.resetHistoryPage();
-  }
-
-  resetHistoryPage(): void {
-    this.pagination.history.pageIndex = 0;
+    this.reloadTab('history');
   }
 
-  onOrdersPage(tab: 'active' | 'rejected' | 'history', event: PageEvent): void {
-    this.pagination[tab].pageIndex = event.pageIndex;
-    this.pagination[tab].pageSize = event.pageSize;
+  countLabel(tab: OrderTab): string {
+    const state = this.tabs[tab];
+    return `${state.orders.length}${state.cursor ? '+' : ''}`;
   }
 
-  pageLabel(tab: 'active' | 'rejected' | 'history', total: number): string {
-    const state = this.pagination[tab];
-    const start = total === 0 ? 0 : state.pageIndex * state.pageSize + 1;
-    const end = Math.min(total, (state.pageIndex + 1) * state.pageSize);
-    return `Showing ${start}-${end} of ${total}`;
+  pageLabel(tab: OrderTab): string {
+    const state = this.tabs[tab];
+    return state.cursor
+      ? `Showing your latest ${state.orders.length} orders`
+      : `Showing all ${state.orders.length} orders`;
   }
 
-  private matchesHistoryRange(order: Order): boolean {
-    const created = new Date(order.createdAt);
-    if (this.historyFromDate) {
-      const from = new Date(`${this.historyFromDate}T00:00:00`);
-      if (created < from) {
-        return false;
+  private fetchPage(tab: OrderTab): void {
+    const state = this.tabs[tab];
+    state.loading = true;
+    state.request = this.orderApi.pageMyOrders({
+      status: TAB_STATUSES[tab],
+      from: tab === 'history' ? this.startOfDay(this.historyFromDate) : undefined,
+      to: tab === 'history' ? this.startOfDay(this.historyToDate, 1) : undefined,
+      after: state.cursor,
+      limit: PAGE_SIZE
+    }).subscribe({
+      next: (page) => {
+        state.loading = false;
+        state.orders = [...state.orders, ...page.items];
+        state.cursor = page.nextCursor;
+        this.loading = this.tabs.active.loading || this.tabs.rejected.loading || this.tabs.history.loading;
+      },
+      error: () => {
+        state.loading = false;
+        this.loading = this.tabs.active.loading || this.tabs.rejected.loading || this.tabs.history.loading;
       }
-    }
-    if (this.historyToDate) {
-      const to = new Date(`${this.historyToDate}T23:59:59`);
-      if (created > to) {
-        return false;
-      }
-    }
-    return true;
+    });
   }
 
-  private slicePage<T>(items: T[], state: {pageIndex: number; pageSize: number}): T[] {
-    const totalPages = Math.max(1, Math.ceil(items.length / state.pageSize));
-    if (state.pageIndex >= totalPages) {
-      state.pageIndex = 0;
+  private startOfDay(date: string, plusDays = 0): string | undefined {
+    if (!date) {
+      return undefined;
     }
-    const start = state.pageIndex * state.pageSize;
-    return items.slice(start, start + state.pageSize);
+    const day = new Date(`${date}T00:00:00`);
+    day.setDate(day.getDate() + plusDays);
+    return day.toISOString();
   }
 }